@@ -0,0 +1,106 @@
+package io.github.nnegi88.errormonitor.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.domain.model.OverflowPolicy;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.async.AsyncProcessorImpl;
+import io.github.nnegi88.errormonitor.logback.NotificationPreFilter;
+import io.github.nnegi88.errormonitor.logback.UnifiedNotificationAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code UnifiedNotificationAppender.append()} on the logging thread, for events the
+ * pre-filter rejects and for events handed to the async pipeline. Every accepted invocation
+ * appends a fresh event, so nothing the appender caches on the event is reused, and the
+ * pipeline blocks instead of dropping: the accepted case measures sustained throughput,
+ * bounded by how fast the pipeline drains, not the cost of the drop path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppenderBenchmark {
+    
+    @Param({"SMALL", "LARGE_MDC", "DEEP_STACK_TRACE"})
+    public Scenarios.Payload payload;
+    
+    @Param({"false", "true"})
+    public boolean deferredConversion;
+    
+    private LoggerContext context;
+    private AsyncProcessorImpl asyncProcessor;
+    private UnifiedNotificationAppender appender;
+    private LoggingEvent filteredEvent;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        asyncProcessor = new AsyncProcessorImpl(1024, 1, 1, OverflowPolicy.BLOCK, TimeUnit.MINUTES.toMillis(1));
+        
+        appender = new UnifiedNotificationAppender();
+        appender.setContext(context);
+        appender.setOrchestrator(new NotificationOrchestrator(List.of(Scenarios.acceptingService())));
+        appender.setAsyncProcessor(asyncProcessor);
+        appender.setConfigurations(List.of(Scenarios.slackConfig(Scenarios.SLACK_WEBHOOK_URL)));
+        appender.setDeferredConversion(deferredConversion);
+        
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setContext(context);
+        preFilter.setMinimumLevel("ERROR");
+        preFilter.start();
+        appender.addFilter(preFilter);
+        appender.start();
+        
+        filteredEvent = Scenarios.loggingEvent(context, ch.qos.logback.classic.Level.INFO, payload);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        appender.stop();
+        asyncProcessor.shutdownNow();
+        context.stop();
+    }
+    
+    @Benchmark
+    public void filtered() {
+        appender.doAppend(filteredEvent);
+    }
+    
+    @Benchmark
+    public void accepted(AcceptedEvent accepted) {
+        appender.doAppend(accepted.event);
+    }
+    
+    /**
+     * A new event per invocation, built outside the measured section; the message, MDC
+     * and stack trace an appended event caches are never shared between invocations.
+     */
+    @State(Scope.Thread)
+    public static class AcceptedEvent {
+        
+        private LoggingEvent event;
+        
+        @Setup(Level.Invocation)
+        public void setUp(AppenderBenchmark benchmark) {
+            event = Scenarios.loggingEvent(benchmark.context, ch.qos.logback.classic.Level.ERROR, benchmark.payload);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.nnegi88.errormonitor.benchmark;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessageFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a notification message into the Slack and Teams payload models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatterBenchmark {
+    
+    @Param({"SMALL", "LARGE_MDC", "DEEP_STACK_TRACE"})
+    public Scenarios.Payload payload;
+    
+    private final SlackMessageFormatter slackFormatter = new SlackMessageFormatter();
+    private final TeamsMessageFormatter teamsFormatter = new TeamsMessageFormatter();
+    private NotificationMessage message;
+    private Destination slackDestination;
+    private Destination teamsDestination;
+    
+    @Setup
+    public void setUp() {
+        message = Scenarios.message(payload);
+        slackDestination = Scenarios.slackConfig(Scenarios.SLACK_WEBHOOK_URL).toDestination();
+        teamsDestination = Scenarios.teamsConfig(Scenarios.TEAMS_WEBHOOK_URL).toDestination();
+    }
+    
+    @Benchmark
+    public SlackMessage slack() {
+        return slackFormatter.formatMessage(message, slackDestination);
+    }
+    
+    @Benchmark
+    public TeamsMessage teams() {
+        return teamsFormatter.formatMessage(message, teamsDestination);
+    }
+}
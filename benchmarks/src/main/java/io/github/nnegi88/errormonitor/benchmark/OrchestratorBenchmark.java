@@ -0,0 +1,72 @@
+package io.github.nnegi88.errormonitor.benchmark;
+
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.domain.service.StackTraceRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out cost of {@code NotificationOrchestrator.processEvent}: routing, conversion, enrichment
+ * and lane dispatch to a number of destinations whose deliveries complete immediately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrchestratorBenchmark {
+    
+    @Param({"1", "2", "4"})
+    public int destinations;
+    
+    @Param({"SMALL", "LARGE_MDC", "DEEP_STACK_TRACE"})
+    public Scenarios.Payload payload;
+    
+    private NotificationOrchestrator orchestrator;
+    private List<NotificationConfig> configurations;
+    private LogEvent event;
+    
+    @Setup
+    public void setUp() {
+        orchestrator = new NotificationOrchestrator(List.of(Scenarios.acceptingService()));
+        configurations = new ArrayList<>();
+        for (int i = 0; i < destinations; i++) {
+            configurations.add(i % 2 == 0
+                    ? Scenarios.slackConfig(Scenarios.SLACK_WEBHOOK_URL + i)
+                    : Scenarios.teamsConfig(Scenarios.TEAMS_WEBHOOK_URL + i));
+        }
+        event = LogEvent.builder()
+                .level("ERROR")
+                .message("Order {} could not be placed")
+                .formattedMessage("Order 42 could not be placed")
+                .loggerName(Scenarios.LOGGER_NAME)
+                .threadName("http-nio-8080-exec-1")
+                .timestamp(Instant.now())
+                .stackTrace(new StackTraceRenderer().render(Scenarios.throwable(payload)))
+                .mdcProperties(Scenarios.mdc(payload))
+                .build();
+    }
+    
+    @Benchmark
+    public List<NotificationResult> processEvent() {
+        return orchestrator.processEvent(event, configurations).join();
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.nnegi88.errormonitor.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.service.StackTraceRenderer;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.config.TeamsConfig;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared inputs for the benchmarks: a small event, one with a large MDC and one with a deep,
+ * chained stack trace.
+ */
+public final class Scenarios {
+    
+    public enum Payload {
+        SMALL, LARGE_MDC, DEEP_STACK_TRACE
+    }
+    
+    public static final String LOGGER_NAME = "com.example.orders.OrderService";
+    public static final String SLACK_WEBHOOK_URL = "https://hooks.slack.com/services/T000/B000/benchmark";
+    public static final String TEAMS_WEBHOOK_URL = "https://example.webhook.office.com/webhookb2/benchmark";
+    
+    private static final int LARGE_MDC_ENTRIES = 64;
+    private static final int DEEP_STACK_DEPTH = 200;
+    
+    private Scenarios() {
+    }
+    
+    public static Map<String, String> mdc(Payload payload) {
+        Map<String, String> mdc = new LinkedHashMap<>();
+        mdc.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        mdc.put("requestId", "req-42");
+        if (payload == Payload.LARGE_MDC) {
+            for (int i = 0; i < LARGE_MDC_ENTRIES; i++) {
+                mdc.put("baggage.key" + i, "tenant-value-" + i);
+            }
+        }
+        return mdc;
+    }
+    
+    public static Throwable throwable(Payload payload) {
+        if (payload != Payload.DEEP_STACK_TRACE) {
+            return new IllegalStateException("Order 42 could not be placed");
+        }
+        Throwable cause = recurse(DEEP_STACK_DEPTH, new java.io.IOException("Connection reset"));
+        return new IllegalStateException("Order 42 could not be placed", cause);
+    }
+    
+    private static Throwable recurse(int depth, Throwable leaf) {
+        if (depth == 0) {
+            return new RuntimeException("Repository call failed", leaf);
+        }
+        return recurse(depth - 1, leaf);
+    }
+    
+    public static LoggingEvent loggingEvent(LoggerContext context, Level level, Payload payload) {
+        LoggingEvent event = new LoggingEvent(Scenarios.class.getName(), context.getLogger(LOGGER_NAME), level,
+                "Order {} could not be placed", throwable(payload), new Object[] {42});
+        event.setMDCPropertyMap(mdc(payload));
+        return event;
+    }
+    
+    public static NotificationMessage message(Payload payload) {
+        return NotificationMessage.builder()
+                .title("OrderService")
+                .content("Order 42 could not be placed")
+                .level("ERROR")
+                .applicationName("orders")
+                .environment("production")
+                .timestamp(Instant.parse("2024-01-30T10:15:30Z"))
+                .stackTrace(new StackTraceRenderer().render(throwable(payload)))
+                .metadata(new HashMap<>(mdc(payload)))
+                .build();
+    }
+    
+    public static NotificationConfig slackConfig(String webhookUrl) {
+        return SlackConfig.builder()
+                .webhookUrl(webhookUrl)
+                .applicationName("orders")
+                .environment("production")
+                .build();
+    }
+    
+    public static NotificationConfig teamsConfig(String webhookUrl) {
+        return TeamsConfig.builder()
+                .webhookUrl(webhookUrl)
+                .applicationName("orders")
+                .environment("production")
+                .build();
+    }
+    
+    /**
+     * Notification service that accepts every destination and completes immediately,
+     * so benchmarks measure the starter and not the network.
+     */
+    public static NotificationService acceptingService() {
+        CompletableFuture<NotificationResult> delivered = CompletableFuture.completedFuture(NotificationResult.success("stub"));
+        return new NotificationService() {
+            @Override
+            public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+                return delivered;
+            }
+            
+            @Override
+            public boolean supports(NotificationConfig config) {
+                return true;
+            }
+            
+            @Override
+            public String getServiceName() {
+                return "stub";
+            }
+        };
+    }
+}
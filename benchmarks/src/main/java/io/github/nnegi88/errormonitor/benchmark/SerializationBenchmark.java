@@ -0,0 +1,72 @@
+package io.github.nnegi88.errormonitor.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessageFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing Slack and Teams payloads as JSON with the starter's streaming writers,
+ * against {@link ObjectMapper} data binding as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    @Param({"SMALL", "LARGE_MDC", "DEEP_STACK_TRACE"})
+    public Scenarios.Payload payload;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SlackMessage slackMessage;
+    private TeamsMessage teamsMessage;
+    
+    @Setup
+    public void setUp() {
+        slackMessage = new SlackMessageFormatter().formatMessage(
+                Scenarios.message(payload), Scenarios.slackConfig(Scenarios.SLACK_WEBHOOK_URL).toDestination());
+        teamsMessage = new TeamsMessageFormatter().formatMessage(
+                Scenarios.message(payload), Scenarios.teamsConfig(Scenarios.TEAMS_WEBHOOK_URL).toDestination());
+    }
+    
+    @Benchmark
+    public byte[] slackStreaming() {
+        // Setting a top-level property discards the memoized JSON, so every call serializes
+        slackMessage.setText(slackMessage.getText());
+        return slackMessage.toJson();
+    }
+    
+    @Benchmark
+    public byte[] teamsStreaming() {
+        teamsMessage.setSummary(teamsMessage.getSummary());
+        return teamsMessage.toJson();
+    }
+    
+    @Benchmark
+    public byte[] slackObjectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(slackMessage);
+    }
+    
+    @Benchmark
+    public byte[] teamsObjectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(teamsMessage);
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.nnegi88.errormonitor.application.config;
+
+import io.github.nnegi88.errormonitor.config.LogbackSlackProperties;
+import io.github.nnegi88.errormonitor.config.LogbackTeamsProperties;
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+
+/**
+ * Maps destination properties onto the {@link DeliveryPolicy} domain model.
+ * Shared by the auto-configuration and the Logback appender configuration so both
+ * build identical configs for the same destination.
+ */
+final class DeliveryPolicies {
+    
+    private DeliveryPolicies() {
+    }
+    
+    static DeliveryPolicy from(LogbackSlackProperties properties) {
+        return DeliveryPolicy.builder()
+                .batchWindowMillis(properties.getBatchWindow())
+                .batchMaxEvents(properties.getBatchMaxEvents())
+                .maxMessagesPerMinute(properties.isRateLimitEnabled() ? properties.getMaxMessagesPerMinute() : 0)
+                .queueCapacity(properties.getQueueSize())
+                .maxInFlight(properties.getMaxInFlight())
+                .build();
+    }
+    
+    static DeliveryPolicy from(LogbackTeamsProperties properties) {
+        return DeliveryPolicy.builder()
+                .batchWindowMillis(properties.getBatchWindow())
+                .batchMaxEvents(properties.getBatchMaxEvents())
+                .maxMessagesPerMinute(properties.isRateLimitEnabled() ? properties.getMaxMessagesPerMinute() : 0)
+                .queueCapacity(properties.getQueueSize())
+                .maxInFlight(properties.getMaxInFlight())
+                .build();
+    }
+}
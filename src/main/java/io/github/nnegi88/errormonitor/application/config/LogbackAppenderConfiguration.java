@@ -3,15 +3,19 @@ package io.github.nnegi88.errormonitor.application.config;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.Logger;
+import io.github.nnegi88.errormonitor.config.LogbackNotificationProperties;
 import io.github.nnegi88.errormonitor.config.LogbackSlackProperties;
 import io.github.nnegi88.errormonitor.config.LogbackTeamsProperties;
 import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
 import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
 import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
 import io.github.nnegi88.errormonitor.infrastructure.config.TeamsConfig;
+import io.github.nnegi88.errormonitor.logback.NotificationPreFilter;
 import io.github.nnegi88.errormonitor.logback.UnifiedNotificationAppender;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -21,6 +25,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +38,7 @@ import java.util.Map;
 @Configuration
 @ConditionalOnClass(ch.qos.logback.classic.LoggerContext.class)
 @AutoConfigureAfter(SolidNotificationAutoConfiguration.class)
-@EnableConfigurationProperties({LogbackSlackProperties.class, LogbackTeamsProperties.class})
+@EnableConfigurationProperties({LogbackSlackProperties.class, LogbackTeamsProperties.class, LogbackNotificationProperties.class})
 @ConditionalOnBean(NotificationOrchestrator.class)
 public class LogbackAppenderConfiguration {
     
@@ -41,20 +46,27 @@ public class LogbackAppenderConfiguration {
     
     private final LogbackSlackProperties slackProperties;
     private final LogbackTeamsProperties teamsProperties;
+    private final LogbackNotificationProperties notificationProperties;
     private final NotificationOrchestrator orchestrator;
     private final AsyncProcessor asyncProcessor;
+    private final ObjectProvider<NotificationMetrics> notificationMetrics;
     private final Environment environment;
+    private UnifiedNotificationAppender appender;
     
     public LogbackAppenderConfiguration(
             LogbackSlackProperties slackProperties,
             LogbackTeamsProperties teamsProperties,
+            LogbackNotificationProperties notificationProperties,
             NotificationOrchestrator orchestrator,
             AsyncProcessor asyncProcessor,
+            ObjectProvider<NotificationMetrics> notificationMetrics,
             Environment environment) {
         this.slackProperties = slackProperties;
         this.teamsProperties = teamsProperties;
+        this.notificationProperties = notificationProperties;
         this.orchestrator = orchestrator;
         this.asyncProcessor = asyncProcessor;
+        this.notificationMetrics = notificationMetrics;
         this.environment = environment;
     }
     
@@ -75,6 +87,7 @@ public class LogbackAppenderConfiguration {
                     .environment(environment.resolvePlaceholders(slackProperties.getEnvironment()))
                     .minimumLevel(slackProperties.getMinimumLevel())
                     .additionalProperties(Map.of("includeStackTrace", slackProperties.isIncludeStackTrace()))
+                    .deliveryPolicy(DeliveryPolicies.from(slackProperties))
                     .enabled(true)
                     .build();
             configurations.add(slackConfig);
@@ -95,6 +108,7 @@ public class LogbackAppenderConfiguration {
                             "themeColor", teamsProperties.getThemeColor(),
                             "includeStackTrace", teamsProperties.isIncludeStackTrace()
                     ))
+                    .deliveryPolicy(DeliveryPolicies.from(teamsProperties))
                     .build();
             configurations.add(teamsConfig);
             logger.info("Teams notification configuration added to Logback appender");
@@ -106,7 +120,7 @@ public class LogbackAppenderConfiguration {
         }
         
         // Create and configure the appender
-        UnifiedNotificationAppender appender = new UnifiedNotificationAppender();
+        appender = new UnifiedNotificationAppender();
         appender.setName("UNIFIED_NOTIFICATION");
         appender.setContext(loggerContext);
         appender.setOrchestrator(orchestrator);
@@ -116,6 +130,23 @@ public class LogbackAppenderConfiguration {
         // Set async mode based on properties (prefer Slack's setting if both are configured)
         boolean asyncMode = slackProperties.isEnabled() ? slackProperties.isAsync() : teamsProperties.isAsync();
         appender.setAsync(asyncMode);
+        appender.setRingBufferEnabled(notificationProperties.isRingBufferEnabled());
+        appender.setRingBufferSize(notificationProperties.getRingBufferSize());
+        appender.setDeferredConversion(notificationProperties.isDeferredConversion());
+        appender.setStackTraceMaxFrames(notificationProperties.getStackTraceMaxFrames());
+        appender.setStackTraceMaxChars(notificationProperties.getStackTraceMaxChars());
+        appender.setMdcIncludedKeys(notificationProperties.getMdcIncludedKeys());
+        appender.setMdcExcludedKeys(notificationProperties.getMdcExcludedKeys());
+        
+        // Reject events that can never alert before the appender converts them
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setContext(loggerContext);
+        preFilter.setMinimumLevel(determineMinimumLevel());
+        preFilter.setExcludedLoggerPrefixes(notificationProperties.getExcludedLoggers());
+        preFilter.setExcludedMarkers(notificationProperties.getExcludedMarkers());
+        preFilter.setMetrics(notificationMetrics.getIfAvailable());
+        preFilter.start();
+        appender.addFilter(preFilter);
         
         // Start the appender
         appender.start();
@@ -127,6 +158,18 @@ public class LogbackAppenderConfiguration {
         logger.info("UnifiedNotificationAppender configured and attached to root logger");
     }
     
+    @PreDestroy
+    public void detachLogbackAppender() {
+        // The logger context outlives the application context, so the appender must not keep using closed beans
+        if (appender == null) {
+            return;
+        }
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).detachAppender(appender);
+        appender.stop();
+        appender = null;
+    }
+    
     private String determineMinimumLevel() {
         // Use the lowest (most verbose) level from enabled configurations
         String slackLevel = slackProperties.isEnabled() ? slackProperties.getMinimumLevel() : "ERROR";
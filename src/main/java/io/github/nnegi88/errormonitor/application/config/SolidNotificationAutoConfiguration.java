@@ -1,73 +1,320 @@
 package io.github.nnegi88.errormonitor.application.config;
 
+import io.github.nnegi88.errormonitor.config.LogbackNotificationProperties;
 import io.github.nnegi88.errormonitor.config.LogbackSlackProperties;
 import io.github.nnegi88.errormonitor.config.LogbackTeamsProperties;
+import io.github.nnegi88.errormonitor.domain.model.OverflowPolicy;
 import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
 import io.github.nnegi88.errormonitor.domain.port.MessageFormatter;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
 import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.port.NotificationSpool;
 import io.github.nnegi88.errormonitor.domain.port.SlackClient;
 import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
+import io.github.nnegi88.errormonitor.domain.service.DeduplicationCache;
+import io.github.nnegi88.errormonitor.domain.service.NotificationBatcher;
 import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.domain.service.NotificationRateLimiter;
+import io.github.nnegi88.errormonitor.infrastructure.actuator.ErrorMonitorEndpoint;
 import io.github.nnegi88.errormonitor.infrastructure.async.AsyncProcessorImpl;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import io.github.nnegi88.errormonitor.infrastructure.async.NotificationWorkerThread;
+import io.github.nnegi88.errormonitor.infrastructure.async.VirtualThreadAsyncProcessor;
 import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
 import io.github.nnegi88.errormonitor.infrastructure.config.TeamsConfig;
+import io.github.nnegi88.errormonitor.infrastructure.http.JdkHttpSlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.http.JdkHttpTeamsClient;
 import io.github.nnegi88.errormonitor.infrastructure.http.RestClientSlackClient;
 import io.github.nnegi88.errormonitor.infrastructure.http.RestClientTeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.metrics.MicrometerNotificationMetrics;
 import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
 import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
 import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackNotificationService;
 import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
 import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessageFormatter;
 import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsNotificationService;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerRegistry;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.ResilientSlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.ResilientTeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.RetryPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.RetryScheduler;
+import io.github.nnegi88.errormonitor.infrastructure.spool.DiskNotificationSpool;
+import io.github.nnegi88.errormonitor.infrastructure.spool.MappedSpool;
 import io.github.nnegi88.errormonitor.logback.UnifiedNotificationAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 /**
  * Auto-configuration for the new SOLID-compliant notification system.
  * Follows dependency inversion principle by depending on abstractions.
  */
-@AutoConfiguration
-@EnableConfigurationProperties({LogbackSlackProperties.class, LogbackTeamsProperties.class})
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableConfigurationProperties({LogbackSlackProperties.class, LogbackTeamsProperties.class, LogbackNotificationProperties.class})
 public class SolidNotificationAutoConfiguration {
     
+    private static final Logger logger = LoggerFactory.getLogger(SolidNotificationAutoConfiguration.class);
+    
+    static final String NOTIFICATION_REST_TEMPLATE = "notificationRestTemplate";
+    
     // Infrastructure layer beans
     
     @Bean
     @ConditionalOnMissingBean
-    public RestTemplate notificationRestTemplate() {
-        return new RestTemplate();
+    public IoExecutor notificationIoExecutor(LogbackNotificationProperties notificationProperties) {
+        LogbackNotificationProperties.Io io = notificationProperties.getIo();
+        return new IoExecutor(io.getThreads(), io.getQueueCapacity(), io.getSaturationPolicy());
     }
     
+    // Takes the I/O executor, whatever its bean name, so queued tasks drain before webhook I/O is shut down
     @Bean
     @ConditionalOnMissingBean
-    public AsyncProcessor asyncProcessor() {
-        return new AsyncProcessorImpl(256, 1, 4);
+    public AsyncProcessor asyncProcessor(LogbackNotificationProperties notificationProperties,
+                                         IoExecutor notificationIoExecutor) {
+        OverflowPolicy overflowPolicy = notificationProperties.getOverflowPolicy();
+        if (overflowPolicy == OverflowPolicy.SPILL_TO_DISK && !notificationProperties.getSpool().isEnabled()) {
+            logger.warn("Overflow policy spill-to-disk requires logback.notification.spool.enabled=true, overflowed events will be dropped");
+        }
+        if (notificationProperties.isVirtualThreads()) {
+            if (VirtualThreadAsyncProcessor.isSupported()) {
+                return new VirtualThreadAsyncProcessor(notificationProperties.getMaxConcurrencyPerDestination(), 256,
+                        overflowPolicy, notificationProperties.getOverflowBlockTimeout());
+            }
+            logger.warn("Virtual threads requested but not available on Java {}, falling back to platform threads",
+                    Runtime.version().feature());
+        }
+        return new AsyncProcessorImpl(256, 1, 4, overflowPolicy, notificationProperties.getOverflowBlockTimeout());
     }
     
     // HTTP client implementations
     
     @Bean
     @ConditionalOnMissingBean
-    public SlackClient slackClient(RestTemplate notificationRestTemplate) {
-        return new RestClientSlackClient(notificationRestTemplate);
+    @ConditionalOnProperty(prefix = "logback.notification.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CircuitBreakerRegistry notificationCircuitBreakerRegistry(LogbackNotificationProperties notificationProperties) {
+        LogbackNotificationProperties.CircuitBreaker circuitBreaker = notificationProperties.getCircuitBreaker();
+        return new CircuitBreakerRegistry(CircuitBreakerPolicy.builder()
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slowCallDurationMillis(circuitBreaker.getSlowCallDuration())
+                .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+                .minimumCalls(circuitBreaker.getMinimumCalls())
+                .windowSize(circuitBreaker.getWindowSize())
+                .openDurationMillis(circuitBreaker.getOpenDuration())
+                .halfOpenProbes(circuitBreaker.getHalfOpenProbes())
+                .build());
     }
     
     @Bean
     @ConditionalOnMissingBean
-    public TeamsClient teamsClient(RestTemplate notificationRestTemplate) {
-        return new RestClientTeamsClient(notificationRestTemplate);
+    @ConditionalOnProperty(prefix = "logback.notification.retry", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RetryScheduler notificationRetryScheduler(LogbackNotificationProperties notificationProperties) {
+        LogbackNotificationProperties.Retry retry = notificationProperties.getRetry();
+        return new RetryScheduler(
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> new NotificationWorkerThread(runnable, "notification-retry")),
+                RetryPolicy.builder()
+                        .maxAttempts(retry.getMaxAttempts())
+                        .initialBackoffMillis(retry.getInitialBackoff())
+                        .maxBackoffMillis(retry.getMaxBackoff())
+                        .budgetRatio(retry.getBudgetRatio())
+                        .budgetReserve(retry.getBudgetReserve())
+                        .build());
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean(value = SlackClient.class, name = NOTIFICATION_REST_TEMPLATE)
+    @ConditionalOnProperty(prefix = "logback.notification", name = "transport", havingValue = "jdk", matchIfMissing = true)
+    public SlackClient slackClient(LogbackSlackProperties slackProperties, IoExecutor notificationIoExecutor,
+                                   ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                   ObjectProvider<RetryScheduler> retryScheduler,
+                                   ObjectProvider<NotificationMetrics> notificationMetrics) {
+        SlackClient client = new JdkHttpSlackClient(
+                httpClient(slackProperties.getConnectionTimeout(), notificationIoExecutor),
+                Duration.ofMillis(slackProperties.getReadTimeout()),
+                metrics(notificationMetrics));
+        return decorateSlack(client, circuitBreakerRegistry, retryScheduler);
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean(value = TeamsClient.class, name = NOTIFICATION_REST_TEMPLATE)
+    @ConditionalOnProperty(prefix = "logback.notification", name = "transport", havingValue = "jdk", matchIfMissing = true)
+    public TeamsClient teamsClient(LogbackTeamsProperties teamsProperties, IoExecutor notificationIoExecutor,
+                                   ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                   ObjectProvider<RetryScheduler> retryScheduler,
+                                   ObjectProvider<NotificationMetrics> notificationMetrics) {
+        TeamsClient client = new JdkHttpTeamsClient(
+                httpClient(teamsProperties.getConnectionTimeout(), notificationIoExecutor),
+                Duration.ofMillis(teamsProperties.getReadTimeout()),
+                metrics(notificationMetrics));
+        return decorateTeams(client, circuitBreakerRegistry, retryScheduler);
+    }
+    
+    private static HttpClient httpClient(int connectionTimeoutMillis, IoExecutor ioExecutor) {
+        // One client per destination type keeps its pooled connections alive between alerts;
+        // its callbacks run on the starter's I/O threads, which must never reject them
+        return HttpClient.newBuilder()
+                .executor(ioExecutor.nonRejecting())
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectionTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+    
+    private static NotificationMetrics metrics(ObjectProvider<NotificationMetrics> notificationMetrics) {
+        return notificationMetrics.getIfAvailable(() -> NotificationMetrics.NONE);
+    }
+    
+    private static SlackClient decorateSlack(SlackClient client,
+                                             ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                             ObjectProvider<RetryScheduler> retryScheduler) {
+        CircuitBreakerRegistry circuitBreakers = circuitBreakerRegistry.getIfAvailable();
+        RetryScheduler retries = retryScheduler.getIfAvailable();
+        return circuitBreakers != null || retries != null 
+                ? new ResilientSlackClient(client, circuitBreakers, retries) : client;
+    }
+    
+    private static TeamsClient decorateTeams(TeamsClient client,
+                                             ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                             ObjectProvider<RetryScheduler> retryScheduler) {
+        CircuitBreakerRegistry circuitBreakers = circuitBreakerRegistry.getIfAvailable();
+        RetryScheduler retries = retryScheduler.getIfAvailable();
+        return circuitBreakers != null || retries != null 
+                ? new ResilientTeamsClient(client, circuitBreakers, retries) : client;
+    }
+    
+    /**
+     * Blocking RestTemplate transport, kept for applications that customize their RestTemplate.
+     * Only loaded when spring-web is on the classpath, and selected either explicitly or by
+     * defining a RestTemplate bean named {@value #NOTIFICATION_REST_TEMPLATE}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.web.client.RestTemplate")
+    @Conditional(RestTemplateTransportCondition.class)
+    static class RestTemplateTransportConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public RestTemplate notificationRestTemplate(LogbackSlackProperties slackProperties, 
+                                                     LogbackTeamsProperties teamsProperties) {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(Math.max(slackProperties.getConnectionTimeout(), teamsProperties.getConnectionTimeout()));
+            requestFactory.setReadTimeout(Math.max(slackProperties.getReadTimeout(), teamsProperties.getReadTimeout()));
+            return new RestTemplate(requestFactory);
+        }
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public SlackClient slackClient(@Qualifier(NOTIFICATION_REST_TEMPLATE) RestTemplate notificationRestTemplate,
+                                       AsyncProcessor asyncProcessor,
+                                       IoExecutor notificationIoExecutor,
+                                       ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                       ObjectProvider<RetryScheduler> retryScheduler,
+                                       ObjectProvider<NotificationMetrics> notificationMetrics) {
+            SlackClient client = asyncProcessor instanceof VirtualThreadAsyncProcessor
+                    ? new RestClientSlackClient(notificationRestTemplate, asyncProcessor, metrics(notificationMetrics))
+                    : new RestClientSlackClient(notificationRestTemplate, notificationIoExecutor, metrics(notificationMetrics));
+            return decorateSlack(client, circuitBreakerRegistry, retryScheduler);
+        }
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public TeamsClient teamsClient(@Qualifier(NOTIFICATION_REST_TEMPLATE) RestTemplate notificationRestTemplate,
+                                       AsyncProcessor asyncProcessor,
+                                       IoExecutor notificationIoExecutor,
+                                       ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                       ObjectProvider<RetryScheduler> retryScheduler,
+                                       ObjectProvider<NotificationMetrics> notificationMetrics) {
+            TeamsClient client = asyncProcessor instanceof VirtualThreadAsyncProcessor
+                    ? new RestClientTeamsClient(notificationRestTemplate, asyncProcessor, metrics(notificationMetrics))
+                    : new RestClientTeamsClient(notificationRestTemplate, notificationIoExecutor, metrics(notificationMetrics));
+            return decorateTeams(client, circuitBreakerRegistry, retryScheduler);
+        }
+    }
+    
+    /**
+     * Matches when transport=rest-template or the application already defines the RestTemplate to use,
+     * so a customized {@value #NOTIFICATION_REST_TEMPLATE} is never silently ignored by the JDK transport.
+     */
+    static class RestTemplateTransportCondition extends AnyNestedCondition {
+        
+        RestTemplateTransportCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+        
+        @ConditionalOnProperty(prefix = "logback.notification", name = "transport", havingValue = "rest-template")
+        static class RestTemplateTransportSelected {
+        }
+        
+        @ConditionalOnBean(name = NOTIFICATION_REST_TEMPLATE)
+        static class NotificationRestTemplateDefined {
+        }
+    }
+    
+    /**
+     * Micrometer instrumentation, registered when the application has a {@link MeterRegistry}.
+     * Only loaded when micrometer-core is on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MetricsConfiguration {
+        
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean(NotificationMetrics.class)
+        public MicrometerNotificationMetrics notificationMetrics(MeterRegistry meterRegistry, AsyncProcessor asyncProcessor,
+                                                                 IoExecutor notificationIoExecutor) {
+            MicrometerNotificationMetrics metrics = new MicrometerNotificationMetrics(meterRegistry);
+            metrics.bindAsyncProcessor(asyncProcessor);
+            metrics.bindIoExecutor(notificationIoExecutor);
+            return metrics;
+        }
+    }
+    
+    /**
+     * Actuator endpoint exposing the live pipeline state.
+     * Only loaded when Spring Boot Actuator is on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint")
+    static class EndpointConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint(endpoint = ErrorMonitorEndpoint.class)
+        public ErrorMonitorEndpoint errorMonitorEndpoint(NotificationOrchestrator notificationOrchestrator,
+                                                         AsyncProcessor asyncProcessor,
+                                                         ObjectProvider<IoExecutor> notificationIoExecutor,
+                                                         ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry) {
+            return new ErrorMonitorEndpoint(notificationOrchestrator, asyncProcessor,
+                    notificationIoExecutor.getIfAvailable(), circuitBreakerRegistry.getIfAvailable());
+        }
     }
     
     // Message formatters
@@ -90,16 +337,22 @@ public class SolidNotificationAutoConfiguration {
     @ConditionalOnProperty(prefix = "logback.slack", name = "enabled", havingValue = "true")
     public NotificationService slackNotificationService(
             SlackClient slackClient,
-            MessageFormatter<SlackMessage> slackMessageFormatter) {
-        return new SlackNotificationService(slackClient, slackMessageFormatter);
+            MessageFormatter<SlackMessage> slackMessageFormatter,
+            ObjectProvider<NotificationMetrics> notificationMetrics,
+            @Qualifier("slackConfig") NotificationConfig slackConfig) {
+        return new SlackNotificationService(slackClient, slackMessageFormatter, metrics(notificationMetrics),
+                slackConfig.toDestination());
     }
     
     @Bean
     @ConditionalOnProperty(prefix = "logback.teams", name = "enabled", havingValue = "true")
     public NotificationService teamsNotificationService(
             TeamsClient teamsClient,
-            MessageFormatter<TeamsMessage> teamsMessageFormatter) {
-        return new TeamsNotificationService(teamsClient, teamsMessageFormatter);
+            MessageFormatter<TeamsMessage> teamsMessageFormatter,
+            ObjectProvider<NotificationMetrics> notificationMetrics,
+            @Qualifier("teamsConfig") NotificationConfig teamsConfig) {
+        return new TeamsNotificationService(teamsClient, teamsMessageFormatter, metrics(notificationMetrics),
+                teamsConfig.toDestination());
     }
     
     // Configuration objects
@@ -113,12 +366,8 @@ public class SolidNotificationAutoConfiguration {
                 .environment(environment.resolvePlaceholders(slackProperties.getEnvironment()))
                 .minimumLevel(slackProperties.getMinimumLevel())
                 .enabled(slackProperties.isEnabled())
-                .additionalProperties(Map.of(
-                        "webhookUrl", slackProperties.getWebhookUrl(),
-                        "includeStackTrace", slackProperties.isIncludeStackTrace(),
-                        "connectionTimeout", slackProperties.getConnectionTimeout(),
-                        "readTimeout", slackProperties.getReadTimeout()
-                ))
+                .additionalProperties(Map.of("includeStackTrace", slackProperties.isIncludeStackTrace()))
+                .deliveryPolicy(DeliveryPolicies.from(slackProperties))
                 .build();
     }
     
@@ -132,12 +381,10 @@ public class SolidNotificationAutoConfiguration {
                 .minimumLevel(teamsProperties.getMinimumLevel())
                 .enabled(teamsProperties.isEnabled())
                 .additionalProperties(Map.of(
-                        "webhookUrl", teamsProperties.getWebhookUrl(),
                         "includeStackTrace", teamsProperties.isIncludeStackTrace(),
-                        "themeColor", teamsProperties.getThemeColor(),
-                        "connectionTimeout", teamsProperties.getConnectionTimeout(),
-                        "readTimeout", teamsProperties.getReadTimeout()
+                        "themeColor", teamsProperties.getThemeColor()
                 ))
+                .deliveryPolicy(DeliveryPolicies.from(teamsProperties))
                 .build();
     }
     
@@ -145,8 +392,51 @@ public class SolidNotificationAutoConfiguration {
     
     @Bean
     @ConditionalOnMissingBean
-    public NotificationOrchestrator notificationOrchestrator(List<NotificationService> notificationServices) {
-        return new NotificationOrchestrator(notificationServices);
+    public NotificationBatcher notificationBatcher() {
+        return new NotificationBatcher(Executors.newSingleThreadScheduledExecutor(
+                runnable -> new NotificationWorkerThread(runnable, "notification-batcher")));
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public NotificationRateLimiter notificationRateLimiter() {
+        return new NotificationRateLimiter(Executors.newSingleThreadScheduledExecutor(
+                runnable -> new NotificationWorkerThread(runnable, "notification-throttle-summary")));
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean(NotificationSpool.class)
+    @ConditionalOnProperty(prefix = "logback.notification.spool", name = "enabled", havingValue = "true")
+    public DiskNotificationSpool notificationSpool(List<NotificationService> notificationServices,
+                                                   LogbackNotificationProperties notificationProperties) throws IOException {
+        LogbackNotificationProperties.Spool spool = notificationProperties.getSpool();
+        return new DiskNotificationSpool(
+                MappedSpool.open(Paths.get(spool.getDirectory()), spool.getSegmentSize(), 
+                        spool.getMaxSegments(), spool.isCompression()),
+                notificationServices,
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> new NotificationWorkerThread(runnable, "notification-spool")),
+                spool.getReplayInterval());
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public NotificationOrchestrator notificationOrchestrator(
+            List<NotificationService> notificationServices,
+            NotificationBatcher notificationBatcher,
+            NotificationRateLimiter notificationRateLimiter,
+            ObjectProvider<NotificationSpool> notificationSpool,
+            ObjectProvider<NotificationMetrics> notificationMetrics,
+            LogbackNotificationProperties notificationProperties) {
+        DeduplicationCache deduplicationCache = notificationProperties.getDeduplicationWindow() > 0
+                ? new DeduplicationCache(notificationProperties.getDeduplicationWindow(), 
+                        notificationProperties.getDeduplicationMaxEntries())
+                : null;
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(
+                notificationServices, notificationBatcher, deduplicationCache, notificationRateLimiter,
+                notificationSpool.getIfAvailable(), metrics(notificationMetrics));
+        notificationRateLimiter.scheduleSummaries(orchestrator::publishThrottledSummaries);
+        return orchestrator;
     }
     
     // Unified appender
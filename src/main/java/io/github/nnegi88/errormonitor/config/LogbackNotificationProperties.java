@@ -0,0 +1,606 @@
+package io.github.nnegi88.errormonitor.config;
+
+import io.github.nnegi88.errormonitor.domain.model.OverflowPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the notification pipeline shared by all destinations.
+ * Slack and Teams specific settings live in their own property classes.
+ */
+@ConfigurationProperties(prefix = "logback.notification")
+public class LogbackNotificationProperties {
+
+    /**
+     * Ingest events through a preallocated lock-free ring buffer instead of the async processor queue.
+     * A full ring buffer drops the event and counts it; the overflow policy and spool do not apply
+     */
+    private boolean ringBufferEnabled = false;
+
+    /**
+     * Ring buffer capacity (rounded up to the next power of two)
+     */
+    private int ringBufferSize = 1024;
+
+    /**
+     * What to do when the pipeline queue is full: drop-newest, drop-oldest, drop-lowest-severity, block or spill-to-disk.
+     * spill-to-disk converts and writes the overflowed event on the logging thread; its stack trace is cut to the
+     * exception header and the record is not compressed to keep that cost low
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    
+    /**
+     * Maximum time in milliseconds a logging thread waits for queue room with the block policy
+     */
+    private long overflowBlockTimeout = 100;
+
+    /**
+     * Render the stack trace, fingerprint and filter the MDC on the async worker. The message is
+     * still formatted and the thread name and MDC captured on the logging thread
+     */
+    private boolean deferredConversion = false;
+
+    /**
+     * Maximum number of stack frames rendered per event, across the whole cause chain
+     */
+    private int stackTraceMaxFrames = 50;
+
+    /**
+     * Maximum number of characters rendered per stack trace
+     */
+    private int stackTraceMaxChars = 3000;
+
+    /**
+     * HTTP transport for webhook calls: "jdk" (non-blocking java.net.http.HttpClient) or "rest-template".
+     * A RestTemplate bean named "notificationRestTemplate" selects "rest-template"
+     */
+    private String transport = "jdk";
+    
+    /**
+     * Run pipeline tasks and webhook deliveries on virtual threads (Java 21+)
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Maximum concurrent deliveries per destination when virtual threads are used
+     */
+    private int maxConcurrencyPerDestination = 4;
+
+    /**
+     * Logger name prefixes whose events never trigger notifications
+     */
+    private List<String> excludedLoggers = new ArrayList<>();
+
+    /**
+     * Marker names that suppress notifications for the marked log statement
+     */
+    private List<String> excludedMarkers = new ArrayList<>(List.of("NO_ALERT"));
+    
+    /**
+     * MDC keys copied into notifications; empty copies every key
+     */
+    private List<String> mdcIncludedKeys = new ArrayList<>();
+    
+    /**
+     * MDC keys never copied into notifications
+     */
+    private List<String> mdcExcludedKeys = new ArrayList<>();
+    
+    /**
+     * Window in milliseconds during which repeated occurrences of the same failure are counted instead of sent (0 disables deduplication)
+     */
+    private long deduplicationWindow = 0;
+    
+    /**
+     * Maximum number of distinct failure fingerprints tracked for deduplication
+     */
+    private int deduplicationMaxEntries = 10000;
+    
+    /**
+     * Per-webhook circuit breaker settings
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    
+    /**
+     * Retry settings for transient webhook failures
+     */
+    private Retry retry = new Retry();
+    
+    /**
+     * Dedicated executor for webhook I/O
+     */
+    private Io io = new Io();
+    
+    /**
+     * Disk spool for notifications that could not be delivered
+     */
+    private Spool spool = new Spool();
+
+    // Getters and setters
+
+    public boolean isRingBufferEnabled() {
+        return ringBufferEnabled;
+    }
+
+    public void setRingBufferEnabled(boolean ringBufferEnabled) {
+        this.ringBufferEnabled = ringBufferEnabled;
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getOverflowBlockTimeout() {
+        return overflowBlockTimeout;
+    }
+
+    public void setOverflowBlockTimeout(long overflowBlockTimeout) {
+        this.overflowBlockTimeout = overflowBlockTimeout;
+    }
+
+    public boolean isDeferredConversion() {
+        return deferredConversion;
+    }
+
+    public void setDeferredConversion(boolean deferredConversion) {
+        this.deferredConversion = deferredConversion;
+    }
+
+    public int getStackTraceMaxFrames() {
+        return stackTraceMaxFrames;
+    }
+
+    public void setStackTraceMaxFrames(int stackTraceMaxFrames) {
+        this.stackTraceMaxFrames = stackTraceMaxFrames;
+    }
+
+    public int getStackTraceMaxChars() {
+        return stackTraceMaxChars;
+    }
+
+    public void setStackTraceMaxChars(int stackTraceMaxChars) {
+        this.stackTraceMaxChars = stackTraceMaxChars;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+    
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrencyPerDestination() {
+        return maxConcurrencyPerDestination;
+    }
+
+    public void setMaxConcurrencyPerDestination(int maxConcurrencyPerDestination) {
+        this.maxConcurrencyPerDestination = maxConcurrencyPerDestination;
+    }
+
+    public List<String> getExcludedLoggers() {
+        return excludedLoggers;
+    }
+
+    public void setExcludedLoggers(List<String> excludedLoggers) {
+        this.excludedLoggers = excludedLoggers;
+    }
+
+    public List<String> getExcludedMarkers() {
+        return excludedMarkers;
+    }
+
+    public void setExcludedMarkers(List<String> excludedMarkers) {
+        this.excludedMarkers = excludedMarkers;
+    }
+    
+    public List<String> getMdcIncludedKeys() {
+        return mdcIncludedKeys;
+    }
+    
+    public void setMdcIncludedKeys(List<String> mdcIncludedKeys) {
+        this.mdcIncludedKeys = mdcIncludedKeys;
+    }
+    
+    public List<String> getMdcExcludedKeys() {
+        return mdcExcludedKeys;
+    }
+    
+    public void setMdcExcludedKeys(List<String> mdcExcludedKeys) {
+        this.mdcExcludedKeys = mdcExcludedKeys;
+    }
+    
+    public long getDeduplicationWindow() {
+        return deduplicationWindow;
+    }
+    
+    public void setDeduplicationWindow(long deduplicationWindow) {
+        this.deduplicationWindow = deduplicationWindow;
+    }
+    
+    public int getDeduplicationMaxEntries() {
+        return deduplicationMaxEntries;
+    }
+    
+    public void setDeduplicationMaxEntries(int deduplicationMaxEntries) {
+        this.deduplicationMaxEntries = deduplicationMaxEntries;
+    }
+    
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    public Retry getRetry() {
+        return retry;
+    }
+    
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+    
+    public Io getIo() {
+        return io;
+    }
+    
+    public void setIo(Io io) {
+        this.io = io;
+    }
+    
+    public Spool getSpool() {
+        return spool;
+    }
+    
+    public void setSpool(Spool spool) {
+        this.spool = spool;
+    }
+    
+    /**
+     * Circuit breaker guarding each webhook against dead or slow endpoints.
+     */
+    public static class CircuitBreaker {
+        
+        /**
+         * Reject messages to a webhook immediately while it keeps failing
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Failure percentage over the sliding window that opens the circuit
+         */
+        private int failureRateThreshold = 50;
+        
+        /**
+         * Duration in milliseconds above which a webhook call counts as slow
+         */
+        private long slowCallDuration = 3000;
+        
+        /**
+         * Slow call percentage over the sliding window that opens the circuit
+         */
+        private int slowCallRateThreshold = 80;
+        
+        /**
+         * Calls recorded before the failure and slow call rates are evaluated
+         */
+        private int minimumCalls = 5;
+        
+        /**
+         * Number of most recent calls the rates are computed over
+         */
+        private int windowSize = 20;
+        
+        /**
+         * Time in milliseconds an open circuit rejects messages before probing the webhook again
+         */
+        private long openDuration = 30000;
+        
+        /**
+         * Successful probe deliveries needed to close a half-open circuit
+         */
+        private int halfOpenProbes = 1;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+        
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+        
+        public long getSlowCallDuration() {
+            return slowCallDuration;
+        }
+        
+        public void setSlowCallDuration(long slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+        
+        public int getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+        
+        public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+        
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+        
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+        
+        public int getWindowSize() {
+            return windowSize;
+        }
+        
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+        
+        public long getOpenDuration() {
+            return openDuration;
+        }
+        
+        public void setOpenDuration(long openDuration) {
+            this.openDuration = openDuration;
+        }
+        
+        public int getHalfOpenProbes() {
+            return halfOpenProbes;
+        }
+        
+        public void setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+        }
+    }
+    
+    /**
+     * Retries of throttled, failing or unreachable webhook deliveries.
+     */
+    public static class Retry {
+        
+        /**
+         * Retry transient delivery failures (429, 5xx, I/O errors)
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Maximum attempts per message, including the first one
+         */
+        private int maxAttempts = 3;
+        
+        /**
+         * Backoff ceiling in milliseconds of the first retry; doubles with every attempt
+         */
+        private long initialBackoff = 500;
+        
+        /**
+         * Upper bound of the backoff in milliseconds
+         */
+        private long maxBackoff = 30000;
+        
+        /**
+         * Retries earned per first attempt; 0.2 means retries never exceed 20% of deliveries
+         */
+        private double budgetRatio = 0.2;
+        
+        /**
+         * Retries available before any budget has been earned
+         */
+        private int budgetReserve = 10;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+        
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+        
+        public long getInitialBackoff() {
+            return initialBackoff;
+        }
+        
+        public void setInitialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+        
+        public long getMaxBackoff() {
+            return maxBackoff;
+        }
+        
+        public void setMaxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+        
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+        
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+        
+        public int getBudgetReserve() {
+            return budgetReserve;
+        }
+        
+        public void setBudgetReserve(int budgetReserve) {
+            this.budgetReserve = budgetReserve;
+        }
+    }
+    
+    /**
+     * Bounded executor that runs webhook calls and HTTP client callbacks.
+     */
+    public static class Io {
+        
+        /**
+         * Number of I/O threads
+         */
+        private int threads = 4;
+        
+        /**
+         * Webhook calls queued while all I/O threads are busy
+         */
+        private int queueCapacity = 256;
+        
+        /**
+         * What to do when the queue is full: "reject" fails the delivery, "caller-runs" runs it on the pipeline worker
+         */
+        private IoExecutor.SaturationPolicy saturationPolicy = IoExecutor.SaturationPolicy.REJECT;
+        
+        public int getThreads() {
+            return threads;
+        }
+        
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+        
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+        
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+        
+        public IoExecutor.SaturationPolicy getSaturationPolicy() {
+            return saturationPolicy;
+        }
+        
+        public void setSaturationPolicy(IoExecutor.SaturationPolicy saturationPolicy) {
+            this.saturationPolicy = saturationPolicy;
+        }
+    }
+    
+    /**
+     * Memory-mapped spool that keeps undelivered notifications across webhook outages and restarts.
+     */
+    public static class Spool {
+        
+        /**
+         * Store notifications that failed with a transient error on disk and replay them later
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Directory holding the spool segment files
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/error-monitor-spool";
+        
+        /**
+         * Size of each segment file in bytes
+         */
+        private int segmentSize = 4 * 1024 * 1024;
+        
+        /**
+         * Maximum number of segment files; bounds disk usage to max-segments * segment-size
+         */
+        private int maxSegments = 16;
+        
+        /**
+         * Deflate large notifications before writing them
+         */
+        private boolean compression = true;
+        
+        /**
+         * Delay in milliseconds between attempts to replay spooled notifications
+         */
+        private long replayInterval = 30000;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getDirectory() {
+            return directory;
+        }
+        
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+        
+        public int getSegmentSize() {
+            return segmentSize;
+        }
+        
+        public void setSegmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+        
+        public int getMaxSegments() {
+            return maxSegments;
+        }
+        
+        public void setMaxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+        }
+        
+        public boolean isCompression() {
+            return compression;
+        }
+        
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+        
+        public long getReplayInterval() {
+            return replayInterval;
+        }
+        
+        public void setReplayInterval(long replayInterval) {
+            this.replayInterval = replayInterval;
+        }
+    }
+}
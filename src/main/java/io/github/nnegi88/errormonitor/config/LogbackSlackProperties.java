@@ -55,7 +55,7 @@ public class LogbackSlackProperties {
     private boolean async = true;
     
     /**
-     * Queue size for async processing
+     * Deliveries waiting for this destination before the least severe one is dropped
      */
     private int queueSize = 256;
     
@@ -69,6 +69,21 @@ public class LogbackSlackProperties {
      */
     private int maxMessagesPerMinute = 10;
     
+    /**
+     * Window in milliseconds during which alerts are collected into one digest message (0 disables batching)
+     */
+    private long batchWindow = 0;
+    
+    /**
+     * Maximum number of alerts per digest; a full batch is sent before its window ends
+     */
+    private int batchMaxEvents = 50;
+    
+    /**
+     * Maximum number of deliveries to this destination in flight at the same time
+     */
+    private int maxInFlight = 4;
+    
     // Getters and setters
     
     public boolean isEnabled() {
@@ -166,4 +181,28 @@ public class LogbackSlackProperties {
     public void setMaxMessagesPerMinute(int maxMessagesPerMinute) {
         this.maxMessagesPerMinute = maxMessagesPerMinute;
     }
+    
+    public long getBatchWindow() {
+        return batchWindow;
+    }
+    
+    public void setBatchWindow(long batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+    
+    public int getBatchMaxEvents() {
+        return batchMaxEvents;
+    }
+    
+    public void setBatchMaxEvents(int batchMaxEvents) {
+        this.batchMaxEvents = batchMaxEvents;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package io.github.nnegi88.errormonitor.domain.model;
+
+/**
+ * Domain model describing how notifications are delivered to a single destination.
+ * Holds the per-destination limits that sit between the orchestrator and the notification service.
+ */
+public class DeliveryPolicy {
+
+    private static final DeliveryPolicy DEFAULTS = builder().build();
+
+    private final long batchWindowMillis;
+    private final int batchMaxEvents;
+    private final int maxMessagesPerMinute;
+    private final int queueCapacity;
+    private final int maxInFlight;
+
+    private DeliveryPolicy(Builder builder) {
+        this.batchWindowMillis = builder.batchWindowMillis;
+        this.batchMaxEvents = builder.batchMaxEvents;
+        this.maxMessagesPerMinute = builder.maxMessagesPerMinute;
+        this.queueCapacity = builder.queueCapacity;
+        this.maxInFlight = builder.maxInFlight;
+    }
+
+    /**
+     * Get how long events are collected into one digest message.
+     *
+     * @return the batch window in milliseconds, 0 if batching is disabled
+     */
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    /**
+     * Get the number of events that flushes a batch before its window ends.
+     *
+     * @return the maximum events per batch
+     */
+    public int getBatchMaxEvents() {
+        return batchMaxEvents;
+    }
+
+    /**
+     * Get the number of alerts admitted per minute.
+     *
+     * @return the maximum messages per minute, 0 if the destination is not rate limited
+     */
+    public int getMaxMessagesPerMinute() {
+        return maxMessagesPerMinute;
+    }
+
+    /**
+     * Get the number of deliveries that may wait for a free slot.
+     *
+     * @return the capacity of the destination's delivery lane
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Get the number of deliveries that may be in flight at the same time.
+     *
+     * @return the in-flight limit of the destination's delivery lane
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isRateLimited() {
+        return maxMessagesPerMinute > 0;
+    }
+
+    public boolean isBatchingEnabled() {
+        return batchWindowMillis > 0 && batchMaxEvents > 1;
+    }
+
+    public static DeliveryPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long batchWindowMillis = 0;
+        private int batchMaxEvents = 50;
+        private int maxMessagesPerMinute = 0;
+        private int queueCapacity = 256;
+        private int maxInFlight = 4;
+
+        public Builder batchWindowMillis(long batchWindowMillis) {
+            this.batchWindowMillis = batchWindowMillis;
+            return this;
+        }
+
+        public Builder batchMaxEvents(int batchMaxEvents) {
+            this.batchMaxEvents = batchMaxEvents;
+            return this;
+        }
+
+        public Builder maxMessagesPerMinute(int maxMessagesPerMinute) {
+            this.maxMessagesPerMinute = maxMessagesPerMinute;
+            return this;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public DeliveryPolicy build() {
+            return new DeliveryPolicy(this);
+        }
+    }
+}
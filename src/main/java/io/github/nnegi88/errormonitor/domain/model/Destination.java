@@ -0,0 +1,114 @@
+package io.github.nnegi88.errormonitor.domain.model;
+
+import java.net.URI;
+
+/**
+ * Domain model describing one place notifications are delivered to and how they are rendered there.
+ * Built once per configuration when routes are compiled, so delivery reads typed fields instead of
+ * looking them up in metadata maps or rebuilding configuration objects for every message.
+ */
+public final class Destination {
+
+    private final String webhookUrl;
+    private final URI webhookUri;
+    private final String applicationName;
+    private final String environment;
+    private final boolean includeStackTrace;
+    private final DeliveryPolicy deliveryPolicy;
+
+    private Destination(Builder builder) {
+        this.webhookUrl = builder.webhookUrl;
+        this.webhookUri = parseUri(builder.webhookUrl);
+        this.applicationName = builder.applicationName;
+        this.environment = builder.environment;
+        this.includeStackTrace = builder.includeStackTrace;
+        this.deliveryPolicy = builder.deliveryPolicy;
+    }
+
+    public String getWebhookUrl() {
+        return webhookUrl;
+    }
+
+    /**
+     * Get the webhook URL parsed once when the destination was built.
+     *
+     * @return the webhook URI, or null if the URL is missing or malformed
+     */
+    public URI getWebhookUri() {
+        return webhookUri;
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Check whether stack traces are rendered for this destination.
+     *
+     * @return true if stack traces are included
+     */
+    public boolean isIncludeStackTrace() {
+        return includeStackTrace;
+    }
+
+    public DeliveryPolicy getDeliveryPolicy() {
+        return deliveryPolicy;
+    }
+
+    private static URI parseUri(String webhookUrl) {
+        if (webhookUrl == null) {
+            return null;
+        }
+        try {
+            return URI.create(webhookUrl);
+        } catch (IllegalArgumentException e) {
+            // Reported by the transport when a message is actually sent
+            return null;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String webhookUrl;
+        private String applicationName;
+        private String environment;
+        private boolean includeStackTrace = true;
+        private DeliveryPolicy deliveryPolicy = DeliveryPolicy.defaults();
+
+        public Builder webhookUrl(String webhookUrl) {
+            this.webhookUrl = webhookUrl;
+            return this;
+        }
+
+        public Builder applicationName(String applicationName) {
+            this.applicationName = applicationName;
+            return this;
+        }
+
+        public Builder environment(String environment) {
+            this.environment = environment;
+            return this;
+        }
+
+        public Builder includeStackTrace(boolean includeStackTrace) {
+            this.includeStackTrace = includeStackTrace;
+            return this;
+        }
+
+        public Builder deliveryPolicy(DeliveryPolicy deliveryPolicy) {
+            this.deliveryPolicy = deliveryPolicy != null ? deliveryPolicy : DeliveryPolicy.defaults();
+            return this;
+        }
+
+        public Destination build() {
+            return new Destination(this);
+        }
+    }
+}
@@ -16,6 +16,8 @@ public class LogEvent {
     private final Throwable throwable;
     private final Map<String, String> mdcProperties;
     private final String formattedMessage;
+    private final String stackTrace;
+    private final String fingerprint;
 
     private LogEvent(Builder builder) {
         this.level = builder.level;
@@ -24,8 +26,11 @@ public class LogEvent {
         this.timestamp = builder.timestamp;
         this.threadName = builder.threadName;
         this.throwable = builder.throwable;
+        // Returns an already immutable map as is, so snapshots are shared rather than copied again
         this.mdcProperties = Map.copyOf(builder.mdcProperties);
         this.formattedMessage = builder.formattedMessage;
+        this.stackTrace = builder.stackTrace;
+        this.fingerprint = builder.fingerprint;
     }
 
     public String getLevel() {
@@ -60,6 +65,25 @@ public class LogEvent {
         return formattedMessage;
     }
 
+    /**
+     * Get the stack trace already rendered by the logging integration, if any.
+     * Takes precedence over rendering {@link #getThrowable()}.
+     *
+     * @return the pre-rendered stack trace, or null
+     */
+    public String getStackTrace() {
+        return stackTrace;
+    }
+
+    /**
+     * Get the fingerprint computed by the logging integration, if any.
+     *
+     * @return the fingerprint identifying repeated occurrences of the same failure, or null
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
     public boolean hasThrowable() {
         return throwable != null;
     }
@@ -77,6 +101,8 @@ public class LogEvent {
         private Throwable throwable;
         private Map<String, String> mdcProperties = Map.of();
         private String formattedMessage;
+        private String stackTrace;
+        private String fingerprint;
 
         public Builder level(String level) {
             this.level = level;
@@ -118,6 +144,16 @@ public class LogEvent {
             return this;
         }
 
+        public Builder stackTrace(String stackTrace) {
+            this.stackTrace = stackTrace;
+            return this;
+        }
+
+        public Builder fingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+            return this;
+        }
+
         public LogEvent build() {
             return new LogEvent(this);
         }
@@ -0,0 +1,248 @@
+package io.github.nnegi88.errormonitor.domain.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Domain model summarizing a batch of notification messages for one destination.
+ * Identical messages are grouped into entries with an occurrence count and
+ * the first and last time they were seen.
+ */
+public class NotificationDigest {
+    private final String applicationName;
+    private final String environment;
+    private final Map<String, Object> metadata;
+    private final List<Entry> entries;
+    private final int totalEvents;
+
+    private NotificationDigest(String applicationName, String environment, Map<String, Object> metadata,
+                               List<Entry> entries, int totalEvents) {
+        this.applicationName = applicationName;
+        this.environment = environment;
+        this.metadata = metadata;
+        this.entries = Collections.unmodifiableList(entries);
+        this.totalEvents = totalEvents;
+    }
+
+    /**
+     * Build a digest from a non-empty batch of messages sent to the same destination.
+     *
+     * @param messages the batched messages, in arrival order
+     * @return the digest
+     */
+    public static NotificationDigest of(List<NotificationMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            throw new IllegalArgumentException("A digest needs at least one message");
+        }
+
+        Map<EntryKey, Entry> grouped = new LinkedHashMap<>();
+        for (NotificationMessage message : messages) {
+            EntryKey key = new EntryKey(message.getLevel(), message.getTitle(), message.getContent());
+            Entry entry = grouped.get(key);
+            if (entry == null) {
+                grouped.put(key, new Entry(message));
+            } else {
+                entry.add(message);
+            }
+        }
+
+        NotificationMessage first = messages.get(0);
+        return new NotificationDigest(first.getApplicationName(), first.getEnvironment(), first.getMetadata(),
+                new ArrayList<>(grouped.values()), messages.size());
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public Map<String, Object> getMetadata() {
+        return metadata;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public int getTotalEvents() {
+        return totalEvents;
+    }
+
+    /**
+     * Get the most severe level among the batched messages.
+     *
+     * @return the highest level, e.g. "ERROR"
+     */
+    public String getHighestLevel() {
+        String highest = null;
+        int highestRank = -1;
+        for (Entry entry : entries) {
+            int rank = severityRank(entry.getLevel());
+            if (rank > highestRank) {
+                highestRank = rank;
+                highest = entry.getLevel();
+            }
+        }
+        return highest;
+    }
+
+    public Instant getFirstOccurrence() {
+        Instant first = null;
+        for (Entry entry : entries) {
+            if (first == null || entry.getFirstOccurrence().isBefore(first)) {
+                first = entry.getFirstOccurrence();
+            }
+        }
+        return first;
+    }
+
+    public Instant getLastOccurrence() {
+        Instant last = null;
+        for (Entry entry : entries) {
+            if (last == null || entry.getLastOccurrence().isAfter(last)) {
+                last = entry.getLastOccurrence();
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Render the digest as a single plain notification message, for services
+     * that have no dedicated digest format.
+     *
+     * @return a summary message
+     */
+    public NotificationMessage toSummaryMessage() {
+        StringBuilder content = new StringBuilder();
+        content.append(totalEvents).append(" events (").append(entries.size()).append(" distinct)");
+        for (Entry entry : entries) {
+            content.append('\n').append(entry.getCount()).append("x [").append(entry.getLevel()).append("] ")
+                    .append(entry.getContent());
+        }
+
+        return NotificationMessage.builder()
+                .title("Alert digest")
+                .content(content.toString())
+                .level(getHighestLevel())
+                .applicationName(applicationName)
+                .environment(environment)
+                .metadata(metadata)
+                .timestamp(getLastOccurrence())
+                .build();
+    }
+
+    private static int severityRank(String level) {
+        if (level == null) {
+            return 0;
+        }
+        switch (level.toUpperCase()) {
+            case "ERROR":
+                return 4;
+            case "WARN":
+                return 3;
+            case "INFO":
+                return 2;
+            case "DEBUG":
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * A group of identical messages within the digest.
+     */
+    public static class Entry {
+        private final String level;
+        private final String title;
+        private final String content;
+        private final String stackTrace;
+        private final Instant firstOccurrence;
+        private Instant lastOccurrence;
+        private int count;
+
+        private Entry(NotificationMessage message) {
+            this.level = message.getLevel();
+            this.title = message.getTitle();
+            this.content = message.getContent();
+            this.stackTrace = message.getStackTrace();
+            this.firstOccurrence = message.getTimestamp();
+            this.lastOccurrence = message.getTimestamp();
+            this.count = 1;
+        }
+
+        private void add(NotificationMessage message) {
+            count++;
+            if (message.getTimestamp().isAfter(lastOccurrence)) {
+                lastOccurrence = message.getTimestamp();
+            }
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public String getStackTrace() {
+            return stackTrace;
+        }
+
+        public Instant getFirstOccurrence() {
+            return firstOccurrence;
+        }
+
+        public Instant getLastOccurrence() {
+            return lastOccurrence;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private static final class EntryKey {
+        private final String level;
+        private final String title;
+        private final String content;
+
+        private EntryKey(String level, String title, String content) {
+            this.level = level;
+            this.title = title;
+            this.content = content;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntryKey)) {
+                return false;
+            }
+            EntryKey other = (EntryKey) o;
+            return Objects.equals(level, other.level)
+                    && Objects.equals(title, other.title)
+                    && Objects.equals(content, other.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(level, title, content);
+        }
+    }
+}
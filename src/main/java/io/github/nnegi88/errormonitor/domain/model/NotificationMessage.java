@@ -1,5 +1,6 @@
 package io.github.nnegi88.errormonitor.domain.model;
 
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -14,6 +15,7 @@ public class NotificationMessage {
     private final String environment;
     private final Map<String, Object> metadata;
     private final String stackTrace;
+    private final Instant timestamp;
 
     private NotificationMessage(Builder builder) {
         this.title = builder.title;
@@ -21,8 +23,10 @@ public class NotificationMessage {
         this.level = builder.level;
         this.applicationName = builder.applicationName;
         this.environment = builder.environment;
+        // Returns an already immutable map as is, so snapshots are shared rather than copied again
         this.metadata = Map.copyOf(builder.metadata);
         this.stackTrace = builder.stackTrace;
+        this.timestamp = builder.timestamp != null ? builder.timestamp : Instant.now();
     }
 
     public String getTitle() {
@@ -53,6 +57,10 @@ public class NotificationMessage {
         return stackTrace;
     }
 
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
     public boolean hasStackTrace() {
         return stackTrace != null && !stackTrace.trim().isEmpty();
     }
@@ -69,6 +77,7 @@ public class NotificationMessage {
         private String environment;
         private Map<String, Object> metadata = Map.of();
         private String stackTrace;
+        private Instant timestamp;
 
         public Builder title(String title) {
             this.title = title;
@@ -105,6 +114,11 @@ public class NotificationMessage {
             return this;
         }
 
+        public Builder timestamp(Instant timestamp) {
+            this.timestamp = timestamp;
+            return this;
+        }
+
         public NotificationMessage build() {
             return new NotificationMessage(this);
         }
@@ -11,6 +11,8 @@ public class NotificationResult {
     private final String errorMessage;
     private final Instant timestamp;
     private final int statusCode;
+    private final boolean retryable;
+    private final long retryAfterMillis;
 
     private NotificationResult(Builder builder) {
         this.successful = builder.successful;
@@ -18,6 +20,8 @@ public class NotificationResult {
         this.errorMessage = builder.errorMessage;
         this.timestamp = builder.timestamp != null ? builder.timestamp : Instant.now();
         this.statusCode = builder.statusCode;
+        this.retryable = builder.retryable;
+        this.retryAfterMillis = builder.retryAfterMillis;
     }
 
     public boolean isSuccessful() {
@@ -40,6 +44,24 @@ public class NotificationResult {
         return statusCode;
     }
 
+    /**
+     * Whether the failure is transient and the same message may succeed if sent again.
+     *
+     * @return true for throttling, server errors and I/O failures
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Get the delay the endpoint asked for before the next attempt, e.g. from a Retry-After header.
+     *
+     * @return the delay in milliseconds, 0 if the endpoint did not ask for one
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
     public static NotificationResult success(String serviceName) {
         return builder()
                 .successful(true)
@@ -73,6 +95,17 @@ public class NotificationResult {
                 .build();
     }
 
+    public static NotificationResult retryableFailure(String serviceName, String errorMessage, int statusCode, long retryAfterMillis) {
+        return builder()
+                .successful(false)
+                .serviceName(serviceName)
+                .errorMessage(errorMessage)
+                .statusCode(statusCode)
+                .retryable(true)
+                .retryAfterMillis(retryAfterMillis)
+                .build();
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -83,6 +116,8 @@ public class NotificationResult {
         private String errorMessage;
         private Instant timestamp;
         private int statusCode;
+        private boolean retryable;
+        private long retryAfterMillis;
 
         public Builder successful(boolean successful) {
             this.successful = successful;
@@ -109,6 +144,16 @@ public class NotificationResult {
             return this;
         }
 
+        public Builder retryable(boolean retryable) {
+            this.retryable = retryable;
+            return this;
+        }
+
+        public Builder retryAfterMillis(long retryAfterMillis) {
+            this.retryAfterMillis = retryAfterMillis;
+            return this;
+        }
+
         public NotificationResult build() {
             return new NotificationResult(this);
         }
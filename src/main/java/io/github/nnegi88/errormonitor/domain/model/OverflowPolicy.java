@@ -0,0 +1,26 @@
+package io.github.nnegi88.errormonitor.domain.model;
+
+/**
+ * What the pipeline does with an event when its queue is full.
+ * No policy ever runs pipeline work on the logging thread.
+ */
+public enum OverflowPolicy {
+    
+    /** Drop the event that did not fit. */
+    DROP_NEWEST,
+    
+    /** Drop the oldest queued event to make room. */
+    DROP_OLDEST,
+    
+    /** Drop the least severe event, queued or new; ties drop the newest. */
+    DROP_LOWEST_SEVERITY,
+    
+    /** Wait up to a deadline for room, then drop the new event. */
+    BLOCK,
+    
+    /**
+     * Write the event to the disk spool and process it when it is replayed.
+     * The write happens on the logging thread, with the stack trace cut to its header.
+     */
+    SPILL_TO_DISK
+}
@@ -25,6 +25,51 @@ public interface AsyncProcessor {
      */
     <T> CompletableFuture<T> processAsync(java.util.concurrent.Callable<T> task);
     
+    /**
+     * Process a task asynchronously on behalf of a specific destination.
+     * Implementations may use the destination to bound per-destination concurrency.
+     * 
+     * @param destination the destination key (e.g., a webhook URL)
+     * @param task the task to execute
+     * @param <T> the return type
+     * @return a CompletableFuture containing the task result
+     */
+    default <T> CompletableFuture<T> processAsync(String destination, java.util.concurrent.Callable<T> task) {
+        return processAsync(task);
+    }
+    
+    /**
+     * Process a task that may be dropped when the queue overflows.
+     * The severity lets the overflow policy pick the least important task as the victim, and the
+     * spill action lets it persist the task instead of losing it. The default ignores both.
+     * 
+     * @param task the task to execute
+     * @param severity the severity of the task, higher is more important
+     * @param spill persists the task elsewhere if it is dropped; returns true if it was persisted
+     * @return a CompletableFuture that completes when the task is done, or exceptionally if it was dropped
+     */
+    default CompletableFuture<Void> processAsync(Runnable task, int severity, java.util.function.BooleanSupplier spill) {
+        return processAsync(task);
+    }
+    
+    /**
+     * Get the number of tasks lost because the processor was full.
+     * 
+     * @return the dropped task count
+     */
+    default long getDroppedTasks() {
+        return 0;
+    }
+    
+    /**
+     * Get the number of tasks that were spilled instead of queued because the processor was full.
+     * 
+     * @return the spilled task count
+     */
+    default long getSpilledTasks() {
+        return 0;
+    }
+    
     /**
      * Check if the processor can accept more tasks.
      * 
@@ -1,5 +1,7 @@
 package io.github.nnegi88.errormonitor.domain.port;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 
 /**
@@ -13,10 +15,22 @@ public interface MessageFormatter<T> {
      * Format a notification message into the service-specific format.
      * 
      * @param message the generic notification message
-     * @param config the notification configuration
+     * @param destination the destination the message is rendered for
      * @return the formatted message ready for sending
      */
-    T formatMessage(NotificationMessage message, NotificationConfig config);
+    T formatMessage(NotificationMessage message, Destination destination);
+    
+    /**
+     * Format a digest of batched messages into a single service-specific message.
+     * The default renders the digest's plain summary message.
+     * 
+     * @param digest the batched messages summary
+     * @param destination the destination the digest is rendered for
+     * @return the formatted message ready for sending
+     */
+    default T formatDigest(NotificationDigest digest, Destination destination) {
+        return formatMessage(digest.toSummaryMessage(), destination);
+    }
     
     /**
      * Get the type of message this formatter produces.
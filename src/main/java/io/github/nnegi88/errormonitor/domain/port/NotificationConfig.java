@@ -1,5 +1,8 @@
 package io.github.nnegi88.errormonitor.domain.port;
 
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+
 import java.util.Map;
 
 /**
@@ -49,4 +52,32 @@ public interface NotificationConfig {
      * @return a map of additional properties
      */
     Map<String, Object> getAdditionalProperties();
-}
\ No newline at end of file
+    
+    /**
+     * Get the delivery policy (batching and other per-destination limits).
+     * 
+     * @return the delivery policy for this destination
+     */
+    default DeliveryPolicy getDeliveryPolicy() {
+        return DeliveryPolicy.defaults();
+    }
+    
+    /**
+     * Build the typed destination profile of this configuration.
+     * Called once per configuration when routes are compiled; the "includeStackTrace"
+     * additional property is read here and nowhere else.
+     * 
+     * @return the destination
+     */
+    default Destination toDestination() {
+        Map<String, Object> additionalProperties = getAdditionalProperties();
+        Object includeStackTrace = additionalProperties != null ? additionalProperties.get("includeStackTrace") : null;
+        return Destination.builder()
+                .webhookUrl(getWebhookUrl())
+                .applicationName(getApplicationName())
+                .environment(getEnvironment())
+                .includeStackTrace(!Boolean.FALSE.equals(includeStackTrace))
+                .deliveryPolicy(getDeliveryPolicy())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.nnegi88.errormonitor.domain.port;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Port interface for recording what happens to log events on their way to a webhook.
+ * Every method defaults to doing nothing, so the pipeline can always call it unconditionally.
+ * Destinations are identified by their webhook URL; implementations must not publish the URL
+ * itself because it contains the webhook secret.
+ */
+public interface NotificationMetrics {
+
+    /**
+     * Metrics implementation that records nothing.
+     */
+    NotificationMetrics NONE = new NotificationMetrics() {
+    };
+
+    /**
+     * Record a log event at or above the alerting threshold offered to the notification appender.
+     * Events below the threshold are rejected without being counted.
+     */
+    default void eventSeen() {
+    }
+
+    /**
+     * Record a seen log event rejected by an excluded logger or marker.
+     */
+    default void eventFiltered() {
+    }
+
+    /**
+     * Record an event suppressed as a duplicate of a recent failure.
+     */
+    default void eventDeduplicated() {
+    }
+
+    /**
+     * Record an alert held back by a destination's rate limit.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     */
+    default void eventThrottled(String serviceName, String destination) {
+    }
+
+    /**
+     * Record a delivery dropped because the destination's lane was full.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     */
+    default void deliveryDropped(String serviceName, String destination) {
+    }
+
+    /**
+     * Record the outcome of a delivery.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     * @param successful whether the webhook accepted the message
+     */
+    default void deliveryCompleted(String serviceName, String destination, boolean successful) {
+    }
+
+    /**
+     * Record the time spent turning a message into the service's payload model.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     * @param nanos the elapsed time in nanoseconds
+     */
+    default void recordFormat(String serviceName, String destination, long nanos) {
+    }
+
+    /**
+     * Record the time spent writing the payload as JSON.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     * @param nanos the elapsed time in nanoseconds
+     */
+    default void recordSerialize(String serviceName, String destination, long nanos) {
+    }
+
+    /**
+     * Record the time from sending the request until the response arrived or the call failed.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     * @param nanos the elapsed time in nanoseconds
+     */
+    default void recordHttp(String serviceName, String destination, long nanos) {
+    }
+
+    /**
+     * Register the live queue depth and in-flight count of a destination's delivery lane.
+     * Called once, when the destination receives its first delivery.
+     *
+     * @param serviceName the notification service name
+     * @param destination the webhook URL of the destination
+     * @param queued reads the number of deliveries waiting for a slot
+     * @param inFlight reads the number of deliveries in flight
+     */
+    default void registerDestination(String serviceName, String destination, IntSupplier queued, IntSupplier inFlight) {
+    }
+}
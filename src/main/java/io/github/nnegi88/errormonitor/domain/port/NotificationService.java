@@ -1,5 +1,7 @@
 package io.github.nnegi88.errormonitor.domain.port;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
 
@@ -19,6 +21,41 @@ public interface NotificationService {
      */
     CompletableFuture<NotificationResult> sendNotification(NotificationMessage message);
     
+    /**
+     * Send a notification message to a destination asynchronously.
+     * The default ignores the destination, for services that deliver to a single place of their own.
+     * 
+     * @param message the notification message to send
+     * @param destination the destination the message is routed to
+     * @return a CompletableFuture containing the result of the notification attempt
+     */
+    default CompletableFuture<NotificationResult> sendNotification(NotificationMessage message, Destination destination) {
+        return sendNotification(message);
+    }
+    
+    /**
+     * Send a digest of batched messages as a single notification.
+     * The default sends the digest's plain summary message.
+     * 
+     * @param digest the batched messages summary
+     * @return a CompletableFuture containing the result of the notification attempt
+     */
+    default CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest) {
+        return sendNotification(digest.toSummaryMessage());
+    }
+    
+    /**
+     * Send a digest of batched messages to a destination as a single notification.
+     * The default ignores the destination, like {@link #sendNotification(NotificationMessage, Destination)}.
+     * 
+     * @param digest the batched messages summary
+     * @param destination the destination the digest is routed to
+     * @return a CompletableFuture containing the result of the notification attempt
+     */
+    default CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest, Destination destination) {
+        return sendDigest(digest);
+    }
+    
     /**
      * Check if this service supports the given configuration.
      * 
@@ -0,0 +1,53 @@
+package io.github.nnegi88.errormonitor.domain.port;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+
+import java.util.function.Consumer;
+
+/**
+ * Port interface for durable storage of notifications that could not be delivered.
+ * Implementations persist the message and replay it through the named service to the same destination later.
+ */
+public interface NotificationSpool {
+    
+    /**
+     * Store a message for later delivery to the service's default destination.
+     * 
+     * @param serviceName the name of the notification service the message is for
+     * @param message the undelivered message
+     * @return true if the message was stored, false if the spool is full or unavailable
+     */
+    default boolean offer(String serviceName, NotificationMessage message) {
+        return offer(serviceName, message, null);
+    }
+    
+    /**
+     * Store a message for later delivery to a destination.
+     * 
+     * @param serviceName the name of the notification service the message is for
+     * @param message the undelivered message
+     * @param destination the destination the message was routed to, or null for the service's default
+     * @return true if the message was stored, false if the spool is full or unavailable
+     */
+    boolean offer(String serviceName, NotificationMessage message, Destination destination);
+    
+    /**
+     * Store a log event that overflowed the pipeline, before any notification was created for it.
+     * 
+     * @param event the overflowed event
+     * @return true if the event was stored; the default stores nothing
+     */
+    default boolean offerEvent(LogEvent event) {
+        return false;
+    }
+    
+    /**
+     * Register the handler that processes spooled log events when they are replayed.
+     * 
+     * @param handler receives each replayed event
+     */
+    default void replayEventsTo(Consumer<LogEvent> handler) {
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.nnegi88.errormonitor.domain.port;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
 import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
 import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
 import java.util.concurrent.CompletableFuture;
@@ -19,6 +20,29 @@ public interface SlackClient {
      */
     CompletableFuture<NotificationResult> sendMessage(SlackMessage message, String webhookUrl);
     
+    /**
+     * Send a Slack message to a compiled destination.
+     * Lets clients reuse what was resolved when routes were compiled, such as the parsed webhook URI.
+     * 
+     * @param message the Slack message to send
+     * @param destination the destination to send to
+     * @return a CompletableFuture containing the notification result
+     */
+    default CompletableFuture<NotificationResult> sendMessage(SlackMessage message, Destination destination) {
+        return sendMessage(message, destination.getWebhookUrl());
+    }
+    
+    /**
+     * Check whether messages to the webhook can currently be delivered.
+     * Lets callers skip formatting when the message would be rejected anyway.
+     * 
+     * @param webhookUrl the Slack webhook URL
+     * @return false if messages to the webhook are currently rejected
+     */
+    default boolean isAvailable(String webhookUrl) {
+        return true;
+    }
+    
     /**
      * Test connectivity to a Slack webhook URL.
      * 
@@ -0,0 +1,163 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+/**
+ * Renders a throwable into a bounded stack trace string, in the layout of
+ * {@link Throwable#printStackTrace()}: suppressed exceptions are indented under the
+ * throwable that suppressed them and causes follow as "Caused by:". Frames shared with
+ * the enclosing trace are compressed to "... N common frames omitted".
+ * <p>
+ * Rendering stops as soon as the frame or character budget is exhausted, so deep traces
+ * are never fully materialized. Suppressed exceptions and causes draw on the same budgets.
+ * Subclasses only adapt the throwable representation they render.
+ *
+ * @param <T> the throwable representation
+ * @param <F> the stack frame representation
+ */
+public abstract class BoundedStackTraceRenderer<T, F> {
+
+    public static final int DEFAULT_MAX_FRAMES = 50;
+    public static final int DEFAULT_MAX_CHARS = 3000;
+
+    private static final String TRUNCATED = "... (truncated)";
+    private static final int MAX_THROWABLES = 16;
+
+    private final int maxFrames;
+    private final int maxChars;
+
+    protected BoundedStackTraceRenderer(int maxFrames, int maxChars) {
+        this.maxFrames = maxFrames;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Render the throwable, its suppressed exceptions and its causes within the configured budgets.
+     *
+     * @param throwable the throwable, may be null
+     * @return the rendered stack trace, or null if there is no throwable
+     */
+    public String render(T throwable) {
+        if (throwable == null) {
+            return null;
+        }
+
+        Budget budget = new Budget(Math.min(maxChars, 1024));
+        boolean complete = write(throwable, "", "", null, budget);
+        return complete && budget.out.length() > maxChars ? truncate(budget.out) : budget.out.toString();
+    }
+
+    /**
+     * @return false once a budget is exhausted and the output already ends with the truncation marker
+     */
+    private boolean write(T throwable, String caption, String indent, F[] enclosingFrames, Budget budget) {
+        StringBuilder out = budget.out;
+        budget.throwablesLeft--;
+        out.append(indent).append(caption);
+        appendHeader(out, throwable);
+        out.append('\n');
+        if (out.length() >= maxChars) {
+            truncate(out);
+            return false;
+        }
+
+        F[] frames = frames(throwable);
+        int commonFrames = commonFrames(throwable, frames, enclosingFrames);
+        int uniqueFrames = frames.length - commonFrames;
+        int rendered = Math.min(uniqueFrames, budget.framesLeft);
+        for (int i = 0; i < rendered; i++) {
+            out.append(indent).append('\t');
+            appendFrame(out, frames[i]);
+            out.append('\n');
+            if (out.length() >= maxChars) {
+                truncate(out);
+                return false;
+            }
+        }
+        budget.framesLeft -= rendered;
+
+        if (rendered < uniqueFrames) {
+            out.append(indent).append("\t... ").append(uniqueFrames - rendered).append(" more frames\n");
+        }
+        if (commonFrames > 0) {
+            out.append(indent).append("\t... ").append(commonFrames).append(" common frames omitted\n");
+        }
+
+        T[] suppressed = suppressed(throwable);
+        if (suppressed != null) {
+            for (T each : suppressed) {
+                if (!writeNested(each, "Suppressed: ", indent + '\t', frames, budget)) {
+                    return false;
+                }
+            }
+        }
+        T cause = cause(throwable);
+        return cause == null || cause == throwable || writeNested(cause, "Caused by: ", indent, frames, budget);
+    }
+
+    private boolean writeNested(T throwable, String caption, String indent, F[] enclosingFrames, Budget budget) {
+        if (budget.framesLeft <= 0 || budget.throwablesLeft <= 0) {
+            if (budget.out.length() > maxChars) {
+                truncate(budget.out);
+            } else {
+                budget.out.append(TRUNCATED);
+            }
+            return false;
+        }
+        return write(throwable, caption, indent, enclosingFrames, budget);
+    }
+
+    private String truncate(StringBuilder out) {
+        out.setLength(Math.min(out.length(), maxChars));
+        return out.append(TRUNCATED).toString();
+    }
+
+    /**
+     * Count the trailing frames shared with the enclosing trace, the way {@link Throwable#printStackTrace()} does.
+     */
+    protected static <F> int countCommonFrames(F[] frames, F[] enclosingFrames) {
+        if (enclosingFrames == null) {
+            return 0;
+        }
+        int i = frames.length - 1;
+        int j = enclosingFrames.length - 1;
+        int common = 0;
+        while (i >= 0 && j >= 0 && frames[i].equals(enclosingFrames[j])) {
+            i--;
+            j--;
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Append the first line of the throwable, its class name and message.
+     */
+    protected abstract void appendHeader(StringBuilder out, T throwable);
+
+    protected abstract F[] frames(T throwable);
+
+    /**
+     * Append one frame, without the leading indentation.
+     */
+    protected abstract void appendFrame(StringBuilder out, F frame);
+
+    /**
+     * @param frames the frames of the throwable
+     * @param enclosingFrames the frames of the throwable it is the cause or a suppressed exception of, or null
+     * @return how many trailing frames are shared with the enclosing throwable
+     */
+    protected abstract int commonFrames(T throwable, F[] frames, F[] enclosingFrames);
+
+    protected abstract T cause(T throwable);
+
+    protected abstract T[] suppressed(T throwable);
+
+    private final class Budget {
+        private final StringBuilder out;
+        private int framesLeft = maxFrames;
+        private int throwablesLeft = MAX_THROWABLES;
+
+        private Budget(int capacity) {
+            this.out = new StringBuilder(capacity);
+        }
+    }
+}
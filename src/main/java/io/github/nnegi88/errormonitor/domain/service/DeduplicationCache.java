@@ -0,0 +1,193 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent, time-expiring cache of event fingerprints.
+ * The first occurrence of a fingerprint opens a window; further occurrences within the
+ * window are counted instead of delivered. The first occurrence after the window carries
+ * the number of duplicates that were suppressed in the meantime.
+ * <p>
+ * A full cache sweeps expired entries at most a few times per window, so a burst of new
+ * fingerprints against a full cache costs one scan rather than one scan per event.
+ */
+public class DeduplicationCache {
+    
+    /**
+     * Return value of {@link #check(String, long)} for an event that must not be delivered.
+     */
+    public static final int SUPPRESS = -1;
+    
+    private static final int SWEEPS_PER_WINDOW = 10;
+    
+    private final long windowMillis;
+    private final int maxEntries;
+    private final long sweepIntervalMillis;
+    private final AtomicLong nextSweepMillis = new AtomicLong(Long.MIN_VALUE);
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder suppressedEvents = new LongAdder();
+    
+    public DeduplicationCache(long windowMillis, int maxEntries) {
+        this.windowMillis = windowMillis;
+        this.maxEntries = maxEntries;
+        this.sweepIntervalMillis = Math.max(1, windowMillis / SWEEPS_PER_WINDOW);
+    }
+    
+    /**
+     * Record an occurrence of a fingerprint.
+     * 
+     * @param fingerprint the event fingerprint
+     * @param nowMillis the current time in milliseconds
+     * @return {@link #SUPPRESS} if the event is a duplicate, otherwise the number of
+     *         duplicates suppressed since the fingerprint was last delivered
+     */
+    public int check(String fingerprint, long nowMillis) {
+        return check(fingerprint, null, nowMillis);
+    }
+    
+    /**
+     * Record an occurrence of a fingerprint, remembering a human-readable label for it.
+     * 
+     * @param fingerprint the event fingerprint
+     * @param label describes the failure in {@link #getTopFingerprints(int)}, kept from the first occurrence
+     * @param nowMillis the current time in milliseconds
+     * @return {@link #SUPPRESS} if the event is a duplicate, otherwise the number of
+     *         duplicates suppressed since the fingerprint was last delivered
+     */
+    public int check(String fingerprint, String label, long nowMillis) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                sweepExpired(nowMillis);
+                if (entries.size() >= maxEntries) {
+                    // Fail open: an untracked event is delivered rather than lost
+                    return 0;
+                }
+            }
+            entry = entries.putIfAbsent(fingerprint, new Entry(label, nowMillis));
+            if (entry == null) {
+                return 0;
+            }
+        }
+        entry.occurrences.increment();
+        
+        long windowStart = entry.windowStart.get();
+        if (nowMillis - windowStart >= windowMillis && entry.windowStart.compareAndSet(windowStart, nowMillis)) {
+            return entry.suppressed.getAndSet(0);
+        }
+        
+        entry.suppressed.incrementAndGet();
+        suppressedEvents.increment();
+        return SUPPRESS;
+    }
+    
+    private void sweepExpired(long nowMillis) {
+        // One caller per interval scans; the others fail open until the next sweep makes room
+        long nextSweep = nextSweepMillis.get();
+        if (nowMillis >= nextSweep && nextSweepMillis.compareAndSet(nextSweep, nowMillis + sweepIntervalMillis)) {
+            evictExpired(nowMillis);
+        }
+    }
+    
+    private void evictExpired(long nowMillis) {
+        // Keep a pending suppression count for one extra window so a recurrence can still report it
+        entries.values().removeIf(entry -> {
+            long age = nowMillis - entry.windowStart.get();
+            return age >= 2 * windowMillis || age >= windowMillis && entry.suppressed.get() == 0;
+        });
+    }
+    
+    /**
+     * Get the total number of duplicate events suppressed by this cache.
+     * 
+     * @return the suppressed event count
+     */
+    public long getSuppressedEvents() {
+        return suppressedEvents.sum();
+    }
+    
+    /**
+     * Get the tracked fingerprints that occurred most often. Reads the live counters without locking,
+     * so the result is a consistent-enough view rather than an atomic snapshot.
+     * 
+     * @param limit the maximum number of fingerprints returned
+     * @return the fingerprints ordered by occurrences, most frequent first
+     */
+    public List<FingerprintStats> getTopFingerprints(int limit) {
+        List<FingerprintStats> stats = new ArrayList<>(entries.size());
+        entries.forEach((fingerprint, entry) -> stats.add(new FingerprintStats(
+                fingerprint, entry.label, entry.occurrences.sum(), entry.suppressed.get())));
+        stats.sort(Comparator.comparingLong(FingerprintStats::getOccurrences).reversed());
+        return stats.size() > limit ? new ArrayList<>(stats.subList(0, limit)) : stats;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+    
+    /**
+     * Occurrence counts of one tracked fingerprint.
+     */
+    public static final class FingerprintStats {
+        private final String fingerprint;
+        private final String label;
+        private final long occurrences;
+        private final int pendingSuppressed;
+        
+        private FingerprintStats(String fingerprint, String label, long occurrences, int pendingSuppressed) {
+            this.fingerprint = fingerprint;
+            this.label = label;
+            this.occurrences = occurrences;
+            this.pendingSuppressed = pendingSuppressed;
+        }
+        
+        public String getFingerprint() {
+            return fingerprint;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+        
+        /**
+         * Get how often the fingerprint occurred while it was tracked.
+         * 
+         * @return the occurrence count
+         */
+        public long getOccurrences() {
+            return occurrences;
+        }
+        
+        /**
+         * Get the duplicates suppressed since the fingerprint was last delivered.
+         * 
+         * @return the pending suppressed count
+         */
+        public int getPendingSuppressed() {
+            return pendingSuppressed;
+        }
+    }
+    
+    private static final class Entry {
+        private final String label;
+        private final AtomicLong windowStart;
+        private final AtomicInteger suppressed = new AtomicInteger();
+        private final LongAdder occurrences = new LongAdder();
+        
+        private Entry(String label, long windowStart) {
+            this.label = label;
+            this.windowStart = new AtomicLong(windowStart);
+            this.occurrences.increment();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Domain service isolating deliveries per destination.
+ * Every {@link NotificationConfig} gets its own bounded lane that starts at most
+ * {@link DeliveryPolicy#getMaxInFlight()} deliveries at a time. Waiting deliveries leave the
+ * lane by severity first and arrival order second, and a full lane drops its least severe entry,
+ * so a slow webhook only delays its own alerts and a flood of warnings cannot push out errors.
+ */
+public class DeliveryLanes {
+
+    private final ConcurrentHashMap<NotificationConfig, Lane> lanes = new ConcurrentHashMap<>();
+    private final LongAdder droppedDeliveries = new LongAdder();
+    private final NotificationMetrics metrics;
+
+    public DeliveryLanes() {
+        this(NotificationMetrics.NONE);
+    }
+
+    public DeliveryLanes(NotificationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queue a delivery on the destination's lane.
+     *
+     * @param config the destination configuration
+     * @param serviceName the name reported if the delivery is dropped
+     * @param severity the severity of the message, higher values are dispatched first
+     * @param delivery starts the delivery and returns its result
+     * @return a future completing with the delivery result, or with a failure if the delivery was dropped
+     */
+    public CompletableFuture<NotificationResult> submit(NotificationConfig config, String serviceName,
+                                                        int severity, Supplier<CompletableFuture<NotificationResult>> delivery) {
+        Lane lane = lanes.get(config);
+        if (lane == null) {
+            lane = lanes.computeIfAbsent(config, key -> newLane(key, serviceName));
+        }
+        return lane.submit(serviceName, severity, delivery);
+    }
+
+    /**
+     * Get the number of deliveries waiting for a free slot on any lane.
+     *
+     * @return the waiting deliveries
+     */
+    public int getQueuedDeliveries() {
+        int queued = 0;
+        for (Lane lane : lanes.values()) {
+            queued += lane.getQueued();
+        }
+        return queued;
+    }
+
+    /**
+     * Get the number of deliveries currently in flight on any lane.
+     *
+     * @return the in-flight deliveries
+     */
+    public int getInFlightDeliveries() {
+        int inFlight = 0;
+        for (Lane lane : lanes.values()) {
+            inFlight += lane.getInFlight();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Get the number of waiting deliveries for one destination.
+     *
+     * @param config the destination configuration
+     * @return the waiting deliveries, 0 if the destination has not been used yet
+     */
+    public int getQueuedDeliveries(NotificationConfig config) {
+        Lane lane = lanes.get(config);
+        return lane != null ? lane.getQueued() : 0;
+    }
+
+    /**
+     * Get the number of in-flight deliveries for one destination.
+     *
+     * @param config the destination configuration
+     * @return the in-flight deliveries, 0 if the destination has not been used yet
+     */
+    public int getInFlightDeliveries(NotificationConfig config) {
+        Lane lane = lanes.get(config);
+        return lane != null ? lane.getInFlight() : 0;
+    }
+
+    public long getDroppedDeliveries() {
+        return droppedDeliveries.sum();
+    }
+
+    /**
+     * Take a snapshot of every lane, including the latency of its recent deliveries
+     * measured from submission to completion.
+     *
+     * @return one entry per destination that has received a delivery
+     */
+    public List<LaneStats> getLaneStats() {
+        List<LaneStats> stats = new ArrayList<>(lanes.size());
+        for (Lane lane : lanes.values()) {
+            stats.add(new LaneStats(lane.serviceName, lane.destination, lane.getQueued(), lane.getInFlight(),
+                    lane.dropped.sum(), lane.latency.snapshot()));
+        }
+        return stats;
+    }
+
+    private Lane newLane(NotificationConfig config, String serviceName) {
+        Lane lane = new Lane(config.getDeliveryPolicy(), serviceName, config.getWebhookUrl());
+        metrics.registerDestination(serviceName, config.getWebhookUrl(), lane::getQueued, lane::getInFlight);
+        return lane;
+    }
+
+    /**
+     * Point-in-time state of one destination's lane.
+     */
+    public static final class LaneStats {
+        private final String serviceName;
+        private final String destination;
+        private final int queued;
+        private final int inFlight;
+        private final long dropped;
+        private final LatencyWindow.Snapshot latency;
+
+        private LaneStats(String serviceName, String destination, int queued, int inFlight, long dropped,
+                          LatencyWindow.Snapshot latency) {
+            this.serviceName = serviceName;
+            this.destination = destination;
+            this.queued = queued;
+            this.inFlight = inFlight;
+            this.dropped = dropped;
+            this.latency = latency;
+        }
+
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        /**
+         * Get the webhook URL of the destination. It contains the webhook secret and must be masked before display.
+         *
+         * @return the webhook URL
+         */
+        public String getDestination() {
+            return destination;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public LatencyWindow.Snapshot getLatency() {
+            return latency;
+        }
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+        private final String serviceName;
+        private final int severity;
+        private final long sequence;
+        private final long submittedNanos = System.nanoTime();
+        private final Supplier<CompletableFuture<NotificationResult>> delivery;
+        private final CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+
+        private Pending(String serviceName, int severity, long sequence,
+                        Supplier<CompletableFuture<NotificationResult>> delivery) {
+            this.serviceName = serviceName;
+            this.severity = severity;
+            this.sequence = sequence;
+            this.delivery = delivery;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            if (severity != other.severity) {
+                return Integer.compare(other.severity, severity);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final class Lane {
+        private final int capacity;
+        private final int maxInFlight;
+        private final String serviceName;
+        private final String destination;
+        private final LongAdder dropped = new LongAdder();
+        private final LatencyWindow latency = new LatencyWindow();
+        private final PriorityQueue<Pending> queue = new PriorityQueue<>();
+        private long sequence;
+        private int inFlight;
+        private boolean draining;
+
+        private Lane(DeliveryPolicy policy, String serviceName, String destination) {
+            this.capacity = Math.max(1, policy.getQueueCapacity());
+            this.maxInFlight = Math.max(1, policy.getMaxInFlight());
+            this.serviceName = serviceName;
+            this.destination = destination;
+        }
+
+        CompletableFuture<NotificationResult> submit(String serviceName, int severity,
+                                                     Supplier<CompletableFuture<NotificationResult>> delivery) {
+            Pending victim = null;
+            Pending pending;
+            synchronized (this) {
+                pending = new Pending(serviceName, severity, sequence++, delivery);
+                queue.add(pending);
+                if (queue.size() > capacity) {
+                    victim = removeLeastSevere();
+                }
+            }
+            if (victim != null) {
+                droppedDeliveries.increment();
+                dropped.increment();
+                metrics.deliveryDropped(victim.serviceName, destination);
+                victim.result.complete(NotificationResult.failure(victim.serviceName, "Destination queue full"));
+            }
+            drain();
+            return pending.result;
+        }
+
+        /**
+         * Start waiting deliveries while slots are free. Only one thread drains a lane at a time;
+         * deliveries completing on the draining thread just release their slot and let the loop continue,
+         * so synchronously completed deliveries never recurse.
+         */
+        private void drain() {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            while (true) {
+                Pending next;
+                synchronized (this) {
+                    next = inFlight < maxInFlight ? queue.poll() : null;
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                    inFlight++;
+                }
+                start(next);
+            }
+        }
+
+        private void start(Pending pending) {
+            CompletableFuture<NotificationResult> delivery;
+            try {
+                delivery = pending.delivery.get();
+            } catch (RuntimeException e) {
+                delivery = CompletableFuture.completedFuture(
+                        NotificationResult.failure(pending.serviceName, e.getMessage()));
+            }
+            delivery.whenComplete((result, throwable) -> {
+                synchronized (this) {
+                    inFlight--;
+                }
+                latency.record(System.nanoTime() - pending.submittedNanos);
+                if (throwable != null) {
+                    pending.result.completeExceptionally(throwable);
+                } else {
+                    pending.result.complete(result);
+                }
+                drain();
+            });
+        }
+
+        private Pending removeLeastSevere() {
+            Pending least = null;
+            for (Pending candidate : queue) {
+                if (least == null || candidate.compareTo(least) > 0) {
+                    least = candidate;
+                }
+            }
+            queue.remove(least);
+            return least;
+        }
+
+        synchronized int getQueued() {
+            return queue.size();
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+    }
+}
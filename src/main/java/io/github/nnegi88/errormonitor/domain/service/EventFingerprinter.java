@@ -0,0 +1,121 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+
+import java.util.regex.Pattern;
+
+/**
+ * Computes a stable fingerprint identifying "the same failure" across log events.
+ * The fingerprint covers the logger name, the exception class and the top stack frames,
+ * normalized so that line numbers, lambda indices and generated proxy class names do not
+ * make otherwise identical failures look different. Events without an exception are
+ * identified by their message template, not the formatted message.
+ */
+public class EventFingerprinter {
+    
+    public static final int DEFAULT_FRAME_COUNT = 5;
+    
+    private static final Pattern LAMBDA_CLASS = Pattern.compile("\\$\\$Lambda\\$?[^.]*$");
+    private static final Pattern CGLIB_CLASS = Pattern.compile("\\$\\$(EnhancerBySpringCGLIB|FastClassBySpringCGLIB|SpringCGLIB)\\$\\$.*$");
+    private static final Pattern JDK_PROXY_CLASS = Pattern.compile("\\$Proxy\\d+$");
+    private static final Pattern ACCESSOR_CLASS = Pattern.compile("(Generated(Serialization|Constructor|Method)Accessor)\\d+$");
+    private static final Pattern LAMBDA_METHOD = Pattern.compile("^(lambda\\$.*)\\$\\d+$");
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final int frameCount;
+    
+    public EventFingerprinter() {
+        this(DEFAULT_FRAME_COUNT);
+    }
+    
+    public EventFingerprinter(int frameCount) {
+        this.frameCount = frameCount;
+    }
+    
+    /**
+     * Get the fingerprint of a log event, preferring one computed by the logging integration.
+     * 
+     * @param logEvent the log event
+     * @return the fingerprint as a hex string
+     */
+    public String fingerprint(LogEvent logEvent) {
+        if (logEvent.getFingerprint() != null) {
+            return logEvent.getFingerprint();
+        }
+        Throwable throwable = logEvent.getThrowable();
+        if (throwable != null) {
+            return fingerprint(logEvent.getLoggerName(), throwable.getClass().getName(), throwable.getStackTrace());
+        }
+        return fingerprintMessage(logEvent.getLoggerName(), logEvent.getLevel(), logEvent.getMessage());
+    }
+    
+    /**
+     * Fingerprint a failure from its exception class and stack frames.
+     * Only the first {@link #getFrameCount()} frames are used.
+     * 
+     * @param loggerName the logger that reported the failure
+     * @param exceptionClassName the exception class name
+     * @param frames the stack frames, outermost call last
+     * @return the fingerprint as a hex string
+     */
+    public String fingerprint(String loggerName, String exceptionClassName, StackTraceElement[] frames) {
+        long hash = hash(FNV_OFFSET, loggerName);
+        hash = hash(hash, normalizeClassName(exceptionClassName));
+        int count = frames != null ? Math.min(frames.length, frameCount) : 0;
+        for (int i = 0; i < count; i++) {
+            hash = hash(hash, normalizeClassName(frames[i].getClassName()));
+            hash = hash(hash, normalizeMethodName(frames[i].getMethodName()));
+        }
+        return Long.toHexString(hash);
+    }
+    
+    /**
+     * Fingerprint an event without an exception from its message template.
+     * 
+     * @param loggerName the logger that reported the event
+     * @param level the log level
+     * @param messageTemplate the unformatted message pattern
+     * @return the fingerprint as a hex string
+     */
+    public String fingerprintMessage(String loggerName, String level, String messageTemplate) {
+        long hash = hash(FNV_OFFSET, loggerName);
+        hash = hash(hash, level);
+        hash = hash(hash, messageTemplate);
+        return Long.toHexString(hash);
+    }
+    
+    public int getFrameCount() {
+        return frameCount;
+    }
+    
+    static String normalizeClassName(String className) {
+        if (className == null || className.indexOf('$') < 0 && className.indexOf("Accessor") < 0) {
+            return className;
+        }
+        String normalized = CGLIB_CLASS.matcher(className).replaceFirst("");
+        normalized = LAMBDA_CLASS.matcher(normalized).replaceFirst("\\$\\$Lambda");
+        normalized = JDK_PROXY_CLASS.matcher(normalized).replaceFirst("\\$Proxy");
+        return ACCESSOR_CLASS.matcher(normalized).replaceFirst("$1");
+    }
+    
+    static String normalizeMethodName(String methodName) {
+        if (methodName == null || !methodName.startsWith("lambda$")) {
+            return methodName;
+        }
+        return LAMBDA_METHOD.matcher(methodName).replaceFirst("$1");
+    }
+    
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= FNV_PRIME;
+            }
+        }
+        // Separator so that ("ab", "c") and ("a", "bc") differ
+        hash ^= 0x1f;
+        return hash * FNV_PRIME;
+    }
+}
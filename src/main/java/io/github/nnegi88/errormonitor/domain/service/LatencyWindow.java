@@ -0,0 +1,93 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free window over the most recent latency samples.
+ * Recording claims a slot with one atomic increment and overwrites the oldest sample,
+ * so writers never block and never allocate. Percentiles are computed from a copy when
+ * they are read, which keeps the cost on the reader.
+ */
+public class LatencyWindow {
+
+    public static final int DEFAULT_SIZE = 256;
+
+    private final AtomicLongArray samples;
+    private final int mask;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public LatencyWindow() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a window keeping the given number of samples.
+     *
+     * @param size the number of samples kept, rounded up to a power of two
+     */
+    public LatencyWindow(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.samples = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Record a latency sample.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        samples.set((int) (recorded.getAndIncrement() & mask), nanos);
+    }
+
+    /**
+     * Take a snapshot of the samples currently in the window.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        int count = (int) Math.min(recorded.get(), samples.length());
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Snapshot(sorted);
+    }
+
+    /**
+     * Immutable, sorted copy of the samples of a window.
+     */
+    public static final class Snapshot {
+
+        private final long[] sorted;
+
+        private Snapshot(long[] sorted) {
+            this.sorted = sorted;
+        }
+
+        public int getCount() {
+            return sorted.length;
+        }
+
+        /**
+         * Get a percentile of the sampled latencies.
+         *
+         * @param percentile the percentile between 0 and 1, e.g. 0.99
+         * @return the latency in nanoseconds, or 0 if there are no samples
+         */
+        public long percentile(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        public long getMax() {
+            return sorted.length > 0 ? sorted[sorted.length - 1] : 0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain service that collects messages per destination for a time window or up to a
+ * maximum count, then sends them as one digest notification.
+ * A batch holding a single message is sent as a regular notification.
+ */
+public class NotificationBatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBatcher.class);
+    
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<NotificationConfig, ConcurrentHashMap<NotificationService, Batch>> batches =
+            new ConcurrentHashMap<>();
+    
+    public NotificationBatcher(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+    
+    /**
+     * Add a message to the current batch of its destination.
+     * 
+     * @param service the service delivering to the destination
+     * @param config the destination configuration, identifying the batch
+     * @param destination the destination built from the configuration
+     * @param message the message to batch
+     * @return a CompletableFuture completed with the result of the digest the message ends up in
+     */
+    public CompletableFuture<NotificationResult> submit(NotificationService service, NotificationConfig config,
+                                                        Destination destination, NotificationMessage message) {
+        
+        Batch batch = batches
+                .computeIfAbsent(config, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(service, key -> new Batch(service, destination));
+        return batch.add(message);
+    }
+    
+    /**
+     * Flush every pending batch and stop the scheduler.
+     */
+    public void shutdown() {
+        batches.values().forEach(byService -> byService.values().forEach(Batch::flush));
+        scheduler.shutdown();
+    }
+    
+    private class Batch {
+        private final NotificationService service;
+        private final Destination destination;
+        private List<NotificationMessage> messages = new ArrayList<>();
+        private CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+        private long generation;
+        
+        private Batch(NotificationService service, Destination destination) {
+            this.service = service;
+            this.destination = destination;
+        }
+        
+        private CompletableFuture<NotificationResult> add(NotificationMessage message) {
+            CompletableFuture<NotificationResult> pending;
+            Flushed full = null;
+            synchronized (this) {
+                pending = result;
+                messages.add(message);
+                
+                if (messages.size() >= destination.getDeliveryPolicy().getBatchMaxEvents()) {
+                    full = swap();
+                } else if (messages.size() == 1) {
+                    long scheduledGeneration = generation;
+                    scheduler.schedule(() -> flushGeneration(scheduledGeneration),
+                            destination.getDeliveryPolicy().getBatchWindowMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+            send(full);
+            return pending;
+        }
+        
+        private void flushGeneration(long scheduledGeneration) {
+            Flushed flushed;
+            synchronized (this) {
+                // A batch that already filled up must not cut the window of the next one short
+                flushed = scheduledGeneration == generation ? swap() : null;
+            }
+            send(flushed);
+        }
+        
+        private void flush() {
+            Flushed flushed;
+            synchronized (this) {
+                flushed = swap();
+            }
+            send(flushed);
+        }
+        
+        /**
+         * Hand the pending messages over to a flush and start the next batch. Only the swap holds
+         * the lock; sending happens after it is released so producers never wait on delivery.
+         */
+        private Flushed swap() {
+            if (messages.isEmpty()) {
+                return null;
+            }
+            Flushed flushed = new Flushed(messages, result);
+            messages = new ArrayList<>();
+            result = new CompletableFuture<>();
+            generation++;
+            return flushed;
+        }
+        
+        private void send(Flushed flushed) {
+            if (flushed == null) {
+                return;
+            }
+            
+            CompletableFuture<NotificationResult> delivery;
+            try {
+                delivery = flushed.messages.size() == 1
+                        ? service.sendNotification(flushed.messages.get(0), destination)
+                        : service.sendDigest(NotificationDigest.of(flushed.messages), destination);
+            } catch (Exception e) {
+                delivery = CompletableFuture.failedFuture(e);
+            }
+            
+            logger.debug("Flushed batch of {} messages via {}", flushed.messages.size(), service.getServiceName());
+            delivery.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    flushed.result.completeExceptionally(throwable);
+                } else {
+                    flushed.result.complete(value);
+                }
+            });
+        }
+    }
+    
+    private static final class Flushed {
+        private final List<NotificationMessage> messages;
+        private final CompletableFuture<NotificationResult> result;
+        
+        private Flushed(List<NotificationMessage> messages, CompletableFuture<NotificationResult> result) {
+            this.messages = messages;
+            this.result = result;
+        }
+    }
+}
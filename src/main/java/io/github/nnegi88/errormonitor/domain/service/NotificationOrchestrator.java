@@ -1,18 +1,22 @@
 package io.github.nnegi88.errormonitor.domain.service;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
 import io.github.nnegi88.errormonitor.domain.model.LogEvent;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
 import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.port.NotificationSpool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * Domain service that orchestrates the notification process.
@@ -22,10 +26,102 @@ public class NotificationOrchestrator {
     
     private static final Logger logger = LoggerFactory.getLogger(NotificationOrchestrator.class);
     
+    /**
+     * Metadata key carrying how often the delivered event was suppressed as a duplicate since the last alert.
+     */
+    public static final String SUPPRESSED_METADATA_KEY = "suppressed";
+    
+    private static final int MAX_ROUTING_TABLES = 8;
+    
     private final List<NotificationService> notificationServices;
+    private final NotificationBatcher batcher;
+    private final DeduplicationCache deduplicationCache;
+    private final NotificationRateLimiter rateLimiter;
+    private final NotificationSpool spool;
+    private final NotificationMetrics metrics;
+    private final DeliveryLanes deliveryLanes;
+    private final EventFingerprinter fingerprinter = new EventFingerprinter();
+    private final StackTraceRenderer stackTraceRenderer = new StackTraceRenderer();
+    /**
+     * Tables compiled so far, one per configuration list, newest last. Copy-on-write: appenders pass
+     * the same list for every event, so lookups are a short identity scan and compiles are rare.
+     */
+    private volatile RoutingTable[] routingTables = new RoutingTable[0];
     
     public NotificationOrchestrator(List<NotificationService> notificationServices) {
+        this(notificationServices, null, null, null);
+    }
+    
+    public NotificationOrchestrator(List<NotificationService> notificationServices, NotificationBatcher batcher) {
+        this(notificationServices, batcher, null, null);
+    }
+    
+    /**
+     * Create an orchestrator that drops repeated failures, throttles destinations according to
+     * their delivery policy and batches messages for destinations that enable it.
+     * 
+     * @param notificationServices the available notification services
+     * @param batcher the batcher collecting digests, or null to always send immediately
+     * @param deduplicationCache the cache suppressing duplicate events, or null to send every event
+     * @param rateLimiter the limiter admitting alerts per destination, or null to disable rate limiting
+     */
+    public NotificationOrchestrator(List<NotificationService> notificationServices, 
+                                    NotificationBatcher batcher,
+                                    DeduplicationCache deduplicationCache,
+                                    NotificationRateLimiter rateLimiter) {
+        this(notificationServices, batcher, deduplicationCache, rateLimiter, null);
+    }
+    
+    /**
+     * Create an orchestrator that additionally stores messages it could not deliver in a spool.
+     * 
+     * @param notificationServices the available notification services
+     * @param batcher the batcher collecting digests, or null to always send immediately
+     * @param deduplicationCache the cache suppressing duplicate events, or null to send every event
+     * @param rateLimiter the limiter admitting alerts per destination, or null to disable rate limiting
+     * @param spool the spool receiving messages that failed with a transient error, or null to drop them
+     */
+    public NotificationOrchestrator(List<NotificationService> notificationServices, 
+                                    NotificationBatcher batcher,
+                                    DeduplicationCache deduplicationCache,
+                                    NotificationRateLimiter rateLimiter,
+                                    NotificationSpool spool) {
+        this(notificationServices, batcher, deduplicationCache, rateLimiter, spool, NotificationMetrics.NONE);
+    }
+    
+    /**
+     * Create an orchestrator that additionally reports what happens to each event.
+     * 
+     * @param notificationServices the available notification services
+     * @param batcher the batcher collecting digests, or null to always send immediately
+     * @param deduplicationCache the cache suppressing duplicate events, or null to send every event
+     * @param rateLimiter the limiter admitting alerts per destination, or null to disable rate limiting
+     * @param spool the spool receiving messages that failed with a transient error, or null to drop them
+     * @param metrics the metrics recording deduplication, throttling and delivery outcomes
+     */
+    public NotificationOrchestrator(List<NotificationService> notificationServices, 
+                                    NotificationBatcher batcher,
+                                    DeduplicationCache deduplicationCache,
+                                    NotificationRateLimiter rateLimiter,
+                                    NotificationSpool spool,
+                                    NotificationMetrics metrics) {
         this.notificationServices = notificationServices;
+        this.batcher = batcher;
+        this.deduplicationCache = deduplicationCache;
+        this.rateLimiter = rateLimiter;
+        this.spool = spool;
+        this.metrics = metrics;
+        this.deliveryLanes = new DeliveryLanes(metrics);
+    }
+    
+    /**
+     * Compile the routing table for a list of configurations ahead of the first event.
+     * Later calls to {@link #processEvent} with the same list, or an equal one, reuse it.
+     * 
+     * @param configurations the list of notification configurations
+     */
+    public void compileRoutes(List<NotificationConfig> configurations) {
+        cache(RoutingTable.compile(notificationServices, configurations));
     }
     
     /**
@@ -36,78 +132,194 @@ public class NotificationOrchestrator {
      * @return a CompletableFuture that completes when all notifications are sent
      */
     public CompletableFuture<List<NotificationResult>> processEvent(LogEvent logEvent, List<NotificationConfig> configurations) {
-        if (!shouldProcess(logEvent, configurations)) {
+        if (logEvent == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        
+        int level = RoutingTable.levelIndex(logEvent.getLevel());
+        RoutingTable.Route[] routes = routingTable(configurations).routes(level);
+        if (routes.length == 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        
+        int suppressedDuplicates = 0;
+        if (deduplicationCache != null) {
+            suppressedDuplicates = deduplicationCache.check(
+                    fingerprinter.fingerprint(logEvent), logEvent.getMessage(), System.currentTimeMillis());
+            if (suppressedDuplicates == DeduplicationCache.SUPPRESS) {
+                metrics.eventDeduplicated();
+                return CompletableFuture.completedFuture(List.of());
+            }
+        }
+        
+        // Admission happens before conversion so that throttled events cost almost nothing;
+        // routes of one configuration are adjacent and share its admission
+        boolean[] admitted = new boolean[routes.length];
+        int admittedCount = 0;
+        NotificationConfig previous = null;
+        boolean previousAdmitted = false;
+        for (int i = 0; i < routes.length; i++) {
+            if (routes[i].config != previous) {
+                previous = routes[i].config;
+                previousAdmitted = admit(routes[i]);
+            }
+            if (previousAdmitted) {
+                admitted[i] = true;
+                admittedCount++;
+            }
+        }
+        if (admittedCount == 0) {
             return CompletableFuture.completedFuture(List.of());
         }
         
         // Convert log event to notification message
-        NotificationMessage message = convertToNotificationMessage(logEvent);
+        NotificationMessage message = convertToNotificationMessage(logEvent, suppressedDuplicates);
         
-        // Send notifications to all applicable services
-        List<CompletableFuture<NotificationResult>> futures = configurations.stream()
-                .filter(config -> shouldSendNotification(logEvent, config))
-                .flatMap(config -> notificationServices.stream()
-                        .filter(service -> service.supports(config))
-                        .map(service -> sendNotification(service, message, config)))
-                .collect(Collectors.toList());
+        // Send notifications to all admitted routes
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[admittedCount];
+        int next = 0;
+        for (int i = 0; i < routes.length; i++) {
+            if (admitted[i]) {
+                futures[next++] = sendNotification(routes[i], message, level);
+            }
+        }
         
         // Combine all futures
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> futures.stream()
-                        .map(CompletableFuture::join)
-                        .collect(Collectors.toList()));
+        return CompletableFuture.allOf(futures)
+                .thenApply(v -> {
+                    List<NotificationResult> results = new ArrayList<>(futures.length);
+                    for (CompletableFuture<?> future : futures) {
+                        results.add((NotificationResult) future.join());
+                    }
+                    return results;
+                });
+    }
+    
+    /**
+     * Send one "N alerts throttled" message to each destination that throttled alerts.
+     * Summaries bypass the rate limiter.
+     * 
+     * @param throttledCounts the number of throttled alerts per destination
+     */
+    public void publishThrottledSummaries(Map<NotificationConfig, Long> throttledCounts) {
+        RoutingTable[] tables = routingTables;
+        throttledCounts.forEach((config, count) -> {
+            NotificationMessage summary = NotificationMessage.builder()
+                    .title("Rate limit")
+                    .content(String.format("%d alerts throttled in the last minute", count))
+                    .level("WARN")
+                    .build();
+            // A configuration shared by several lists is summarized once, through the first table routing it
+            for (RoutingTable table : tables) {
+                if (sendToRoutes(table, config, summary)) {
+                    break;
+                }
+            }
+        });
     }
     
-    private boolean shouldProcess(LogEvent logEvent, List<NotificationConfig> configurations) {
-        return logEvent != null && 
-               configurations != null && 
-               !configurations.isEmpty() &&
-               configurations.stream().anyMatch(NotificationConfig::isEnabled);
+    private boolean sendToRoutes(RoutingTable table, NotificationConfig config, NotificationMessage summary) {
+        boolean sent = false;
+        // Every route receives ERROR, so that row holds all of them
+        for (RoutingTable.Route route : table.routes(RoutingTable.ERROR)) {
+            if (route.config == config) {
+                sendNotification(route, summary, RoutingTable.WARN);
+                sent = true;
+            }
+        }
+        return sent;
     }
     
-    private boolean shouldSendNotification(LogEvent logEvent, NotificationConfig config) {
-        if (!config.isEnabled()) {
-            return false;
+    private RoutingTable routingTable(List<NotificationConfig> configurations) {
+        RoutingTable[] tables = routingTables;
+        for (int i = tables.length - 1; i >= 0; i--) {
+            if (tables[i].getConfigurations() == configurations) {
+                return tables[i];
+            }
         }
-        
-        // Check minimum log level
-        String configLevel = config.getMinimumLevel();
-        if (configLevel != null) {
-            LogLevel eventLevel = LogLevel.fromString(logEvent.getLevel());
-            LogLevel minimumLevel = LogLevel.fromString(configLevel);
-            
-            if (eventLevel.ordinal() < minimumLevel.ordinal()) {
-                return false;
+        // A fresh list holding the same configurations routes the same way
+        for (int i = tables.length - 1; i >= 0; i--) {
+            if (Objects.equals(tables[i].getConfigurations(), configurations)) {
+                return tables[i];
             }
         }
-        
-        return true;
+        return cache(RoutingTable.compile(notificationServices, configurations));
+    }
+    
+    private synchronized RoutingTable cache(RoutingTable table) {
+        RoutingTable[] tables = routingTables;
+        List<RoutingTable> kept = new ArrayList<>(tables.length + 1);
+        for (RoutingTable cached : tables) {
+            if (cached.getConfigurations() != table.getConfigurations()) {
+                kept.add(cached);
+            }
+        }
+        kept.add(table);
+        // Bounded so callers building a new list per event cannot grow it without limit
+        while (kept.size() > MAX_ROUTING_TABLES) {
+            kept.remove(0);
+        }
+        routingTables = kept.toArray(new RoutingTable[0]);
+        return table;
+    }
+    
+    private boolean admit(RoutingTable.Route route) {
+        NotificationConfig config = route.config;
+        if (rateLimiter == null || rateLimiter.tryAcquire(config)) {
+            return true;
+        }
+        metrics.eventThrottled(route.service.getServiceName(), config.getWebhookUrl());
+        return false;
     }
     
     private CompletableFuture<NotificationResult> sendNotification(
-            NotificationService service, NotificationMessage message, NotificationConfig config) {
+            RoutingTable.Route route, NotificationMessage message, int level) {
+        NotificationService service = route.service;
+        NotificationConfig config = route.config;
+        Destination destination = route.destination;
         
-        // Add configuration-specific metadata
-        NotificationMessage enrichedMessage = enrichMessage(message, config);
+        // Batches are released by their window, so only immediate sends occupy a slot of the destination's lane
+        CompletableFuture<NotificationResult> delivery = batcher != null && destination.getDeliveryPolicy().isBatchingEnabled()
+                ? batcher.submit(service, config, destination, message)
+                : deliveryLanes.submit(config, service.getServiceName(), level,
+                        () -> service.sendNotification(message, destination));
         
-        return service.sendNotification(enrichedMessage)
+        return delivery
                 .exceptionally(throwable -> {
                     logger.error("Failed to send notification via {}: {}", 
                             service.getServiceName(), throwable.getMessage(), throwable);
                     return NotificationResult.failure(service.getServiceName(), throwable.getMessage());
+                })
+                .thenApply(result -> {
+                    metrics.deliveryCompleted(service.getServiceName(), destination.getWebhookUrl(), result.isSuccessful());
+                    // Transient failures outlived retries or hit an open circuit: keep the message for replay
+                    if (spool != null && !result.isSuccessful() && result.isRetryable()) {
+                        spool.offer(service.getServiceName(), message, destination);
+                    }
+                    return result;
                 });
     }
     
-    private NotificationMessage convertToNotificationMessage(LogEvent logEvent) {
+    @SuppressWarnings("unchecked")
+    private NotificationMessage convertToNotificationMessage(LogEvent logEvent, int suppressedDuplicates) {
+        // The MDC snapshot is immutable, so the message can share it instead of copying it
+        Map<String, Object> metadata = (Map<String, Object>) (Map<String, ?>) logEvent.getMdcProperties();
+        if (suppressedDuplicates > 0) {
+            metadata = new HashMap<>(metadata);
+            metadata.put(SUPPRESSED_METADATA_KEY, suppressedDuplicates + " times");
+        }
+        
         NotificationMessage.Builder builder = NotificationMessage.builder()
                 .content(logEvent.getFormattedMessage() != null ? logEvent.getFormattedMessage() : logEvent.getMessage())
                 .level(logEvent.getLevel())
-                .metadata(new java.util.HashMap<>(logEvent.getMdcProperties()));
+                .timestamp(logEvent.getTimestamp())
+                .metadata(metadata);
         
-        // Add stack trace if present
-        if (logEvent.hasThrowable()) {
-            String stackTrace = getStackTrace(logEvent.getThrowable());
-            builder.stackTrace(stackTrace);
+        // Add stack trace if present, preferring the one rendered by the logging integration
+        if (logEvent.getStackTrace() != null) {
+            builder.stackTrace(logEvent.getStackTrace());
+        } else if (logEvent.hasThrowable()) {
+            builder.stackTrace(stackTraceRenderer.render(logEvent.getThrowable()));
         }
         
         // Generate a title from the logger name
@@ -119,40 +331,6 @@ public class NotificationOrchestrator {
         return builder.build();
     }
     
-    private NotificationMessage enrichMessage(NotificationMessage message, NotificationConfig config) {
-        // Merge metadata and add webhook URL
-        java.util.Map<String, Object> enrichedMetadata = mergeMetadata(message.getMetadata(), config.getAdditionalProperties());
-        enrichedMetadata.put("webhookUrl", config.getWebhookUrl());
-        
-        return NotificationMessage.builder()
-                .title(message.getTitle())
-                .content(message.getContent())
-                .level(message.getLevel())
-                .applicationName(config.getApplicationName())
-                .environment(config.getEnvironment())
-                .stackTrace(message.getStackTrace())
-                .metadata(enrichedMetadata)
-                .build();
-    }
-    
-    private java.util.Map<String, Object> mergeMetadata(
-            java.util.Map<String, Object> messageMetadata,
-            java.util.Map<String, Object> configMetadata) {
-        
-        java.util.Map<String, Object> merged = new java.util.HashMap<>(messageMetadata);
-        if (configMetadata != null) {
-            merged.putAll(configMetadata);
-        }
-        return merged;
-    }
-    
-    private String getStackTrace(Throwable throwable) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        throwable.printStackTrace(pw);
-        return sw.toString();
-    }
-    
     private String extractClassNameFromLogger(String loggerName) {
         if (loggerName == null) {
             return null;
@@ -163,21 +341,38 @@ public class NotificationOrchestrator {
     }
     
     /**
-     * Enum representing log levels in order of severity.
+     * Get the per-destination rate limiter, if rate limiting is enabled.
+     * 
+     * @return the rate limiter, or null
      */
-    private enum LogLevel {
-        TRACE, DEBUG, INFO, WARN, ERROR;
-        
-        public static LogLevel fromString(String level) {
-            if (level == null) {
-                return ERROR;
-            }
-            
-            try {
-                return LogLevel.valueOf(level.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                return ERROR;
-            }
-        }
+    public NotificationRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+    
+    /**
+     * Get the spool receiving undelivered messages, if spooling is enabled.
+     * 
+     * @return the spool, or null
+     */
+    public NotificationSpool getSpool() {
+        return spool;
+    }
+    
+    /**
+     * Get the per-destination delivery lanes.
+     * 
+     * @return the delivery lanes
+     */
+    public DeliveryLanes getDeliveryLanes() {
+        return deliveryLanes;
+    }
+    
+    /**
+     * Get the duplicate-suppression cache, if deduplication is enabled.
+     * 
+     * @return the deduplication cache, or null
+     */
+    public DeduplicationCache getDeduplicationCache() {
+        return deduplicationCache;
     }
 }
\ No newline at end of file
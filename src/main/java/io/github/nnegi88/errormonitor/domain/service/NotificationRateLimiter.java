@@ -0,0 +1,137 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Domain service admitting alerts per destination according to its {@link DeliveryPolicy}.
+ * Each rate limited destination gets its own {@link TokenBucket}, so the admission check
+ * is a single compare-and-set and runs before the event is converted or formatted.
+ * Throttled events are counted and reported periodically so that nothing is lost silently.
+ */
+public class NotificationRateLimiter {
+    
+    public static final long SUMMARY_PERIOD_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<NotificationConfig, Limit> limits = new ConcurrentHashMap<>();
+    private final LongAdder throttledEvents = new LongAdder();
+    
+    public NotificationRateLimiter() {
+        this(null);
+    }
+    
+    /**
+     * Create a rate limiter that can publish throttle summaries.
+     * 
+     * @param scheduler the scheduler running the summaries, or null if summaries are not needed
+     */
+    public NotificationRateLimiter(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+    
+    /**
+     * Take a permit for the destination.
+     * 
+     * @param config the destination configuration
+     * @return true if the alert may be sent, false if it was throttled
+     */
+    public boolean tryAcquire(NotificationConfig config) {
+        DeliveryPolicy policy = config.getDeliveryPolicy();
+        if (!policy.isRateLimited()) {
+            return true;
+        }
+        
+        long now = System.nanoTime();
+        Limit limit = limits.get(config);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(config, key -> new Limit(policy.getMaxMessagesPerMinute(), now));
+        }
+        if (limit.bucket.tryAcquire(now)) {
+            return true;
+        }
+        
+        limit.throttled.increment();
+        limit.throttledSinceSummary.incrementAndGet();
+        throttledEvents.increment();
+        return false;
+    }
+    
+    /**
+     * Collect and reset the number of alerts throttled per destination since the previous call.
+     * 
+     * @return the destinations that throttled alerts, with their counts
+     */
+    public Map<NotificationConfig, Long> drainThrottledCounts() {
+        Map<NotificationConfig, Long> counts = new LinkedHashMap<>();
+        limits.forEach((config, limit) -> {
+            long count = limit.throttledSinceSummary.getAndSet(0);
+            if (count > 0) {
+                counts.put(config, count);
+            }
+        });
+        return counts;
+    }
+    
+    /**
+     * Deliver the throttle counts to a listener once every {@link #SUMMARY_PERIOD_MILLIS}.
+     * 
+     * @param listener receives the counts of destinations that throttled alerts during the period
+     */
+    public void scheduleSummaries(Consumer<Map<NotificationConfig, Long>> listener) {
+        if (scheduler == null) {
+            throw new IllegalStateException("No scheduler configured for throttle summaries");
+        }
+        scheduler.scheduleAtFixedRate(() -> {
+            Map<NotificationConfig, Long> counts = drainThrottledCounts();
+            if (!counts.isEmpty()) {
+                listener.accept(counts);
+            }
+        }, SUMMARY_PERIOD_MILLIS, SUMMARY_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Get the total number of alerts throttled by this limiter.
+     * 
+     * @return the throttled event count
+     */
+    public long getThrottledEvents() {
+        return throttledEvents.sum();
+    }
+    
+    /**
+     * Get the number of alerts throttled for one destination.
+     * 
+     * @param config the destination configuration
+     * @return the throttled event count
+     */
+    public long getThrottledEvents(NotificationConfig config) {
+        Limit limit = limits.get(config);
+        return limit != null ? limit.throttled.sum() : 0;
+    }
+    
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+    
+    private static final class Limit {
+        private final TokenBucket bucket;
+        private final LongAdder throttled = new LongAdder();
+        private final AtomicLong throttledSinceSummary = new AtomicLong();
+        
+        private Limit(int maxMessagesPerMinute, long nowNanos) {
+            this.bucket = new TokenBucket(maxMessagesPerMinute, 1, TimeUnit.MINUTES, nowNanos);
+        }
+    }
+}
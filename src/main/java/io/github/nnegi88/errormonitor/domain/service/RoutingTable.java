@@ -0,0 +1,144 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable routing of log levels to the (configuration, service) pairs that receive them.
+ * Compiled once from a list of configurations: minimum levels become integer thresholds,
+ * {@link NotificationService#supports(NotificationConfig)} is only asked here and every
+ * configuration is turned into its {@link Destination}, so routing an event is a single array
+ * lookup by level.
+ */
+final class RoutingTable {
+
+    static final int TRACE = 0;
+    static final int DEBUG = 1;
+    static final int INFO = 2;
+    static final int WARN = 3;
+    static final int ERROR = 4;
+
+    private static final String[] LEVEL_NAMES = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR"};
+
+    private final List<NotificationConfig> configurations;
+    private final Route[][] routesByLevel;
+
+    private RoutingTable(List<NotificationConfig> configurations, Route[][] routesByLevel) {
+        this.configurations = configurations;
+        this.routesByLevel = routesByLevel;
+    }
+
+    /**
+     * Compile the routes of the enabled configurations.
+     * Routes of the same configuration are adjacent, in the order of the configurations.
+     *
+     * @param services the available notification services
+     * @param configurations the notification configurations, may be null
+     * @return the routing table
+     */
+    static RoutingTable compile(List<NotificationService> services, List<NotificationConfig> configurations) {
+        List<Route> routes = new ArrayList<>();
+        if (configurations != null) {
+            for (NotificationConfig config : configurations) {
+                if (!config.isEnabled()) {
+                    continue;
+                }
+                // Without a minimum level every event is routed
+                int threshold = config.getMinimumLevel() != null ? levelIndex(config.getMinimumLevel()) : TRACE;
+                Destination destination = null;
+                for (NotificationService service : services) {
+                    if (service.supports(config)) {
+                        if (destination == null) {
+                            destination = config.toDestination();
+                        }
+                        routes.add(new Route(config, service, destination, threshold));
+                    }
+                }
+            }
+        }
+
+        Route[][] routesByLevel = new Route[LEVEL_NAMES.length][];
+        for (int level = 0; level < routesByLevel.length; level++) {
+            List<Route> routed = new ArrayList<>();
+            for (Route route : routes) {
+                if (route.threshold <= level) {
+                    routed.add(route);
+                }
+            }
+            routesByLevel[level] = routed.toArray(new Route[0]);
+        }
+        return new RoutingTable(configurations, routesByLevel);
+    }
+
+    /**
+     * Resolve a level name to its index, from {@link #TRACE} to {@link #ERROR}.
+     * Matches the level names Logback produces without case conversion; anything unknown counts as ERROR.
+     *
+     * @param level the level name
+     * @return the level index
+     */
+    static int levelIndex(String level) {
+        if (level == null) {
+            return ERROR;
+        }
+        switch (level) {
+            case "ERROR":
+                return ERROR;
+            case "WARN":
+                return WARN;
+            case "INFO":
+                return INFO;
+            case "DEBUG":
+                return DEBUG;
+            case "TRACE":
+                return TRACE;
+            default:
+                for (int i = 0; i < LEVEL_NAMES.length; i++) {
+                    if (LEVEL_NAMES[i].equalsIgnoreCase(level)) {
+                        return i;
+                    }
+                }
+                return ERROR;
+        }
+    }
+
+    /**
+     * Get the routes receiving events of a level. The returned array is shared and must not be modified.
+     *
+     * @param level the level index
+     * @return the routes, empty if nothing receives the level
+     */
+    Route[] routes(int level) {
+        return routesByLevel[level];
+    }
+
+    /**
+     * Get the configurations this table was compiled from.
+     *
+     * @return the configurations
+     */
+    List<NotificationConfig> getConfigurations() {
+        return configurations;
+    }
+
+    /**
+     * A configuration paired with a service that supports it and the destination built from it.
+     */
+    static final class Route {
+        final NotificationConfig config;
+        final NotificationService service;
+        final Destination destination;
+        final int threshold;
+
+        private Route(NotificationConfig config, NotificationService service, Destination destination, int threshold) {
+            this.config = config;
+            this.service = service;
+            this.destination = destination;
+            this.threshold = threshold;
+        }
+    }
+}
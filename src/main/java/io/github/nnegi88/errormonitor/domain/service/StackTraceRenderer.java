@@ -0,0 +1,47 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+/**
+ * Renders a {@link Throwable} into a bounded stack trace string.
+ * Stops as soon as the frame or character budget is exhausted instead of
+ * printing the whole trace and truncating it afterwards.
+ */
+public class StackTraceRenderer extends BoundedStackTraceRenderer<Throwable, StackTraceElement> {
+
+    public StackTraceRenderer() {
+        this(DEFAULT_MAX_FRAMES, DEFAULT_MAX_CHARS);
+    }
+
+    public StackTraceRenderer(int maxFrames, int maxChars) {
+        super(maxFrames, maxChars);
+    }
+
+    @Override
+    protected void appendHeader(StringBuilder out, Throwable throwable) {
+        out.append(throwable);
+    }
+
+    @Override
+    protected StackTraceElement[] frames(Throwable throwable) {
+        return throwable.getStackTrace();
+    }
+
+    @Override
+    protected void appendFrame(StringBuilder out, StackTraceElement frame) {
+        out.append("at ").append(frame);
+    }
+
+    @Override
+    protected int commonFrames(Throwable throwable, StackTraceElement[] frames, StackTraceElement[] enclosingFrames) {
+        return countCommonFrames(frames, enclosingFrames);
+    }
+
+    @Override
+    protected Throwable cause(Throwable throwable) {
+        return throwable.getCause();
+    }
+
+    @Override
+    protected Throwable[] suppressed(Throwable throwable) {
+        return throwable.getSuppressed();
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.nnegi88.errormonitor.domain.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Instead of a token count and a refill timestamp the bucket keeps a single "theoretical
+ * arrival time" (the generic cell rate algorithm), which is equivalent to a token bucket
+ * but can be updated with one compare-and-set and never allocates.
+ */
+public class TokenBucket {
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+    
+    /**
+     * Create a bucket that refills {@code permits} tokens per {@code period} and holds at most {@code permits} tokens.
+     * 
+     * @param permits the bucket capacity and refill amount per period
+     * @param period the refill period
+     * @param unit the unit of the period
+     * @param nowNanos the current {@link System#nanoTime()} value; the bucket starts full
+     */
+    public TokenBucket(int permits, long period, TimeUnit unit, long nowNanos) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Permits must be positive: " + permits);
+        }
+        this.emissionIntervalNanos = Math.max(1, unit.toNanos(period) / permits);
+        this.burstToleranceNanos = emissionIntervalNanos * permits;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+    
+    /**
+     * Take one token if available.
+     * 
+     * @param nowNanos the current {@link System#nanoTime()} value
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long base = tat - nowNanos > 0 ? tat : nowNanos;
+            long next = base + emissionIntervalNanos;
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+}
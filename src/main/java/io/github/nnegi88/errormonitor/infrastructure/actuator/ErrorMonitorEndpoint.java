@@ -0,0 +1,265 @@
+package io.github.nnegi88.errormonitor.infrastructure.actuator;
+
+import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
+import io.github.nnegi88.errormonitor.domain.service.DeduplicationCache;
+import io.github.nnegi88.errormonitor.domain.service.DeliveryLanes;
+import io.github.nnegi88.errormonitor.domain.service.LatencyWindow;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreaker;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/errormonitor}) reporting the live state of the notification pipeline:
+ * queue depths, in-flight deliveries and circuit state per destination, recent delivery latency
+ * percentiles and the most frequent error fingerprints. Everything is read from counters and
+ * lock-free windows, so polling it never blocks the pipeline.
+ */
+@Endpoint(id = "errormonitor")
+public class ErrorMonitorEndpoint {
+
+    public static final int TOP_FINGERPRINTS = 10;
+
+    private final NotificationOrchestrator orchestrator;
+    private final AsyncProcessor asyncProcessor;
+    private final IoExecutor ioExecutor;
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    /**
+     * Create the endpoint.
+     *
+     * @param orchestrator the orchestrator owning the delivery lanes and the deduplication cache
+     * @param asyncProcessor the processor running the pipeline
+     * @param ioExecutor the executor running webhook I/O, or null if none is used
+     * @param circuitBreakers the circuit breakers guarding the webhooks, or null if disabled
+     */
+    public ErrorMonitorEndpoint(NotificationOrchestrator orchestrator, AsyncProcessor asyncProcessor,
+                                IoExecutor ioExecutor, CircuitBreakerRegistry circuitBreakers) {
+        this.orchestrator = orchestrator;
+        this.asyncProcessor = asyncProcessor;
+        this.ioExecutor = ioExecutor;
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    @ReadOperation
+    public ErrorMonitorDescriptor errorMonitor() {
+        DeliveryLanes lanes = orchestrator.getDeliveryLanes();
+        List<DestinationDescriptor> destinations = new ArrayList<>();
+        for (DeliveryLanes.LaneStats lane : lanes.getLaneStats()) {
+            CircuitBreaker circuitBreaker = circuitBreakers != null ? circuitBreakers.find(lane.getDestination()) : null;
+            destinations.add(new DestinationDescriptor(lane,
+                    circuitBreaker != null ? circuitBreaker.getState().name() : null));
+        }
+
+        List<FingerprintDescriptor> topErrors = new ArrayList<>();
+        DeduplicationCache deduplicationCache = orchestrator.getDeduplicationCache();
+        if (deduplicationCache != null) {
+            for (DeduplicationCache.FingerprintStats stats : deduplicationCache.getTopFingerprints(TOP_FINGERPRINTS)) {
+                topErrors.add(new FingerprintDescriptor(stats));
+            }
+        }
+
+        return new ErrorMonitorDescriptor(new PipelineDescriptor(asyncProcessor, ioExecutor), destinations, topErrors);
+    }
+
+    private static String maskWebhookUrl(String webhookUrl) {
+        try {
+            return URI.create(webhookUrl).getHost() + "/***";
+        } catch (Exception e) {
+            return "***";
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Response of the endpoint.
+     */
+    public static final class ErrorMonitorDescriptor {
+        private final PipelineDescriptor pipeline;
+        private final List<DestinationDescriptor> destinations;
+        private final List<FingerprintDescriptor> topErrors;
+
+        private ErrorMonitorDescriptor(PipelineDescriptor pipeline, List<DestinationDescriptor> destinations,
+                                       List<FingerprintDescriptor> topErrors) {
+            this.pipeline = pipeline;
+            this.destinations = destinations;
+            this.topErrors = topErrors;
+        }
+
+        public PipelineDescriptor getPipeline() {
+            return pipeline;
+        }
+
+        public List<DestinationDescriptor> getDestinations() {
+            return destinations;
+        }
+
+        public List<FingerprintDescriptor> getTopErrors() {
+            return topErrors;
+        }
+    }
+
+    /**
+     * State of the shared pipeline queue and the I/O executor.
+     */
+    public static final class PipelineDescriptor {
+        private final int queueDepth;
+        private final long droppedEvents;
+        private final long spilledEvents;
+        private final int ioActive;
+        private final int ioQueueDepth;
+        private final long ioRejected;
+
+        private PipelineDescriptor(AsyncProcessor asyncProcessor, IoExecutor ioExecutor) {
+            this.queueDepth = asyncProcessor != null ? asyncProcessor.getQueueSize() : 0;
+            this.droppedEvents = asyncProcessor != null ? asyncProcessor.getDroppedTasks() : 0;
+            this.spilledEvents = asyncProcessor != null ? asyncProcessor.getSpilledTasks() : 0;
+            this.ioActive = ioExecutor != null ? ioExecutor.getActiveCount() : 0;
+            this.ioQueueDepth = ioExecutor != null ? ioExecutor.getQueueSize() : 0;
+            this.ioRejected = ioExecutor != null ? ioExecutor.getRejectedTasks() : 0;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public long getDroppedEvents() {
+            return droppedEvents;
+        }
+
+        public long getSpilledEvents() {
+            return spilledEvents;
+        }
+
+        public int getIoActive() {
+            return ioActive;
+        }
+
+        public int getIoQueueDepth() {
+            return ioQueueDepth;
+        }
+
+        public long getIoRejected() {
+            return ioRejected;
+        }
+    }
+
+    /**
+     * State of one destination's delivery lane.
+     */
+    public static final class DestinationDescriptor {
+        private final String service;
+        private final String destination;
+        private final int queued;
+        private final int inFlight;
+        private final long dropped;
+        private final String circuitState;
+        private final int latencySamples;
+        private final double latencyP50Millis;
+        private final double latencyP90Millis;
+        private final double latencyP99Millis;
+        private final double latencyMaxMillis;
+
+        private DestinationDescriptor(DeliveryLanes.LaneStats lane, String circuitState) {
+            LatencyWindow.Snapshot latency = lane.getLatency();
+            this.service = lane.getServiceName();
+            this.destination = maskWebhookUrl(lane.getDestination());
+            this.queued = lane.getQueued();
+            this.inFlight = lane.getInFlight();
+            this.dropped = lane.getDropped();
+            this.circuitState = circuitState;
+            this.latencySamples = latency.getCount();
+            this.latencyP50Millis = millis(latency.percentile(0.5));
+            this.latencyP90Millis = millis(latency.percentile(0.9));
+            this.latencyP99Millis = millis(latency.percentile(0.99));
+            this.latencyMaxMillis = millis(latency.getMax());
+        }
+
+        public String getService() {
+            return service;
+        }
+
+        public String getDestination() {
+            return destination;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public String getCircuitState() {
+            return circuitState;
+        }
+
+        public int getLatencySamples() {
+            return latencySamples;
+        }
+
+        public double getLatencyP50Millis() {
+            return latencyP50Millis;
+        }
+
+        public double getLatencyP90Millis() {
+            return latencyP90Millis;
+        }
+
+        public double getLatencyP99Millis() {
+            return latencyP99Millis;
+        }
+
+        public double getLatencyMaxMillis() {
+            return latencyMaxMillis;
+        }
+    }
+
+    /**
+     * A recurring error and how often it occurred.
+     */
+    public static final class FingerprintDescriptor {
+        private final String fingerprint;
+        private final String message;
+        private final long occurrences;
+        private final int pendingSuppressed;
+
+        private FingerprintDescriptor(DeduplicationCache.FingerprintStats stats) {
+            this.fingerprint = stats.getFingerprint();
+            this.message = stats.getLabel();
+            this.occurrences = stats.getOccurrences();
+            this.pendingSuppressed = stats.getPendingSuppressed();
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getOccurrences() {
+            return occurrences;
+        }
+
+        public int getPendingSuppressed() {
+            return pendingSuppressed;
+        }
+    }
+}
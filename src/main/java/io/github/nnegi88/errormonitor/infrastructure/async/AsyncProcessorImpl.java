@@ -1,22 +1,47 @@
 package io.github.nnegi88.errormonitor.infrastructure.async;
 
+import io.github.nnegi88.errormonitor.domain.model.OverflowPolicy;
 import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
 /**
  * Implementation of AsyncProcessor using a ThreadPoolExecutor with bounded queue.
  * Provides async processing with configurable queue size and thread pool settings.
+ * When the queue is full the configured {@link OverflowPolicy} decides which task is lost;
+ * the future of every dropped task completes exceptionally and the drop is counted.
  */
 public class AsyncProcessorImpl implements AsyncProcessor {
     
     private static final Logger logger = LoggerFactory.getLogger(AsyncProcessorImpl.class);
     
-    private final ExecutorService executorService;
+    // Tasks submitted without a severity are never preferred as overflow victims
+    private static final int UNKNOWN_SEVERITY = Integer.MAX_VALUE;
+    
+    // One shared exception per reason, so overload does not pay for a stack trace per dropped task
+    private static final RejectedExecutionException SHUTDOWN =
+            new DroppedTaskException("AsyncProcessor is shutdown");
+    private static final RejectedExecutionException DROPPED_NEWEST =
+            new DroppedTaskException("Task queue is full, dropping newest task");
+    private static final RejectedExecutionException DROPPED_OLDEST =
+            new DroppedTaskException("Task queue is full, dropping oldest task");
+    private static final RejectedExecutionException DROPPED_LOWEST_SEVERITY =
+            new DroppedTaskException("Task queue is full, dropping lowest severity task");
+    private static final RejectedExecutionException NOT_SPILLED =
+            new DroppedTaskException("Task queue is full and the task could not be spilled, dropping it");
+    
+    private final ThreadPoolExecutor executorService;
     private final BlockingQueue<Runnable> taskQueue;
     private final int maxQueueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final RejectedExecutionException blockTimedOut;
+    private final LongAdder droppedTasks = new LongAdder();
+    private final LongAdder spilledTasks = new LongAdder();
     private volatile boolean shutdown = false;
     
     public AsyncProcessorImpl() {
@@ -24,8 +49,26 @@ public class AsyncProcessorImpl implements AsyncProcessor {
     }
     
     public AsyncProcessorImpl(int queueSize, int corePoolSize, int maximumPoolSize) {
+        this(queueSize, corePoolSize, maximumPoolSize, OverflowPolicy.DROP_OLDEST, 0);
+    }
+    
+    /**
+     * Create a processor with an explicit overflow policy.
+     * 
+     * @param queueSize the maximum number of queued tasks
+     * @param corePoolSize the number of threads kept alive
+     * @param maximumPoolSize the maximum number of threads
+     * @param overflowPolicy what to do with a task when the queue is full
+     * @param blockTimeoutMillis how long {@link OverflowPolicy#BLOCK} waits for room before dropping
+     */
+    public AsyncProcessorImpl(int queueSize, int corePoolSize, int maximumPoolSize, 
+                              OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
         this.maxQueueSize = queueSize;
         this.taskQueue = new LinkedBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.blockTimedOut = new DroppedTaskException(
+                "Task queue still full after " + blockTimeoutMillis + " ms, dropping newest task");
         
         this.executorService = new ThreadPoolExecutor(
                 corePoolSize,
@@ -33,51 +76,118 @@ public class AsyncProcessorImpl implements AsyncProcessor {
                 60L, TimeUnit.SECONDS,
                 taskQueue,
                 this::createThread,
-                new ThreadPoolExecutor.DiscardOldestPolicy() {
-                    @Override
-                    public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
-                        if (!e.isShutdown()) {
-                            logger.warn("Task queue is full, discarding oldest task");
-                            super.rejectedExecution(r, e);
-                        }
-                    }
-                }
+                this::onOverflow
         );
         
-        logger.debug("AsyncProcessor initialized with queue size: {}, core threads: {}, max threads: {}", 
-                    queueSize, corePoolSize, maximumPoolSize);
+        logger.debug("AsyncProcessor initialized with queue size: {}, core threads: {}, max threads: {}, overflow: {}", 
+                    queueSize, corePoolSize, maximumPoolSize, overflowPolicy);
     }
     
     @Override
     public CompletableFuture<Void> processAsync(Runnable task) {
-        if (shutdown) {
-            return CompletableFuture.failedFuture(new IllegalStateException("AsyncProcessor is shutdown"));
-        }
-        
-        return CompletableFuture.runAsync(task, executorService)
-                .exceptionally(throwable -> {
-                    logger.error("Async task execution failed", throwable);
-                    return null;
-                });
+        return processAsync(task, UNKNOWN_SEVERITY, null);
+    }
+    
+    @Override
+    public CompletableFuture<Void> processAsync(Runnable task, int severity, BooleanSupplier spill) {
+        return submit(new QueuedTask<>(() -> {
+            task.run();
+            return null;
+        }, severity, spill));
     }
     
     @Override
     public <T> CompletableFuture<T> processAsync(Callable<T> task) {
+        return submit(new QueuedTask<>(task, UNKNOWN_SEVERITY, null));
+    }
+    
+    private <T> CompletableFuture<T> submit(QueuedTask<T> task) {
         if (shutdown) {
             return CompletableFuture.failedFuture(new IllegalStateException("AsyncProcessor is shutdown"));
         }
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return task.call();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        // Overflow is resolved inside execute() by onOverflow, it never throws for a full queue
+        executorService.execute(task);
+        return task.future;
+    }
+    
+    private void onOverflow(Runnable runnable, ThreadPoolExecutor executor) {
+        QueuedTask<?> task = (QueuedTask<?>) runnable;
+        if (executor.isShutdown()) {
+            drop(task, SHUTDOWN);
+            return;
+        }
+        
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                dropOldest(task);
+                break;
+            case DROP_LOWEST_SEVERITY:
+                dropLowestSeverity(task);
+                break;
+            case BLOCK:
+                blockUntilDeadline(task);
+                break;
+            case SPILL_TO_DISK:
+                spill(task);
+                break;
+            default:
+                drop(task, DROPPED_NEWEST);
+        }
+    }
+    
+    private void dropOldest(QueuedTask<?> task) {
+        Runnable oldest = taskQueue.poll();
+        if (oldest != null) {
+            drop((QueuedTask<?>) oldest, DROPPED_OLDEST);
+        }
+        if (!taskQueue.offer(task)) {
+            drop(task, DROPPED_NEWEST);
+        }
+    }
+    
+    private void dropLowestSeverity(QueuedTask<?> task) {
+        QueuedTask<?> victim = task;
+        for (Runnable queued : taskQueue) {
+            QueuedTask<?> candidate = (QueuedTask<?>) queued;
+            if (candidate.severity < victim.severity) {
+                victim = candidate;
+            }
+        }
+        if (victim != task && taskQueue.remove(victim)) {
+            drop(victim, DROPPED_LOWEST_SEVERITY);
+            if (taskQueue.offer(task)) {
+                return;
             }
-        }, executorService)
-        .exceptionally(throwable -> {
-            logger.error("Async callable execution failed", throwable);
-            throw new CompletionException(throwable);
-        });
+        }
+        drop(task, DROPPED_LOWEST_SEVERITY);
+    }
+    
+    private void blockUntilDeadline(QueuedTask<?> task) {
+        try {
+            if (taskQueue.offer(task, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drop(task, blockTimedOut);
+    }
+    
+    private void spill(QueuedTask<?> task) {
+        if (task.spill != null && task.spill.getAsBoolean()) {
+            spilledTasks.increment();
+            // The spool owns the task now, it is processed when replayed
+            task.future.complete(null);
+            return;
+        }
+        drop(task, NOT_SPILLED);
+    }
+    
+    private void drop(QueuedTask<?> task, RejectedExecutionException reason) {
+        droppedTasks.increment();
+        logger.debug(reason.getMessage());
+        task.future.completeExceptionally(reason);
     }
     
     @Override
@@ -90,6 +200,24 @@ public class AsyncProcessorImpl implements AsyncProcessor {
         return taskQueue.size();
     }
     
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+    
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    @Override
+    public long getDroppedTasks() {
+        return droppedTasks.sum();
+    }
+    
+    @Override
+    public long getSpilledTasks() {
+        return spilledTasks.sum();
+    }
+    
     @Override
     public void shutdown() {
         if (shutdown) {
@@ -103,14 +231,14 @@ public class AsyncProcessorImpl implements AsyncProcessor {
         try {
             if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
                 logger.warn("AsyncProcessor did not terminate within 10 seconds, forcing shutdown");
-                shutdownNow();
+                forceShutdown();
             } else {
                 logger.info("AsyncProcessor shutdown completed");
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.warn("Interrupted while waiting for AsyncProcessor shutdown", e);
-            shutdownNow();
+            forceShutdown();
         }
     }
     
@@ -122,8 +250,13 @@ public class AsyncProcessorImpl implements AsyncProcessor {
         
         shutdown = true;
         logger.info("Forcing AsyncProcessor shutdown...");
-        
-        executorService.shutdownNow();
+        forceShutdown();
+    }
+    
+    private void forceShutdown() {
+        for (Runnable pending : executorService.shutdownNow()) {
+            drop((QueuedTask<?>) pending, SHUTDOWN);
+        }
         try {
             executorService.awaitTermination(5, TimeUnit.SECONDS);
             logger.info("AsyncProcessor forced shutdown completed");
@@ -134,10 +267,51 @@ public class AsyncProcessorImpl implements AsyncProcessor {
     }
     
     private Thread createThread(Runnable r) {
-        Thread thread = new Thread(r, "notification-async-" + System.nanoTime());
-        thread.setDaemon(true);
+        Thread thread = new NotificationWorkerThread(r, "notification-async-" + System.nanoTime());
         thread.setUncaughtExceptionHandler((t, e) -> 
                 logger.error("Uncaught exception in async thread: {}", t.getName(), e));
         return thread;
     }
-}
\ No newline at end of file
+    
+    /**
+     * A queued task with the future handed to the submitter, completed even when the task is dropped.
+     */
+    private static final class QueuedTask<T> implements Runnable {
+        
+        private final Callable<T> task;
+        private final int severity;
+        private final BooleanSupplier spill;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        
+        QueuedTask(Callable<T> task, int severity, BooleanSupplier spill) {
+            this.task = task;
+            this.severity = severity;
+            this.spill = spill;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                logger.error("Async task execution failed", e);
+                future.completeExceptionally(new CompletionException(e));
+            }
+        }
+    }
+    
+    /**
+     * A rejection shared by every task dropped for the same reason, without a stack trace.
+     */
+    private static final class DroppedTaskException extends RejectedExecutionException {
+        
+        private DroppedTaskException(String reason) {
+            super(reason);
+        }
+        
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
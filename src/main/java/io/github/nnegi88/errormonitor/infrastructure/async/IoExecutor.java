@@ -0,0 +1,190 @@
+package io.github.nnegi88.errormonitor.infrastructure.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded executor owned by the starter for webhook I/O.
+ * Keeps blocking or callback-heavy transport work off {@code ForkJoinPool.commonPool()}, so a slow
+ * webhook can never starve the application's parallel streams. Threads are named
+ * {@code notification-io-N} and count as notification workers for the appender's reentrancy guard.
+ */
+public class IoExecutor implements Executor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IoExecutor.class);
+    
+    /**
+     * What happens to a task when all threads are busy and the queue is full.
+     */
+    public enum SaturationPolicy {
+        /** Fail the task immediately; the delivery reports a failure. */
+        REJECT,
+        /** Run the task on the submitting thread, slowing the pipeline down instead of dropping. */
+        CALLER_RUNS
+    }
+    
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor overflowExecutor;
+    private final SaturationPolicy saturationPolicy;
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder callerRunsTasks = new LongAdder();
+    private final LongAdder overflowTasks = new LongAdder();
+    
+    public IoExecutor(int threads, int queueCapacity, SaturationPolicy saturationPolicy) {
+        this.saturationPolicy = saturationPolicy;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                this::createThread,
+                IoExecutor::saturated);
+        this.executor.allowCoreThreadTimeOut(true);
+        // Unbounded, but only ever holds HTTP client callbacks, at most one per in-flight webhook call
+        this.overflowExecutor = new ThreadPoolExecutor(
+                1, 1,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> createThread(r, "notification-io-overflow"),
+                IoExecutor::saturated);
+        this.overflowExecutor.allowCoreThreadTimeOut(true);
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Each task is counted once, as either run by the caller or rejected
+            if (!executor.isShutdown() && saturationPolicy == SaturationPolicy.CALLER_RUNS) {
+                callerRunsTasks.increment();
+                task.run();
+                return;
+            }
+            rejectedTasks.increment();
+            throw e;
+        }
+    }
+    
+    /**
+     * Get a view of this executor that never rejects, for callers such as the JDK HttpClient that
+     * cannot handle rejected callbacks. Overflow runs on a single overflow thread rather than on the
+     * submitting thread, which may be the HttpClient's selector; it is counted as neither rejected
+     * nor caller-runs.
+     * 
+     * @return a non-rejecting executor backed by this pool
+     */
+    public Executor nonRejecting() {
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                overflow(task);
+            }
+        };
+    }
+    
+    private void overflow(Runnable task) {
+        overflowTasks.increment();
+        try {
+            overflowExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Only after shutdown; completing the callback beats leaving its future pending
+            task.run();
+        }
+    }
+    
+    private static void saturated(Runnable task, ThreadPoolExecutor pool) {
+        throw new RejectedExecutionException(pool.isShutdown() 
+                ? "I/O executor is shut down" : "I/O executor saturated, webhook call rejected");
+    }
+    
+    private Thread createThread(Runnable r) {
+        return createThread(r, "notification-io-" + threadCounter.incrementAndGet());
+    }
+    
+    private Thread createThread(Runnable r, String name) {
+        Thread thread = new NotificationWorkerThread(r, name);
+        thread.setUncaughtExceptionHandler((t, e) -> 
+                logger.error("Uncaught exception in I/O thread: {}", t.getName(), e));
+        return thread;
+    }
+    
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+    
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+    
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+    
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+    
+    public long getCompletedTasks() {
+        return executor.getCompletedTaskCount();
+    }
+    
+    /**
+     * Get the number of tasks rejected because the executor was saturated or shut down.
+     * 
+     * @return the rejected task count
+     */
+    public long getRejectedTasks() {
+        return rejectedTasks.sum();
+    }
+    
+    /**
+     * Get the number of tasks that ran on the submitting thread because the executor was saturated.
+     * 
+     * @return the caller-runs task count
+     */
+    public long getCallerRunsTasks() {
+        return callerRunsTasks.sum();
+    }
+    
+    /**
+     * Get the number of HTTP client callbacks that ran on the overflow thread because the executor was saturated.
+     * 
+     * @return the overflow task count
+     */
+    public long getOverflowTasks() {
+        return overflowTasks.sum();
+    }
+    
+    public SaturationPolicy getSaturationPolicy() {
+        return saturationPolicy;
+    }
+    
+    /**
+     * Stop accepting tasks and wait briefly for in-flight webhook calls.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("I/O executor did not terminate within 5 seconds, forcing shutdown");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        } finally {
+            overflowExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.nnegi88.errormonitor.infrastructure.async;
+
+/**
+ * Thread type used for all notification pipeline work.
+ * Lets the appender recognize, with a single type check, events logged by the pipeline itself.
+ * Threads that cannot be subclassed (virtual threads) are marked for the duration of a task instead.
+ */
+public class NotificationWorkerThread extends Thread {
+    
+    private static final ThreadLocal<Boolean> MARKED_WORKER = new ThreadLocal<>();
+    
+    public NotificationWorkerThread(Runnable task, String name) {
+        super(task, name);
+        setDaemon(true);
+    }
+    
+    /**
+     * Check if the current thread belongs to the notification pipeline.
+     * 
+     * @return true if called from a notification worker thread
+     */
+    public static boolean isCurrentThreadWorker() {
+        return Thread.currentThread() instanceof NotificationWorkerThread || MARKED_WORKER.get() != null;
+    }
+    
+    /**
+     * Wrap a task so the thread running it is treated as a notification worker.
+     * 
+     * @param task the task to wrap
+     * @return a task that marks the current thread while it runs
+     */
+    public static Runnable markedAsWorker(Runnable task) {
+        return () -> {
+            MARKED_WORKER.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                MARKED_WORKER.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.nnegi88.errormonitor.infrastructure.async;
+
+import io.github.nnegi88.errormonitor.domain.model.OverflowPolicy;
+import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AsyncProcessor that runs every task on its own virtual thread (Java 21+).
+ * Blocking webhook I/O then parks a cheap virtual thread instead of pinning a platform thread,
+ * while a semaphore per destination bounds how many deliveries hit one webhook concurrently.
+ * The starter is compiled for Java 11, so the virtual-thread executor is looked up reflectively.
+ * <p>
+ * Tasks submitted without a destination, such as the appender's pipeline tasks, take no
+ * destination permit: they are bounded only by the pending-task cap, so the pipeline is never
+ * throttled to the concurrency allowed for a single webhook.
+ * <p>
+ * Every admitted task is already running, so there is no queue to evict from: drop-oldest and
+ * drop-lowest-severity behave like drop-newest here, while block and spill-to-disk are honored.
+ */
+public class VirtualThreadAsyncProcessor implements AsyncProcessor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadAsyncProcessor.class);
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+    
+    private final ExecutorService executorService;
+    private final int maxConcurrencyPerDestination;
+    private final int maxPendingTasks;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final Map<String, Semaphore> destinationPermits = new ConcurrentHashMap<>();
+    private final Semaphore pendingPermits;
+    private final LongAdder droppedTasks = new LongAdder();
+    private final LongAdder spilledTasks = new LongAdder();
+    private volatile boolean shutdown = false;
+    
+    public VirtualThreadAsyncProcessor(int maxConcurrencyPerDestination, int maxPendingTasks) {
+        this(maxConcurrencyPerDestination, maxPendingTasks, OverflowPolicy.DROP_NEWEST, 0);
+    }
+    
+    public VirtualThreadAsyncProcessor(int maxConcurrencyPerDestination, int maxPendingTasks,
+                                       OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later");
+        }
+        this.maxConcurrencyPerDestination = maxConcurrencyPerDestination;
+        this.maxPendingTasks = maxPendingTasks;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.pendingPermits = new Semaphore(maxPendingTasks);
+        this.executorService = createVirtualThreadExecutor();
+        
+        logger.debug("VirtualThreadAsyncProcessor initialized with per-destination concurrency: {}, max pending: {}", 
+                    maxConcurrencyPerDestination, maxPendingTasks);
+    }
+    
+    /**
+     * Check if the running JVM provides virtual threads.
+     * 
+     * @return true if virtual threads are available
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null && Runtime.version().feature() >= 21;
+    }
+    
+    @Override
+    public CompletableFuture<Void> processAsync(Runnable task) {
+        return processAsync(null, () -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    @Override
+    public CompletableFuture<Void> processAsync(Runnable task, int severity, BooleanSupplier spill) {
+        return submit(null, () -> {
+            task.run();
+            return null;
+        }, spill);
+    }
+    
+    @Override
+    public <T> CompletableFuture<T> processAsync(Callable<T> task) {
+        return processAsync(null, task);
+    }
+    
+    @Override
+    public <T> CompletableFuture<T> processAsync(String destination, Callable<T> task) {
+        return submit(destination, task, null);
+    }
+    
+    private <T> CompletableFuture<T> submit(String destination, Callable<T> task, BooleanSupplier spill) {
+        if (shutdown) {
+            return CompletableFuture.failedFuture(new IllegalStateException("AsyncProcessor is shutdown"));
+        }
+        if (!admit()) {
+            if (overflowPolicy == OverflowPolicy.SPILL_TO_DISK && spill != null && spill.getAsBoolean()) {
+                spilledTasks.increment();
+                return CompletableFuture.completedFuture(null);
+            }
+            droppedTasks.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending notification tasks"));
+        }
+        
+        Semaphore permits = destination != null
+                ? destinationPermits.computeIfAbsent(destination, key -> new Semaphore(maxConcurrencyPerDestination))
+                : null;
+        
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executorService.execute(NotificationWorkerThread.markedAsWorker(() -> runWithPermit(permits, task, future)));
+        } catch (RejectedExecutionException e) {
+            pendingPermits.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    private <T> void runWithPermit(Semaphore permits, Callable<T> task, CompletableFuture<T> future) {
+        try {
+            if (permits == null) {
+                future.complete(task.call());
+                return;
+            }
+            permits.acquire();
+            try {
+                future.complete(task.call());
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } catch (Exception e) {
+            logger.error("Async virtual thread task failed", e);
+            future.completeExceptionally(new CompletionException(e));
+        } finally {
+            pendingPermits.release();
+        }
+    }
+    
+    private boolean admit() {
+        if (pendingPermits.tryAcquire()) {
+            return true;
+        }
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            return false;
+        }
+        try {
+            return pendingPermits.tryAcquire(blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @Override
+    public boolean canAcceptTasks() {
+        return !shutdown && pendingPermits.availablePermits() > 0;
+    }
+    
+    @Override
+    public int getQueueSize() {
+        return maxPendingTasks - pendingPermits.availablePermits();
+    }
+    
+    @Override
+    public long getDroppedTasks() {
+        return droppedTasks.sum();
+    }
+    
+    @Override
+    public long getSpilledTasks() {
+        return spilledTasks.sum();
+    }
+    
+    @Override
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        
+        shutdown = true;
+        logger.info("Shutting down VirtualThreadAsyncProcessor gracefully...");
+        
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("VirtualThreadAsyncProcessor did not terminate within 10 seconds, forcing shutdown");
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executorService.shutdownNow();
+        }
+    }
+    
+    @Override
+    public void shutdownNow() {
+        shutdown = true;
+        executorService.shutdownNow();
+    }
+    
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+    
+    private static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
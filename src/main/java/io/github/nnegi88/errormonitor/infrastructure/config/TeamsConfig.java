@@ -1,5 +1,6 @@
 package io.github.nnegi88.errormonitor.infrastructure.config;
 
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
 
 import java.util.Map;
@@ -16,9 +17,17 @@ public class TeamsConfig implements NotificationConfig {
     private final String minimumLevel;
     private final boolean enabled;
     private final Map<String, Object> additionalProperties;
+    private final DeliveryPolicy deliveryPolicy;
     
     public TeamsConfig(String webhookUrl, String applicationName, String environment, 
                       String minimumLevel, boolean enabled, Map<String, Object> additionalProperties) {
+        this(webhookUrl, applicationName, environment, minimumLevel, enabled, additionalProperties, 
+                DeliveryPolicy.defaults());
+    }
+    
+    public TeamsConfig(String webhookUrl, String applicationName, String environment, 
+                      String minimumLevel, boolean enabled, Map<String, Object> additionalProperties,
+                      DeliveryPolicy deliveryPolicy) {
         this.webhookUrl = webhookUrl;
         this.applicationName = applicationName;
         this.environment = environment;
@@ -26,6 +35,7 @@ public class TeamsConfig implements NotificationConfig {
         this.enabled = enabled;
         this.additionalProperties = additionalProperties != null ? 
                 Map.copyOf(additionalProperties) : Map.of();
+        this.deliveryPolicy = deliveryPolicy != null ? deliveryPolicy : DeliveryPolicy.defaults();
     }
     
     @Override
@@ -58,6 +68,11 @@ public class TeamsConfig implements NotificationConfig {
         return additionalProperties;
     }
     
+    @Override
+    public DeliveryPolicy getDeliveryPolicy() {
+        return deliveryPolicy;
+    }
+    
     public static Builder builder() {
         return new Builder();
     }
@@ -69,6 +84,7 @@ public class TeamsConfig implements NotificationConfig {
         private String minimumLevel = "ERROR";
         private boolean enabled = true;
         private Map<String, Object> additionalProperties = Map.of();
+        private DeliveryPolicy deliveryPolicy = DeliveryPolicy.defaults();
         
         public Builder webhookUrl(String webhookUrl) {
             this.webhookUrl = webhookUrl;
@@ -100,9 +116,14 @@ public class TeamsConfig implements NotificationConfig {
             return this;
         }
         
+        public Builder deliveryPolicy(DeliveryPolicy deliveryPolicy) {
+            this.deliveryPolicy = deliveryPolicy;
+            return this;
+        }
+        
         public TeamsConfig build() {
             return new TeamsConfig(webhookUrl, applicationName, environment, 
-                                 minimumLevel, enabled, additionalProperties);
+                                 minimumLevel, enabled, additionalProperties, deliveryPolicy);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package io.github.nnegi88.errormonitor.infrastructure.http;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
+import io.github.nnegi88.errormonitor.domain.port.SlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SlackClient on the JDK's asynchronous {@link HttpClient}.
+ * No thread is blocked while a webhook call is in flight, and spring-web is not required.
+ */
+public class JdkHttpSlackClient implements SlackClient {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpSlackClient.class);
+    private static final String SERVICE_NAME = "slack";
+    
+    private final JdkWebhookTransport transport;
+    
+    public JdkHttpSlackClient(HttpClient httpClient, Duration requestTimeout) {
+        this(httpClient, requestTimeout, NotificationMetrics.NONE);
+    }
+    
+    public JdkHttpSlackClient(HttpClient httpClient, Duration requestTimeout, NotificationMetrics metrics) {
+        this.transport = new JdkWebhookTransport(SERVICE_NAME, httpClient, requestTimeout, false, metrics);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendMessage(SlackMessage message, String webhookUrl) {
+        return send(message, webhookUrl, null);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendMessage(SlackMessage message, Destination destination) {
+        return send(message, destination.getWebhookUrl(), destination.getWebhookUri());
+    }
+    
+    private CompletableFuture<NotificationResult> send(SlackMessage message, String webhookUrl, URI webhookUri) {
+        return transport.post(message::toJson, webhookUrl, webhookUri,
+                        response -> NotificationResult.success(SERVICE_NAME, response.statusCode()))
+                .whenComplete((result, throwable) -> {
+                    if (result != null && !result.isSuccessful()) {
+                        logger.error("Failed to send Slack notification: {}", result.getErrorMessage());
+                    }
+                });
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> testConnection(String webhookUrl) {
+        return sendMessage(
+                SlackMessage.builder()
+                        .text("Health check from Spring Boot Logback Alerting Starter")
+                        .build(),
+                webhookUrl
+        )
+        .thenApply(NotificationResult::isSuccessful)
+        .exceptionally(throwable -> false);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.nnegi88.errormonitor.infrastructure.http;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
+import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * TeamsClient on the JDK's asynchronous {@link HttpClient}.
+ * No thread is blocked while a webhook call is in flight, and spring-web is not required.
+ */
+public class JdkHttpTeamsClient implements TeamsClient {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpTeamsClient.class);
+    private static final String SERVICE_NAME = "teams";
+    
+    private final JdkWebhookTransport transport;
+    
+    public JdkHttpTeamsClient(HttpClient httpClient, Duration requestTimeout) {
+        this(httpClient, requestTimeout, NotificationMetrics.NONE);
+    }
+    
+    public JdkHttpTeamsClient(HttpClient httpClient, Duration requestTimeout, NotificationMetrics metrics) {
+        // Teams bodies are tiny but must be read, throttling is reported inside a 2xx response
+        this.transport = new JdkWebhookTransport(SERVICE_NAME, httpClient, requestTimeout, true, metrics);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendMessage(TeamsMessage message, String webhookUrl) {
+        return send(message, webhookUrl, null);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendMessage(TeamsMessage message, Destination destination) {
+        return send(message, destination.getWebhookUrl(), destination.getWebhookUri());
+    }
+    
+    private CompletableFuture<NotificationResult> send(TeamsMessage message, String webhookUrl, URI webhookUri) {
+        return transport.post(message::toJson, webhookUrl, webhookUri, this::mapSuccess)
+                .whenComplete((result, throwable) -> {
+                    if (result != null && !result.isSuccessful()) {
+                        logger.error("Failed to send Teams notification: {}", result.getErrorMessage());
+                    }
+                });
+    }
+    
+    private NotificationResult mapSuccess(HttpResponse<String> response) {
+        if (WebhookResponses.isTeamsThrottled(response.body())) {
+            return WebhookResponses.throttled(SERVICE_NAME, response.body(),
+                    response.headers().firstValue(WebhookResponses.RETRY_AFTER).orElse(null));
+        }
+        return NotificationResult.success(SERVICE_NAME, response.statusCode());
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> testConnection(String webhookUrl) {
+        return sendMessage(
+                TeamsMessage.builder()
+                        .summary("Health check from Spring Boot Logback Alerting Starter")
+                        .title("Health Check")
+                        .text("Testing Teams webhook connectivity")
+                        .themeColor("00FF00")
+                        .sections(List.of())
+                        .build(),
+                webhookUrl
+        )
+        .thenApply(NotificationResult::isSuccessful)
+        .exceptionally(throwable -> false);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.nnegi88.errormonitor.infrastructure.http;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking webhook POST on top of {@link HttpClient#sendAsync}.
+ * The HttpClient keeps persistent connections per host, webhook URIs are parsed once when the
+ * destination is compiled, and bodies of successful responses are discarded unless the caller needs them.
+ */
+final class JdkWebhookTransport {
+    
+    private final String serviceName;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final boolean readSuccessBody;
+    private final NotificationMetrics metrics;
+    
+    JdkWebhookTransport(String serviceName, HttpClient httpClient, Duration requestTimeout, boolean readSuccessBody,
+                        NotificationMetrics metrics) {
+        this.serviceName = serviceName;
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.readSuccessBody = readSuccessBody;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * POST the JSON payload and map the response.
+     * 
+     * @param payload supplies the serialized JSON body
+     * @param webhookUrl the webhook URL
+     * @param webhookUri the URI parsed when the destination was compiled, or null to parse the URL now
+     * @param onSuccess maps a 2xx response to a result, receiving the body if it was read
+     * @return a CompletableFuture completed without blocking any thread on the network
+     */
+    CompletableFuture<NotificationResult> post(Supplier<byte[]> payload, String webhookUrl, URI webhookUri,
+                                               Function<HttpResponse<String>, NotificationResult> onSuccess) {
+        HttpRequest request;
+        try {
+            long serializeStart = System.nanoTime();
+            byte[] body = payload.get();
+            metrics.recordSerialize(serviceName, webhookUrl, System.nanoTime() - serializeStart);
+            request = HttpRequest.newBuilder(webhookUri != null ? webhookUri : URI.create(webhookUrl))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(NotificationResult.failure(serviceName, 
+                    "Failed to prepare " + serviceName + " notification: " + e.getMessage()));
+        }
+        
+        long sendStart = System.nanoTime();
+        return httpClient.sendAsync(request, this::bodyHandler)
+                .handle((response, throwable) -> {
+                    metrics.recordHttp(serviceName, webhookUrl, System.nanoTime() - sendStart);
+                    if (throwable != null) {
+                        return ioFailure(throwable);
+                    }
+                    int statusCode = response.statusCode();
+                    if (statusCode / 100 == 2) {
+                        return onSuccess.apply(response);
+                    }
+                    return WebhookResponses.httpFailure(serviceName, statusCode, response.body(),
+                            response.headers().firstValue(WebhookResponses.RETRY_AFTER).orElse(null));
+                });
+    }
+    
+    private HttpResponse.BodySubscriber<String> bodyHandler(HttpResponse.ResponseInfo responseInfo) {
+        if (responseInfo.statusCode() / 100 == 2 && !readSuccessBody) {
+            return HttpResponse.BodySubscribers.replacing(null);
+        }
+        return HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+    }
+    
+    private NotificationResult ioFailure(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        String reason = cause instanceof HttpTimeoutException ? "timed out" : String.valueOf(cause.getMessage());
+        return WebhookResponses.ioFailure(serviceName, 
+                "Failed to send " + serviceName + " notification: " + reason);
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.nnegi88.errormonitor.infrastructure.http;
 
 import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
 import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
 import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
 import org.slf4j.Logger;
@@ -11,8 +13,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 
 import java.util.List;
 
@@ -26,43 +32,125 @@ public class RestClientTeamsClient implements TeamsClient {
     private static final String SERVICE_NAME = "teams";
     
     private final RestTemplate restTemplate;
+    private final AsyncProcessor transportProcessor;
+    private final Executor ioExecutor;
+    private final NotificationMetrics metrics;
     
     public RestClientTeamsClient(RestTemplate restTemplate) {
+        this(restTemplate, null, ForkJoinPool.commonPool(), NotificationMetrics.NONE);
+    }
+    
+    /**
+     * Create a client whose blocking HTTP calls run on the given I/O executor instead of the common pool.
+     * 
+     * @param restTemplate the RestTemplate used for webhook calls
+     * @param ioExecutor the executor running the calls
+     */
+    public RestClientTeamsClient(RestTemplate restTemplate, Executor ioExecutor) {
+        this(restTemplate, null, ioExecutor, NotificationMetrics.NONE);
+    }
+    
+    /**
+     * Create a client running its calls on the given I/O executor and recording serialization and HTTP latency.
+     * 
+     * @param restTemplate the RestTemplate used for webhook calls
+     * @param ioExecutor the executor running the calls
+     * @param metrics the metrics receiving the timings
+     */
+    public RestClientTeamsClient(RestTemplate restTemplate, Executor ioExecutor, NotificationMetrics metrics) {
+        this(restTemplate, null, ioExecutor, metrics);
+    }
+    
+    /**
+     * Create a client whose blocking HTTP calls run on the given processor instead of the common pool.
+     * 
+     * @param restTemplate the RestTemplate used for webhook calls
+     * @param transportProcessor the processor running the calls, keyed by webhook URL
+     */
+    public RestClientTeamsClient(RestTemplate restTemplate, AsyncProcessor transportProcessor) {
+        this(restTemplate, transportProcessor, ForkJoinPool.commonPool(), NotificationMetrics.NONE);
+    }
+    
+    /**
+     * Create a client running its calls on the given processor and recording serialization and HTTP latency.
+     * 
+     * @param restTemplate the RestTemplate used for webhook calls
+     * @param transportProcessor the processor running the calls, keyed by webhook URL
+     * @param metrics the metrics receiving the timings
+     */
+    public RestClientTeamsClient(RestTemplate restTemplate, AsyncProcessor transportProcessor, NotificationMetrics metrics) {
+        this(restTemplate, transportProcessor, ForkJoinPool.commonPool(), metrics);
+    }
+    
+    private RestClientTeamsClient(RestTemplate restTemplate, AsyncProcessor transportProcessor, Executor ioExecutor,
+                                  NotificationMetrics metrics) {
         this.restTemplate = restTemplate;
+        this.transportProcessor = transportProcessor;
+        this.ioExecutor = ioExecutor;
+        this.metrics = metrics;
     }
     
     @Override
     public CompletableFuture<NotificationResult> sendMessage(TeamsMessage message, String webhookUrl) {
-        return CompletableFuture.supplyAsync(() -> {
+        if (transportProcessor != null) {
+            return transportProcessor.processAsync(webhookUrl, () -> post(message, webhookUrl));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> post(message, webhookUrl), ioExecutor);
+        } catch (RejectedExecutionException e) {
+            String errorMsg = "Teams notification rejected: " + e.getMessage();
+            logger.warn(errorMsg);
+            return CompletableFuture.completedFuture(NotificationResult.failure(SERVICE_NAME, errorMsg));
+        }
+    }
+    
+    private NotificationResult post(TeamsMessage message, String webhookUrl) {
+        try {
+            logger.debug("Sending Teams notification to: {}", maskWebhookUrl(webhookUrl));
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            long serializeStart = System.nanoTime();
+            HttpEntity<byte[]> request = new HttpEntity<>(message.toJson(), headers);
+            long sendStart = System.nanoTime();
+            metrics.recordSerialize(SERVICE_NAME, webhookUrl, sendStart - serializeStart);
+            
+            ResponseEntity<String> response;
             try {
-                logger.debug("Sending Teams notification to: {}", maskWebhookUrl(webhookUrl));
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                
-                HttpEntity<TeamsMessage> request = new HttpEntity<>(message, headers);
-                
-                ResponseEntity<String> response = restTemplate.postForEntity(
+                response = restTemplate.postForEntity(
                         webhookUrl, 
                         request, 
                         String.class
                 );
-                
-                int statusCode = response.getStatusCode().value();
-                logger.debug("Teams notification sent successfully. Status: {}", statusCode);
-                return NotificationResult.success(SERVICE_NAME, statusCode);
-                
-            } catch (HttpClientErrorException | HttpServerErrorException e) {
-                int statusCode = e.getStatusCode().value();
-                String errorMsg = String.format("HTTP %d: %s", statusCode, e.getResponseBodyAsString());
-                logger.error("Failed to send Teams notification: {}", errorMsg);
-                return NotificationResult.failure(SERVICE_NAME, errorMsg, statusCode);
-            } catch (Exception e) {
-                String errorMsg = "Failed to send Teams notification: " + e.getMessage();
-                logger.error(errorMsg, e);
-                return NotificationResult.failure(SERVICE_NAME, errorMsg);
+            } finally {
+                metrics.recordHttp(SERVICE_NAME, webhookUrl, System.nanoTime() - sendStart);
+            }
+            
+            int statusCode = response.getStatusCode().value();
+            if (WebhookResponses.isTeamsThrottled(response.getBody())) {
+                logger.warn("Teams webhook throttled the notification");
+                return WebhookResponses.throttled(SERVICE_NAME, response.getBody(), 
+                        response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
             }
-        });
+            logger.debug("Teams notification sent successfully. Status: {}", statusCode);
+            return NotificationResult.success(SERVICE_NAME, statusCode);
+            
+        } catch (HttpClientErrorException | HttpServerErrorException e) {
+            NotificationResult failure = WebhookResponses.httpFailure(
+                    SERVICE_NAME, e.getStatusCode().value(), e.getResponseBodyAsString(), 
+                    e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null);
+            logger.error("Failed to send Teams notification: {}", failure.getErrorMessage());
+            return failure;
+        } catch (ResourceAccessException e) {
+            String errorMsg = "Failed to send Teams notification: " + e.getMessage();
+            logger.error(errorMsg, e);
+            return WebhookResponses.ioFailure(SERVICE_NAME, errorMsg);
+        } catch (Exception e) {
+            String errorMsg = "Failed to send Teams notification: " + e.getMessage();
+            logger.error(errorMsg, e);
+            return NotificationResult.failure(SERVICE_NAME, errorMsg);
+        }
     }
     
     @Override
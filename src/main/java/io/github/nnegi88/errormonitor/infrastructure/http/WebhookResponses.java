@@ -0,0 +1,75 @@
+package io.github.nnegi88.errormonitor.infrastructure.http;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Maps webhook responses onto {@link NotificationResult}s, marking transient
+ * failures as retryable and carrying the endpoint's Retry-After hint.
+ * Shared by all transports, so it only depends on the JDK.
+ */
+final class WebhookResponses {
+    
+    static final int TOO_MANY_REQUESTS = 429;
+    static final String RETRY_AFTER = "Retry-After";
+    
+    private WebhookResponses() {
+    }
+    
+    static NotificationResult httpFailure(String serviceName, int statusCode, String body, String retryAfter) {
+        String errorMsg = String.format("HTTP %d: %s", statusCode, body);
+        if (isTransient(statusCode)) {
+            return NotificationResult.retryableFailure(serviceName, errorMsg, statusCode, retryAfterMillis(retryAfter));
+        }
+        return NotificationResult.failure(serviceName, errorMsg, statusCode);
+    }
+    
+    static NotificationResult throttled(String serviceName, String body, String retryAfter) {
+        return NotificationResult.retryableFailure(serviceName, "HTTP 429: " + body, 
+                TOO_MANY_REQUESTS, retryAfterMillis(retryAfter));
+    }
+    
+    static NotificationResult ioFailure(String serviceName, String errorMsg) {
+        return NotificationResult.retryableFailure(serviceName, errorMsg, 0, 0);
+    }
+    
+    static boolean isTransient(int statusCode) {
+        return statusCode == TOO_MANY_REQUESTS || statusCode == 408 || statusCode >= 500;
+    }
+    
+    /**
+     * Office 365 connectors report throttling with a 2xx status and the real status in the body.
+     * 
+     * @param body the response body of a successful Teams call
+     * @return true if Teams throttled the message
+     */
+    static boolean isTeamsThrottled(String body) {
+        return body != null && body.contains("HTTP error 429");
+    }
+    
+    /**
+     * Parse a Retry-After header given either in seconds or as an HTTP date.
+     * 
+     * @param value the header value, may be null
+     * @return the delay in milliseconds, 0 if absent or unparseable
+     */
+    static long retryAfterMillis(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+}
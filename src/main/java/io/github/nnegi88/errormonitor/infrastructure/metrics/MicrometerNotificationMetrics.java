@@ -0,0 +1,239 @@
+package io.github.nnegi88.errormonitor.infrastructure.metrics;
+
+import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Micrometer implementation of {@link NotificationMetrics}.
+ * Pipeline counters are registered up front; meters of a destination are registered the first time
+ * it is used and looked up without allocation afterwards. Destinations are tagged with the webhook
+ * host and a short hash of the URL, so webhooks on the same host get their own meters while the
+ * secret part of the URL never reaches the metrics backend.
+ */
+public class MicrometerNotificationMetrics implements NotificationMetrics {
+
+    public static final String PREFIX = "errormonitor.";
+
+    private final MeterRegistry registry;
+    private final Counter seen;
+    private final Counter filtered;
+    private final Counter deduplicated;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, DestinationMeters>> destinations =
+            new ConcurrentHashMap<>();
+
+    public MicrometerNotificationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.seen = Counter.builder(PREFIX + "events.seen")
+                .description("Log events at or above the alerting threshold offered to the notification appender")
+                .register(registry);
+        this.filtered = Counter.builder(PREFIX + "events.filtered")
+                .description("Log events at or above the alerting threshold rejected by an excluded logger or marker")
+                .register(registry);
+        this.deduplicated = Counter.builder(PREFIX + "events.deduplicated")
+                .description("Events suppressed as duplicates of a recent failure")
+                .register(registry);
+    }
+
+    /**
+     * Register queue depth and drop counts of the pipeline's async processor.
+     *
+     * @param asyncProcessor the processor running the pipeline
+     */
+    public void bindAsyncProcessor(AsyncProcessor asyncProcessor) {
+        Gauge.builder(PREFIX + "pipeline.queue.depth", asyncProcessor, AsyncProcessor::getQueueSize)
+                .description("Log events waiting for a pipeline worker")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "events.dropped", asyncProcessor, AsyncProcessor::getDroppedTasks)
+                .description("Log events dropped by the pipeline's overflow policy")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "events.spilled", asyncProcessor, AsyncProcessor::getSpilledTasks)
+                .description("Log events spilled to disk by the pipeline's overflow policy")
+                .register(registry);
+    }
+
+    /**
+     * Register saturation of the executor running webhook I/O.
+     *
+     * @param ioExecutor the I/O executor
+     */
+    public void bindIoExecutor(IoExecutor ioExecutor) {
+        Gauge.builder(PREFIX + "io.active", ioExecutor, IoExecutor::getActiveCount)
+                .description("Threads currently running webhook I/O")
+                .register(registry);
+        Gauge.builder(PREFIX + "io.queue.depth", ioExecutor, IoExecutor::getQueueSize)
+                .description("Webhook calls waiting for an I/O thread")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "io.rejected", ioExecutor, IoExecutor::getRejectedTasks)
+                .description("Webhook calls rejected because the I/O executor was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void eventSeen() {
+        seen.increment();
+    }
+
+    @Override
+    public void eventFiltered() {
+        filtered.increment();
+    }
+
+    @Override
+    public void eventDeduplicated() {
+        deduplicated.increment();
+    }
+
+    @Override
+    public void eventThrottled(String serviceName, String destination) {
+        meters(serviceName, destination).throttled.increment();
+    }
+
+    @Override
+    public void deliveryDropped(String serviceName, String destination) {
+        meters(serviceName, destination).dropped.increment();
+    }
+
+    @Override
+    public void deliveryCompleted(String serviceName, String destination, boolean successful) {
+        DestinationMeters meters = meters(serviceName, destination);
+        (successful ? meters.delivered : meters.failed).increment();
+    }
+
+    @Override
+    public void recordFormat(String serviceName, String destination, long nanos) {
+        meters(serviceName, destination).format.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordSerialize(String serviceName, String destination, long nanos) {
+        meters(serviceName, destination).serialize.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHttp(String serviceName, String destination, long nanos) {
+        meters(serviceName, destination).http.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void registerDestination(String serviceName, String destination, IntSupplier queued, IntSupplier inFlight) {
+        Tags tags = tags(serviceName, destination);
+        Gauge.builder(PREFIX + "destination.queued", queued, IntSupplier::getAsInt)
+                .description("Deliveries waiting for a free slot of the destination")
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder(PREFIX + "destination.in.flight", inFlight, IntSupplier::getAsInt)
+                .description("Deliveries to the destination currently in flight")
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private DestinationMeters meters(String serviceName, String destination) {
+        ConcurrentHashMap<String, DestinationMeters> byDestination = destinations.get(serviceName);
+        if (byDestination == null) {
+            byDestination = destinations.computeIfAbsent(serviceName, name -> new ConcurrentHashMap<>());
+        }
+        DestinationMeters meters = byDestination.get(key(destination));
+        if (meters == null) {
+            meters = byDestination.computeIfAbsent(key(destination),
+                    url -> new DestinationMeters(registry, tags(serviceName, url)));
+        }
+        return meters;
+    }
+
+    private static String key(String destination) {
+        return destination != null ? destination : "";
+    }
+
+    private static Tags tags(String serviceName, String destination) {
+        return Tags.of("service", serviceName, "destination", destinationId(destination));
+    }
+
+    /**
+     * Derive the stable, non-secret id a webhook is tagged with: its host and the first
+     * eight hex digits of the SHA-256 of the whole URL, e.g. {@code hooks.slack.com/1a2b3c4d}.
+     *
+     * @param webhookUrl the webhook URL, may be null
+     * @return the destination id
+     */
+    public static String destinationId(String webhookUrl) {
+        if (webhookUrl == null) {
+            return "unknown";
+        }
+        String host;
+        try {
+            host = URI.create(webhookUrl).getHost();
+        } catch (Exception e) {
+            host = null;
+        }
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(webhookUrl.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+        StringBuilder id = new StringBuilder(host != null ? host : "unknown").append('/');
+        for (int i = 0; i < 4; i++) {
+            id.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+        }
+        return id.toString();
+    }
+
+    private static final class DestinationMeters {
+        private final Counter delivered;
+        private final Counter failed;
+        private final Counter dropped;
+        private final Counter throttled;
+        private final Timer format;
+        private final Timer serialize;
+        private final Timer http;
+
+        private DestinationMeters(MeterRegistry registry, Tags tags) {
+            this.delivered = Counter.builder(PREFIX + "deliveries")
+                    .description("Deliveries by outcome")
+                    .tags(tags).tag("outcome", "success")
+                    .register(registry);
+            this.failed = Counter.builder(PREFIX + "deliveries")
+                    .description("Deliveries by outcome")
+                    .tags(tags).tag("outcome", "failure")
+                    .register(registry);
+            this.dropped = Counter.builder(PREFIX + "deliveries.dropped")
+                    .description("Deliveries dropped because the destination's lane was full")
+                    .tags(tags)
+                    .register(registry);
+            this.throttled = Counter.builder(PREFIX + "events.throttled")
+                    .description("Alerts held back by a destination's rate limit")
+                    .tags(tags)
+                    .register(registry);
+            this.format = Timer.builder(PREFIX + "format")
+                    .description("Time spent formatting a message for the destination")
+                    .tags(tags)
+                    .register(registry);
+            this.serialize = Timer.builder(PREFIX + "serialize")
+                    .description("Time spent writing the JSON payload")
+                    .tags(tags)
+                    .register(registry);
+            this.http = Timer.builder(PREFIX + "http")
+                    .description("Webhook round-trip time")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
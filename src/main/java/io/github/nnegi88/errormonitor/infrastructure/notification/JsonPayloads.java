@@ -0,0 +1,77 @@
+package io.github.nnegi88.errormonitor.infrastructure.notification;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams webhook payloads straight into bytes with a Jackson {@link JsonGenerator}.
+ * No ObjectMapper, no reflection over the payload model; the generator writes into a
+ * per-thread buffer that is reused between payloads, so only the final byte array is allocated.
+ */
+public final class JsonPayloads {
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ThreadLocal<ByteArrayBuilder> BUFFERS = 
+            ThreadLocal.withInitial(() -> new ByteArrayBuilder(2048));
+    
+    /**
+     * Writes one payload object with the given generator.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+    
+    private JsonPayloads() {
+    }
+    
+    /**
+     * Serialize a payload into a new UTF-8 byte array.
+     * 
+     * @param writer writes the payload
+     * @return the JSON bytes
+     */
+    public static byte[] write(Writer writer) {
+        ByteArrayBuilder buffer = BUFFERS.get();
+        buffer.reset();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+            writer.writeTo(generator);
+        } catch (IOException e) {
+            // Only possible for a broken writer, the target is in memory
+            throw new UncheckedIOException("Failed to serialize webhook payload", e);
+        }
+        return buffer.toByteArray();
+    }
+    
+    /**
+     * Write a string field, omitting it when the value is null like {@code JsonInclude.Include.NON_NULL}.
+     * 
+     * @param generator the generator
+     * @param name the field name
+     * @param value the value, may be null
+     * @throws IOException if writing fails
+     */
+    public static void writeStringField(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+    
+    /**
+     * Write a boolean field, omitting it when the value is null.
+     * 
+     * @param generator the generator
+     * @param name the field name
+     * @param value the value, may be null
+     * @throws IOException if writing fails
+     */
+    public static void writeBooleanField(JsonGenerator generator, String name, Boolean value) throws IOException {
+        if (value != null) {
+            generator.writeBooleanField(name, value);
+        }
+    }
+}
@@ -18,6 +18,9 @@ public class SlackMessage {
     @JsonProperty("blocks")
     private List<Block> blocks;
     
+    // Serialized on first send and shared by retries and every webhook the message goes to
+    private transient volatile byte[] json;
+    
     public SlackMessage() {
     }
     
@@ -32,6 +35,7 @@ public class SlackMessage {
     
     public void setText(String text) {
         this.text = text;
+        this.json = null;
     }
     
     public List<Block> getBlocks() {
@@ -40,6 +44,22 @@ public class SlackMessage {
     
     public void setBlocks(List<Block> blocks) {
         this.blocks = blocks;
+        this.json = null;
+    }
+    
+    /**
+     * Get the JSON payload, serialized once with a streaming writer and cached.
+     * The nested model must not be modified after the message was sent.
+     * 
+     * @return the UTF-8 JSON bytes
+     */
+    public byte[] toJson() {
+        byte[] bytes = json;
+        if (bytes == null) {
+            bytes = SlackPayloadWriter.write(this);
+            json = bytes;
+        }
+        return bytes;
     }
     
     public static Builder builder() {
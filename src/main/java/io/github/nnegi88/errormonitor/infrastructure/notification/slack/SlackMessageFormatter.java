@@ -1,9 +1,13 @@
 package io.github.nnegi88.errormonitor.infrastructure.notification.slack;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 import io.github.nnegi88.errormonitor.domain.port.MessageFormatter;
-import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
 
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -16,12 +20,17 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
     
     private static final String SERVICE_NAME = "slack";
     
+    // Slack rejects messages with more than 50 blocks
+    private static final int MAX_DIGEST_ENTRIES = 20;
+    private static final int MAX_DIGEST_CONTENT_LENGTH = 300;
+    
     @Override
-    public SlackMessage formatMessage(NotificationMessage message, NotificationConfig config) {
+    public SlackMessage formatMessage(NotificationMessage message, Destination destination) {
         List<SlackMessage.Block> blocks = new ArrayList<>();
+        String applicationName = applicationName(message.getApplicationName(), destination);
         
         // Header block with log level
-        String headerText = getHeaderText(message.getLevel(), message.getApplicationName());
+        String headerText = getHeaderText(message.getLevel(), applicationName);
         blocks.add(SlackMessage.Block.header(headerText));
         
         // Main message section
@@ -29,7 +38,8 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
         blocks.add(SlackMessage.Block.section(mainText));
         
         // Application info fields
-        List<SlackMessage.Text> infoFields = createInfoFields(message, config);
+        List<SlackMessage.Text> infoFields = createInfoFields(message, applicationName,
+                environment(message.getEnvironment(), destination));
         if (!infoFields.isEmpty()) {
             // Slack requires section blocks to have either text or fields, not null text with fields
             SlackMessage.Block fieldsBlock = new SlackMessage.Block();
@@ -38,13 +48,9 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
             blocks.add(fieldsBlock);
         }
         
-        // Add divider before stack trace
-        if (message.hasStackTrace()) {
+        // Stack trace section (if present and wanted by the destination)
+        if (message.hasStackTrace() && destination.isIncludeStackTrace()) {
             blocks.add(SlackMessage.Block.divider());
-        }
-        
-        // Stack trace section (if present)
-        if (message.hasStackTrace()) {
             String stackTraceText = formatStackTrace(message.getStackTrace());
             blocks.add(SlackMessage.Block.section(stackTraceText));
         }
@@ -58,7 +64,44 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
         
         // Build the final message
         String fallbackText = String.format("Log Alert from %s - %s", 
-                message.getApplicationName(), message.getContent());
+                applicationName, message.getContent());
+        
+        return SlackMessage.builder()
+                .text(fallbackText)
+                .blocks(blocks)
+                .build();
+    }
+    
+    @Override
+    public SlackMessage formatDigest(NotificationDigest digest, Destination destination) {
+        List<SlackMessage.Block> blocks = new ArrayList<>();
+        String applicationName = applicationName(digest.getApplicationName(), destination);
+        String environment = environment(digest.getEnvironment(), destination);
+        
+        String headerText = String.format("%s %d alerts - %s", getLevelEmoji(digest.getHighestLevel()),
+                digest.getTotalEvents(), applicationName);
+        blocks.add(SlackMessage.Block.header(headerText));
+        
+        blocks.add(SlackMessage.Block.section(String.format("*%d events* (%d distinct) between %s and %s",
+                digest.getTotalEvents(), digest.getEntries().size(),
+                formatInstant(digest.getFirstOccurrence()), formatInstant(digest.getLastOccurrence()))));
+        
+        if (environment != null && !environment.isEmpty()) {
+            blocks.add(SlackMessage.Block.section("*Environment:* " + environment));
+        }
+        blocks.add(SlackMessage.Block.divider());
+        
+        List<NotificationDigest.Entry> entries = digest.getEntries();
+        int shown = Math.min(entries.size(), MAX_DIGEST_ENTRIES);
+        for (int i = 0; i < shown; i++) {
+            blocks.add(SlackMessage.Block.section(formatDigestEntry(entries.get(i))));
+        }
+        if (entries.size() > shown) {
+            blocks.add(SlackMessage.Block.section(String.format("_...and %d more distinct events_", entries.size() - shown)));
+        }
+        
+        String fallbackText = String.format("Log Alert digest from %s - %d events", 
+                applicationName, digest.getTotalEvents());
         
         return SlackMessage.builder()
                 .text(fallbackText)
@@ -76,6 +119,15 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
         return SERVICE_NAME;
     }
     
+    private String applicationName(String own, Destination destination) {
+        // The destination names the application; only messages built outside the pipeline carry their own
+        return destination.getApplicationName() != null ? destination.getApplicationName() : own;
+    }
+    
+    private String environment(String own, Destination destination) {
+        return destination.getEnvironment() != null ? destination.getEnvironment() : own;
+    }
+    
     private String getHeaderText(String level, String applicationName) {
         String emoji = getLevelEmoji(level);
         return String.format("%s %s Alert - %s", emoji, level, applicationName);
@@ -107,13 +159,14 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
         return text.toString();
     }
     
-    private List<SlackMessage.Text> createInfoFields(NotificationMessage message, NotificationConfig config) {
+    private List<SlackMessage.Text> createInfoFields(NotificationMessage message, String applicationName,
+                                                     String environment) {
         List<SlackMessage.Text> fields = new ArrayList<>();
         
-        fields.add(SlackMessage.Text.markdown("*Application:*\n" + message.getApplicationName()));
+        fields.add(SlackMessage.Text.markdown("*Application:*\n" + applicationName));
         
-        if (message.getEnvironment() != null && !message.getEnvironment().isEmpty()) {
-            fields.add(SlackMessage.Text.markdown("*Environment:*\n" + message.getEnvironment()));
+        if (environment != null && !environment.isEmpty()) {
+            fields.add(SlackMessage.Text.markdown("*Environment:*\n" + environment));
         }
         
         fields.add(SlackMessage.Text.markdown("*Level:*\n" + message.getLevel()));
@@ -130,6 +183,26 @@ public class SlackMessageFormatter implements MessageFormatter<SlackMessage> {
         return "*Stack Trace:*\n```\n" + limitedStackTrace + "\n```";
     }
     
+    private String formatDigestEntry(NotificationDigest.Entry entry) {
+        String content = entry.getContent() != null && entry.getContent().length() > MAX_DIGEST_CONTENT_LENGTH
+                ? entry.getContent().substring(0, MAX_DIGEST_CONTENT_LENGTH) + "..."
+                : entry.getContent();
+        
+        StringBuilder text = new StringBuilder();
+        text.append("*").append(entry.getCount()).append("x ").append(entry.getLevel()).append("*");
+        if (entry.getTitle() != null) {
+            text.append(" `").append(entry.getTitle()).append("`");
+        }
+        text.append("\n").append(content);
+        text.append("\n_First:_ ").append(formatInstant(entry.getFirstOccurrence()))
+                .append("  _Last:_ ").append(formatInstant(entry.getLastOccurrence()));
+        return text.toString();
+    }
+    
+    private String formatInstant(Instant instant) {
+        return DateTimeFormatter.ISO_INSTANT.format(instant.truncatedTo(ChronoUnit.SECONDS));
+    }
+    
     private List<SlackMessage.Text> createMdcFields(Map<String, Object> metadata) {
         List<SlackMessage.Text> fields = new ArrayList<>();
         
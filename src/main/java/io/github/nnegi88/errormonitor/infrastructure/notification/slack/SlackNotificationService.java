@@ -1,9 +1,12 @@
 package io.github.nnegi88.errormonitor.infrastructure.notification.slack;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
 import io.github.nnegi88.errormonitor.domain.port.MessageFormatter;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
 import io.github.nnegi88.errormonitor.domain.port.NotificationService;
 import io.github.nnegi88.errormonitor.domain.port.SlackClient;
 import org.slf4j.Logger;
@@ -22,28 +25,56 @@ public class SlackNotificationService implements NotificationService {
     
     private final SlackClient slackClient;
     private final MessageFormatter<SlackMessage> messageFormatter;
+    private final NotificationMetrics metrics;
+    private final Destination destination;
     
     public SlackNotificationService(SlackClient slackClient, MessageFormatter<SlackMessage> messageFormatter) {
+        this(slackClient, messageFormatter, NotificationMetrics.NONE);
+    }
+    
+    public SlackNotificationService(SlackClient slackClient, MessageFormatter<SlackMessage> messageFormatter,
+                                    NotificationMetrics metrics) {
+        this(slackClient, messageFormatter, metrics, null);
+    }
+    
+    /**
+     * Create a service bound to a default destination, used by callers that do not route messages
+     * themselves, such as replay of spooled records written without a destination.
+     * 
+     * @param slackClient the client posting to Slack webhooks
+     * @param messageFormatter the formatter rendering Slack messages
+     * @param metrics the metrics recording formatting time
+     * @param destination the default destination, or null if every message is routed explicitly
+     */
+    public SlackNotificationService(SlackClient slackClient, MessageFormatter<SlackMessage> messageFormatter,
+                                    NotificationMetrics metrics, Destination destination) {
         this.slackClient = slackClient;
         this.messageFormatter = messageFormatter;
+        this.metrics = metrics;
+        this.destination = destination;
     }
     
     @Override
     public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+        return sendNotification(message, destination);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message, Destination destination) {
+        if (destination == null) {
+            return noDestination();
+        }
         try {
-            // This would typically be injected, but for now we'll use a simple implementation
-            NotificationConfig config = createConfigFromMessage(message);
+            if (!slackClient.isAvailable(destination.getWebhookUrl())) {
+                return unavailable();
+            }
             
             // Format the message
-            SlackMessage slackMessage = messageFormatter.formatMessage(message, config);
+            long formatStart = System.nanoTime();
+            SlackMessage slackMessage = messageFormatter.formatMessage(message, destination);
+            metrics.recordFormat(SERVICE_NAME, destination.getWebhookUrl(), System.nanoTime() - formatStart);
             
-            // Send via SlackClient
-            return slackClient.sendMessage(slackMessage, config.getWebhookUrl())
-                    .exceptionally(throwable -> {
-                        String errorMsg = "Failed to send Slack notification: " + throwable.getMessage();
-                        logger.error(errorMsg, throwable);
-                        return NotificationResult.failure(SERVICE_NAME, errorMsg);
-                    });
+            return send(slackMessage, destination);
                     
         } catch (Exception e) {
             String errorMsg = "Failed to prepare Slack notification: " + e.getMessage();
@@ -52,6 +83,56 @@ public class SlackNotificationService implements NotificationService {
         }
     }
     
+    @Override
+    public CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest) {
+        return sendDigest(digest, destination);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest, Destination destination) {
+        if (destination == null) {
+            return noDestination();
+        }
+        try {
+            if (!slackClient.isAvailable(destination.getWebhookUrl())) {
+                return unavailable();
+            }
+            
+            // Format all batched events into one message
+            long formatStart = System.nanoTime();
+            SlackMessage slackMessage = messageFormatter.formatDigest(digest, destination);
+            metrics.recordFormat(SERVICE_NAME, destination.getWebhookUrl(), System.nanoTime() - formatStart);
+            
+            return send(slackMessage, destination);
+                    
+        } catch (Exception e) {
+            String errorMsg = "Failed to prepare Slack digest notification: " + e.getMessage();
+            logger.error(errorMsg, e);
+            return CompletableFuture.completedFuture(NotificationResult.failure(SERVICE_NAME, errorMsg));
+        }
+    }
+    
+    private CompletableFuture<NotificationResult> noDestination() {
+        return CompletableFuture.completedFuture(NotificationResult.failure(
+                SERVICE_NAME, "No Slack destination to send to, message not sent"));
+    }
+    
+    private CompletableFuture<NotificationResult> unavailable() {
+        // Rejected before formatting so a dead webhook costs next to nothing; retryable so it can be spooled
+        return CompletableFuture.completedFuture(NotificationResult.retryableFailure(
+                SERVICE_NAME, "Slack webhook unavailable, message not sent", 0, 0));
+    }
+    
+    private CompletableFuture<NotificationResult> send(SlackMessage slackMessage, Destination destination) {
+        // Send via SlackClient
+        return slackClient.sendMessage(slackMessage, destination)
+                .exceptionally(throwable -> {
+                    String errorMsg = "Failed to send Slack notification: " + throwable.getMessage();
+                    logger.error(errorMsg, throwable);
+                    return NotificationResult.failure(SERVICE_NAME, errorMsg);
+                });
+    }
+    
     @Override
     public boolean supports(NotificationConfig config) {
         return config != null && 
@@ -75,40 +156,4 @@ public class SlackNotificationService implements NotificationService {
         logger.debug("Shutting down SlackNotificationService");
         // WebClient shutdown is handled by Spring framework
     }
-    
-    // Temporary method to create config from message - in real implementation this would be injected
-    private NotificationConfig createConfigFromMessage(NotificationMessage message) {
-        return new NotificationConfig() {
-            @Override
-            public String getWebhookUrl() {
-                // This should come from actual configuration
-                return (String) message.getMetadata().get("webhookUrl");
-            }
-            
-            @Override
-            public String getApplicationName() {
-                return message.getApplicationName();
-            }
-            
-            @Override
-            public String getEnvironment() {
-                return message.getEnvironment();
-            }
-            
-            @Override
-            public String getMinimumLevel() {
-                return "ERROR";
-            }
-            
-            @Override
-            public boolean isEnabled() {
-                return true;
-            }
-            
-            @Override
-            public java.util.Map<String, Object> getAdditionalProperties() {
-                return message.getMetadata();
-            }
-        };
-    }
 }
\ No newline at end of file
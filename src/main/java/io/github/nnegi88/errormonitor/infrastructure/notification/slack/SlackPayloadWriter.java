@@ -0,0 +1,61 @@
+package io.github.nnegi88.errormonitor.infrastructure.notification.slack;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.github.nnegi88.errormonitor.infrastructure.notification.JsonPayloads;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link SlackMessage} as Block Kit JSON with a streaming generator.
+ * Produces the same document as Jackson data binding of the annotated model, null fields omitted.
+ */
+final class SlackPayloadWriter {
+    
+    private SlackPayloadWriter() {
+    }
+    
+    static byte[] write(SlackMessage message) {
+        return JsonPayloads.write(generator -> writeMessage(generator, message));
+    }
+    
+    private static void writeMessage(JsonGenerator generator, SlackMessage message) throws IOException {
+        generator.writeStartObject();
+        JsonPayloads.writeStringField(generator, "text", message.getText());
+        List<SlackMessage.Block> blocks = message.getBlocks();
+        if (blocks != null) {
+            generator.writeArrayFieldStart("blocks");
+            for (SlackMessage.Block block : blocks) {
+                writeBlock(generator, block);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+    
+    private static void writeBlock(JsonGenerator generator, SlackMessage.Block block) throws IOException {
+        generator.writeStartObject();
+        JsonPayloads.writeStringField(generator, "type", block.getType());
+        if (block.getText() != null) {
+            generator.writeFieldName("text");
+            writeText(generator, block.getText());
+        }
+        List<SlackMessage.Text> fields = block.getFields();
+        if (fields != null) {
+            generator.writeArrayFieldStart("fields");
+            for (SlackMessage.Text field : fields) {
+                writeText(generator, field);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+    
+    private static void writeText(JsonGenerator generator, SlackMessage.Text text) throws IOException {
+        generator.writeStartObject();
+        JsonPayloads.writeStringField(generator, "type", text.getType());
+        JsonPayloads.writeStringField(generator, "text", text.getText());
+        JsonPayloads.writeBooleanField(generator, "emoji", text.getEmoji());
+        generator.writeEndObject();
+    }
+}
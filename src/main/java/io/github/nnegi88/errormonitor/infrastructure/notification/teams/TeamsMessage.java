@@ -33,6 +33,9 @@ public class TeamsMessage {
     @JsonProperty("sections")
     private List<Section> sections;
     
+    // Serialized on first send and shared by retries and every webhook the message goes to
+    private transient volatile byte[] json;
+    
     public TeamsMessage() {
     }
     
@@ -50,6 +53,7 @@ public class TeamsMessage {
     
     public void setType(String type) {
         this.type = type;
+        this.json = null;
     }
     
     public String getContext() {
@@ -58,6 +62,7 @@ public class TeamsMessage {
     
     public void setContext(String context) {
         this.context = context;
+        this.json = null;
     }
     
     public String getSummary() {
@@ -66,6 +71,7 @@ public class TeamsMessage {
     
     public void setSummary(String summary) {
         this.summary = summary;
+        this.json = null;
     }
     
     public String getThemeColor() {
@@ -74,6 +80,7 @@ public class TeamsMessage {
     
     public void setThemeColor(String themeColor) {
         this.themeColor = themeColor;
+        this.json = null;
     }
     
     public String getTitle() {
@@ -82,6 +89,7 @@ public class TeamsMessage {
     
     public void setTitle(String title) {
         this.title = title;
+        this.json = null;
     }
     
     public String getText() {
@@ -90,6 +98,7 @@ public class TeamsMessage {
     
     public void setText(String text) {
         this.text = text;
+        this.json = null;
     }
     
     public List<Section> getSections() {
@@ -98,6 +107,22 @@ public class TeamsMessage {
     
     public void setSections(List<Section> sections) {
         this.sections = sections;
+        this.json = null;
+    }
+    
+    /**
+     * Get the JSON payload, serialized once with a streaming writer and cached.
+     * The nested model must not be modified after the message was sent.
+     * 
+     * @return the UTF-8 JSON bytes
+     */
+    public byte[] toJson() {
+        byte[] bytes = json;
+        if (bytes == null) {
+            bytes = TeamsPayloadWriter.write(this);
+            json = bytes;
+        }
+        return bytes;
     }
     
     public static Builder builder() {
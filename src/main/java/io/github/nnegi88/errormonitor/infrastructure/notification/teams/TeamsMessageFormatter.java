@@ -1,9 +1,13 @@
 package io.github.nnegi88.errormonitor.infrastructure.notification.teams;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 import io.github.nnegi88.errormonitor.domain.port.MessageFormatter;
-import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
 
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -16,16 +20,21 @@ public class TeamsMessageFormatter implements MessageFormatter<TeamsMessage> {
     
     private static final String SERVICE_NAME = "teams";
     
+    private static final int MAX_DIGEST_ENTRIES = 20;
+    private static final int MAX_DIGEST_CONTENT_LENGTH = 300;
+    
     @Override
-    public TeamsMessage formatMessage(NotificationMessage message, NotificationConfig config) {
+    public TeamsMessage formatMessage(NotificationMessage message, Destination destination) {
+        String applicationName = applicationName(message.getApplicationName(), destination);
         String themeColor = getThemeColor(message.getLevel());
-        String title = formatTitle(message);
-        String summary = formatSummary(message);
+        String title = formatTitle(message, applicationName);
+        String summary = formatSummary(message, applicationName);
         
         List<TeamsMessage.Section> sections = new ArrayList<>();
         
         // Main message section
-        List<TeamsMessage.Fact> mainFacts = createMainFacts(message, config);
+        List<TeamsMessage.Fact> mainFacts = createMainFacts(message, applicationName,
+                environment(message.getEnvironment(), destination));
         TeamsMessage.Section mainSection = TeamsMessage.Section.create(
                 "Log Details",
                 message.getContent(),
@@ -33,8 +42,8 @@ public class TeamsMessageFormatter implements MessageFormatter<TeamsMessage> {
         );
         sections.add(mainSection);
         
-        // Stack trace section (if present)
-        if (message.hasStackTrace()) {
+        // Stack trace section (if present and wanted by the destination)
+        if (message.hasStackTrace() && destination.isIncludeStackTrace()) {
             String stackTrace = formatStackTrace(message.getStackTrace());
             TeamsMessage.Section stackSection = TeamsMessage.Section.create(
                     "Stack Trace",
@@ -64,6 +73,46 @@ public class TeamsMessageFormatter implements MessageFormatter<TeamsMessage> {
                 .build();
     }
     
+    @Override
+    public TeamsMessage formatDigest(NotificationDigest digest, Destination destination) {
+        String applicationName = applicationName(digest.getApplicationName(), destination);
+        String level = digest.getHighestLevel();
+        String title = String.format("%s %d alerts - %s", 
+                getLevelEmoji(level), digest.getTotalEvents(), applicationName);
+        String text = String.format("%d events (%d distinct) between %s and %s",
+                digest.getTotalEvents(), digest.getEntries().size(),
+                formatInstant(digest.getFirstOccurrence()), formatInstant(digest.getLastOccurrence()));
+        
+        List<TeamsMessage.Section> sections = new ArrayList<>();
+        List<NotificationDigest.Entry> entries = digest.getEntries();
+        int shown = Math.min(entries.size(), MAX_DIGEST_ENTRIES);
+        for (int i = 0; i < shown; i++) {
+            NotificationDigest.Entry entry = entries.get(i);
+            List<TeamsMessage.Fact> facts = new ArrayList<>();
+            facts.add(new TeamsMessage.Fact("Count", String.valueOf(entry.getCount())));
+            facts.add(new TeamsMessage.Fact("First", formatInstant(entry.getFirstOccurrence())));
+            facts.add(new TeamsMessage.Fact("Last", formatInstant(entry.getLastOccurrence())));
+            sections.add(TeamsMessage.Section.create(
+                    entry.getLevel() + (entry.getTitle() != null ? " - " + entry.getTitle() : ""),
+                    truncate(entry.getContent()),
+                    facts
+            ));
+        }
+        if (entries.size() > shown) {
+            sections.add(TeamsMessage.Section.create(
+                    String.format("...and %d more distinct events", entries.size() - shown), null, null));
+        }
+        
+        return TeamsMessage.builder()
+                .summary(String.format("Log Alert digest from %s - %d events", 
+                        applicationName, digest.getTotalEvents()))
+                .themeColor(getThemeColor(level))
+                .title(title)
+                .text(text)
+                .sections(sections)
+                .build();
+    }
+    
     @Override
     public Class<TeamsMessage> getMessageType() {
         return TeamsMessage.class;
@@ -89,10 +138,19 @@ public class TeamsMessageFormatter implements MessageFormatter<TeamsMessage> {
         }
     }
     
-    private String formatTitle(NotificationMessage message) {
+    private String applicationName(String own, Destination destination) {
+        // The destination names the application; only messages built outside the pipeline carry their own
+        return destination.getApplicationName() != null ? destination.getApplicationName() : own;
+    }
+    
+    private String environment(String own, Destination destination) {
+        return destination.getEnvironment() != null ? destination.getEnvironment() : own;
+    }
+    
+    private String formatTitle(NotificationMessage message, String applicationName) {
         String emoji = getLevelEmoji(message.getLevel());
         return String.format("%s %s Alert - %s", 
-                emoji, message.getLevel(), message.getApplicationName());
+                emoji, message.getLevel(), applicationName);
     }
     
     private String getLevelEmoji(String level) {
@@ -110,18 +168,19 @@ public class TeamsMessageFormatter implements MessageFormatter<TeamsMessage> {
         }
     }
     
-    private String formatSummary(NotificationMessage message) {
+    private String formatSummary(NotificationMessage message, String applicationName) {
         return String.format("Log Alert from %s - %s", 
-                message.getApplicationName(), message.getLevel());
+                applicationName, message.getLevel());
     }
     
-    private List<TeamsMessage.Fact> createMainFacts(NotificationMessage message, NotificationConfig config) {
+    private List<TeamsMessage.Fact> createMainFacts(NotificationMessage message, String applicationName,
+                                                    String environment) {
         List<TeamsMessage.Fact> facts = new ArrayList<>();
         
-        facts.add(new TeamsMessage.Fact("Application", message.getApplicationName()));
+        facts.add(new TeamsMessage.Fact("Application", applicationName));
         
-        if (message.getEnvironment() != null && !message.getEnvironment().isEmpty()) {
-            facts.add(new TeamsMessage.Fact("Environment", message.getEnvironment()));
+        if (environment != null && !environment.isEmpty()) {
+            facts.add(new TeamsMessage.Fact("Environment", environment));
         }
         
         facts.add(new TeamsMessage.Fact("Level", message.getLevel()));
@@ -143,6 +202,16 @@ public class TeamsMessageFormatter implements MessageFormatter<TeamsMessage> {
         return "```\n" + limitedStackTrace + "\n```";
     }
     
+    private String truncate(String content) {
+        return content != null && content.length() > MAX_DIGEST_CONTENT_LENGTH
+                ? content.substring(0, MAX_DIGEST_CONTENT_LENGTH) + "..."
+                : content;
+    }
+    
+    private String formatInstant(Instant instant) {
+        return DateTimeFormatter.ISO_INSTANT.format(instant.truncatedTo(ChronoUnit.SECONDS));
+    }
+    
     private List<TeamsMessage.Fact> createMdcFacts(Map<String, Object> metadata) {
         List<TeamsMessage.Fact> facts = new ArrayList<>();
         
@@ -1,9 +1,12 @@
 package io.github.nnegi88.errormonitor.infrastructure.notification.teams;
 
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
 import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
 import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
 import io.github.nnegi88.errormonitor.domain.port.MessageFormatter;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
 import io.github.nnegi88.errormonitor.domain.port.NotificationService;
 import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
 import org.slf4j.Logger;
@@ -22,28 +25,56 @@ public class TeamsNotificationService implements NotificationService {
     
     private final TeamsClient teamsClient;
     private final MessageFormatter<TeamsMessage> messageFormatter;
+    private final NotificationMetrics metrics;
+    private final Destination destination;
     
     public TeamsNotificationService(TeamsClient teamsClient, MessageFormatter<TeamsMessage> messageFormatter) {
+        this(teamsClient, messageFormatter, NotificationMetrics.NONE);
+    }
+    
+    public TeamsNotificationService(TeamsClient teamsClient, MessageFormatter<TeamsMessage> messageFormatter,
+                                    NotificationMetrics metrics) {
+        this(teamsClient, messageFormatter, metrics, null);
+    }
+    
+    /**
+     * Create a service bound to a default destination, used by callers that do not route messages
+     * themselves, such as replay of spooled records written without a destination.
+     * 
+     * @param teamsClient the client posting to Teams webhooks
+     * @param messageFormatter the formatter rendering Teams messages
+     * @param metrics the metrics recording formatting time
+     * @param destination the default destination, or null if every message is routed explicitly
+     */
+    public TeamsNotificationService(TeamsClient teamsClient, MessageFormatter<TeamsMessage> messageFormatter,
+                                    NotificationMetrics metrics, Destination destination) {
         this.teamsClient = teamsClient;
         this.messageFormatter = messageFormatter;
+        this.metrics = metrics;
+        this.destination = destination;
     }
     
     @Override
     public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+        return sendNotification(message, destination);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message, Destination destination) {
+        if (destination == null) {
+            return noDestination();
+        }
         try {
-            // This would typically be injected, but for now we'll use a simple implementation
-            NotificationConfig config = createConfigFromMessage(message);
+            if (!teamsClient.isAvailable(destination.getWebhookUrl())) {
+                return unavailable();
+            }
             
             // Format the message
-            TeamsMessage teamsMessage = messageFormatter.formatMessage(message, config);
+            long formatStart = System.nanoTime();
+            TeamsMessage teamsMessage = messageFormatter.formatMessage(message, destination);
+            metrics.recordFormat(SERVICE_NAME, destination.getWebhookUrl(), System.nanoTime() - formatStart);
             
-            // Send via TeamsClient
-            return teamsClient.sendMessage(teamsMessage, config.getWebhookUrl())
-                    .exceptionally(throwable -> {
-                        String errorMsg = "Failed to send Teams notification: " + throwable.getMessage();
-                        logger.error(errorMsg, throwable);
-                        return NotificationResult.failure(SERVICE_NAME, errorMsg);
-                    });
+            return send(teamsMessage, destination);
                     
         } catch (Exception e) {
             String errorMsg = "Failed to prepare Teams notification: " + e.getMessage();
@@ -52,6 +83,56 @@ public class TeamsNotificationService implements NotificationService {
         }
     }
     
+    @Override
+    public CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest) {
+        return sendDigest(digest, destination);
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest, Destination destination) {
+        if (destination == null) {
+            return noDestination();
+        }
+        try {
+            if (!teamsClient.isAvailable(destination.getWebhookUrl())) {
+                return unavailable();
+            }
+            
+            // Format all batched events into one message
+            long formatStart = System.nanoTime();
+            TeamsMessage teamsMessage = messageFormatter.formatDigest(digest, destination);
+            metrics.recordFormat(SERVICE_NAME, destination.getWebhookUrl(), System.nanoTime() - formatStart);
+            
+            return send(teamsMessage, destination);
+                    
+        } catch (Exception e) {
+            String errorMsg = "Failed to prepare Teams digest notification: " + e.getMessage();
+            logger.error(errorMsg, e);
+            return CompletableFuture.completedFuture(NotificationResult.failure(SERVICE_NAME, errorMsg));
+        }
+    }
+    
+    private CompletableFuture<NotificationResult> noDestination() {
+        return CompletableFuture.completedFuture(NotificationResult.failure(
+                SERVICE_NAME, "No Teams destination to send to, message not sent"));
+    }
+    
+    private CompletableFuture<NotificationResult> unavailable() {
+        // Rejected before formatting so a dead webhook costs next to nothing; retryable so it can be spooled
+        return CompletableFuture.completedFuture(NotificationResult.retryableFailure(
+                SERVICE_NAME, "Teams webhook unavailable, message not sent", 0, 0));
+    }
+    
+    private CompletableFuture<NotificationResult> send(TeamsMessage teamsMessage, Destination destination) {
+        // Send via TeamsClient
+        return teamsClient.sendMessage(teamsMessage, destination)
+                .exceptionally(throwable -> {
+                    String errorMsg = "Failed to send Teams notification: " + throwable.getMessage();
+                    logger.error(errorMsg, throwable);
+                    return NotificationResult.failure(SERVICE_NAME, errorMsg);
+                });
+    }
+    
     @Override
     public boolean supports(NotificationConfig config) {
         return config != null && 
@@ -76,40 +157,4 @@ public class TeamsNotificationService implements NotificationService {
         logger.debug("Shutting down TeamsNotificationService");
         // WebClient shutdown is handled by Spring framework
     }
-    
-    // Temporary method to create config from message - in real implementation this would be injected
-    private NotificationConfig createConfigFromMessage(NotificationMessage message) {
-        return new NotificationConfig() {
-            @Override
-            public String getWebhookUrl() {
-                // This should come from actual configuration
-                return (String) message.getMetadata().get("webhookUrl");
-            }
-            
-            @Override
-            public String getApplicationName() {
-                return message.getApplicationName();
-            }
-            
-            @Override
-            public String getEnvironment() {
-                return message.getEnvironment();
-            }
-            
-            @Override
-            public String getMinimumLevel() {
-                return "ERROR";
-            }
-            
-            @Override
-            public boolean isEnabled() {
-                return true;
-            }
-            
-            @Override
-            public java.util.Map<String, Object> getAdditionalProperties() {
-                return message.getMetadata();
-            }
-        };
-    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package io.github.nnegi88.errormonitor.infrastructure.notification.teams;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.github.nnegi88.errormonitor.infrastructure.notification.JsonPayloads;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link TeamsMessage} as MessageCard JSON with a streaming generator.
+ * Produces the same document as Jackson data binding of the annotated model, null fields omitted.
+ */
+final class TeamsPayloadWriter {
+    
+    private TeamsPayloadWriter() {
+    }
+    
+    static byte[] write(TeamsMessage message) {
+        return JsonPayloads.write(generator -> writeMessage(generator, message));
+    }
+    
+    private static void writeMessage(JsonGenerator generator, TeamsMessage message) throws IOException {
+        generator.writeStartObject();
+        JsonPayloads.writeStringField(generator, "@type", message.getType());
+        JsonPayloads.writeStringField(generator, "@context", message.getContext());
+        JsonPayloads.writeStringField(generator, "summary", message.getSummary());
+        JsonPayloads.writeStringField(generator, "themeColor", message.getThemeColor());
+        JsonPayloads.writeStringField(generator, "title", message.getTitle());
+        JsonPayloads.writeStringField(generator, "text", message.getText());
+        List<TeamsMessage.Section> sections = message.getSections();
+        if (sections != null) {
+            generator.writeArrayFieldStart("sections");
+            for (TeamsMessage.Section section : sections) {
+                writeSection(generator, section);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+    
+    private static void writeSection(JsonGenerator generator, TeamsMessage.Section section) throws IOException {
+        generator.writeStartObject();
+        JsonPayloads.writeStringField(generator, "activityTitle", section.getActivityTitle());
+        JsonPayloads.writeStringField(generator, "activitySubtitle", section.getActivitySubtitle());
+        JsonPayloads.writeStringField(generator, "activityText", section.getActivityText());
+        List<TeamsMessage.Fact> facts = section.getFacts();
+        if (facts != null) {
+            generator.writeArrayFieldStart("facts");
+            for (TeamsMessage.Fact fact : facts) {
+                generator.writeStartObject();
+                JsonPayloads.writeStringField(generator, "name", fact.getName());
+                JsonPayloads.writeStringField(generator, "value", fact.getValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        JsonPayloads.writeBooleanField(generator, "markdown", section.getMarkdown());
+        generator.writeEndObject();
+    }
+}
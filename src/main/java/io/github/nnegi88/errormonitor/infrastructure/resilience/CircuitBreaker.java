@@ -0,0 +1,190 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker guarding a single webhook.
+ * <p>
+ * CLOSED: calls pass and their outcomes are recorded in a count-based sliding window. When the
+ * failure rate or the slow call rate reaches its threshold the circuit opens.<br>
+ * OPEN: calls are rejected with a single volatile read until the open duration has passed.<br>
+ * HALF_OPEN: a limited number of real deliveries are let through as probes. If they all succeed
+ * the circuit closes, otherwise it opens again.
+ */
+public class CircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private static final byte OUTCOME_FAILURE = 1;
+    private static final byte OUTCOME_SLOW = 2;
+    
+    private final String name;
+    private final CircuitBreakerPolicy policy;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    
+    private volatile State state = State.CLOSED;
+    private volatile long openedAtNanos;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final LongAdder rejectedCalls = new LongAdder();
+    
+    // Sliding window, guarded by this
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private int halfOpenSuccesses;
+    
+    public CircuitBreaker(String name, CircuitBreakerPolicy policy) {
+        this.name = name;
+        this.policy = policy;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(policy.getSlowCallDurationMillis());
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(policy.getOpenDurationMillis());
+        this.outcomes = new byte[policy.getWindowSize()];
+    }
+    
+    /**
+     * Check whether a call would currently be let through, without taking a permit.
+     * 
+     * @return false if the circuit rejects calls
+     */
+    public boolean isCallPermitted() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            return System.nanoTime() - openedAtNanos >= openDurationNanos;
+        }
+        return halfOpenPermits.get() > 0;
+    }
+    
+    /**
+     * Take a permit for a call. Every granted permit must be followed by {@link #onResult(boolean, long)}.
+     * 
+     * @return true if the call may proceed
+     */
+    public boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                rejectedCalls.increment();
+                return false;
+            }
+            transitionToHalfOpen();
+        }
+        
+        while (true) {
+            int permits = halfOpenPermits.get();
+            if (permits <= 0 || state != State.HALF_OPEN) {
+                if (state == State.CLOSED) {
+                    return true;
+                }
+                // Calls that arrive while the probes are in flight stay rejected
+                rejectedCalls.increment();
+                return false;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Record the outcome of a call that was granted a permit.
+     * 
+     * @param success whether the endpoint handled the call
+     * @param durationNanos how long the call took
+     */
+    public synchronized void onResult(boolean success, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        
+        if (state == State.HALF_OPEN) {
+            if (!success || slow) {
+                transitionToOpen();
+            } else if (++halfOpenSuccesses >= policy.getHalfOpenProbes()) {
+                transitionToClosed();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Late result of a call started before the circuit opened
+            return;
+        }
+        
+        byte outcome = (byte) ((success ? 0 : OUTCOME_FAILURE) | (slow ? OUTCOME_SLOW : 0));
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[next];
+            failures -= evicted & OUTCOME_FAILURE;
+            slowCalls -= (evicted & OUTCOME_SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        failures += outcome & OUTCOME_FAILURE;
+        slowCalls += (outcome & OUTCOME_SLOW) >> 1;
+        
+        if (recorded >= policy.getMinimumCalls()
+                && (failures * 100 >= policy.getFailureRateThreshold() * recorded
+                    || slowCalls * 100 >= policy.getSlowCallRateThreshold() * recorded)) {
+            transitionToOpen();
+        }
+    }
+    
+    private synchronized void transitionToHalfOpen() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            halfOpenSuccesses = 0;
+            halfOpenPermits.set(policy.getHalfOpenProbes());
+            state = State.HALF_OPEN;
+            logger.info("Circuit for {} is half-open, probing with {} call(s)", name, policy.getHalfOpenProbes());
+        }
+    }
+    
+    private void transitionToOpen() {
+        openedAtNanos = System.nanoTime();
+        halfOpenPermits.set(0);
+        state = State.OPEN;
+        logger.warn("Circuit for {} opened after {} failures and {} slow calls in {} calls", 
+                name, failures, slowCalls, recorded);
+    }
+    
+    private void transitionToClosed() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        state = State.CLOSED;
+        logger.info("Circuit for {} closed", name);
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get the number of calls rejected without reaching the endpoint.
+     * 
+     * @return the rejected call count
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+/**
+ * Thresholds controlling when a {@link CircuitBreaker} opens and how it recovers.
+ */
+public class CircuitBreakerPolicy {
+    
+    private static final CircuitBreakerPolicy DEFAULTS = builder().build();
+    
+    private final int failureRateThreshold;
+    private final long slowCallDurationMillis;
+    private final int slowCallRateThreshold;
+    private final int minimumCalls;
+    private final int windowSize;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+    
+    private CircuitBreakerPolicy(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallDurationMillis = builder.slowCallDurationMillis;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.minimumCalls = builder.minimumCalls;
+        this.windowSize = Math.max(1, builder.windowSize);
+        this.openDurationMillis = builder.openDurationMillis;
+        this.halfOpenProbes = Math.max(1, builder.halfOpenProbes);
+    }
+    
+    /**
+     * Get the failure percentage over the window at which the circuit opens.
+     * 
+     * @return the failure rate threshold in percent
+     */
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    
+    /**
+     * Get the duration above which a call counts as slow.
+     * 
+     * @return the slow call duration in milliseconds
+     */
+    public long getSlowCallDurationMillis() {
+        return slowCallDurationMillis;
+    }
+    
+    /**
+     * Get the slow call percentage over the window at which the circuit opens.
+     * 
+     * @return the slow call rate threshold in percent
+     */
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+    
+    /**
+     * Get the number of calls that must be recorded before the rates are evaluated.
+     * 
+     * @return the minimum number of calls
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+    
+    /**
+     * Get the number of most recent calls the rates are computed over.
+     * 
+     * @return the sliding window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+    
+    /**
+     * Get how long an open circuit rejects calls before letting probes through.
+     * 
+     * @return the open duration in milliseconds
+     */
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+    
+    /**
+     * Get the number of successful probe calls that close a half-open circuit.
+     * 
+     * @return the number of half-open probes
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+    
+    public static CircuitBreakerPolicy defaults() {
+        return DEFAULTS;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private int failureRateThreshold = 50;
+        private long slowCallDurationMillis = 3000;
+        private int slowCallRateThreshold = 80;
+        private int minimumCalls = 5;
+        private int windowSize = 20;
+        private long openDurationMillis = 30000;
+        private int halfOpenProbes = 1;
+        
+        public Builder failureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+        
+        public Builder slowCallDurationMillis(long slowCallDurationMillis) {
+            this.slowCallDurationMillis = slowCallDurationMillis;
+            return this;
+        }
+        
+        public Builder slowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+        
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+        
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+        
+        public Builder openDurationMillis(long openDurationMillis) {
+            this.openDurationMillis = openDurationMillis;
+            return this;
+        }
+        
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+        
+        public CircuitBreakerPolicy build() {
+            return new CircuitBreakerPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link CircuitBreaker} per webhook URL, all created from the same policy.
+ */
+public class CircuitBreakerRegistry {
+    
+    private final CircuitBreakerPolicy policy;
+    private final ConcurrentHashMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    
+    public CircuitBreakerRegistry(CircuitBreakerPolicy policy) {
+        this.policy = policy;
+    }
+    
+    /**
+     * Get the circuit breaker of a webhook, creating it on first use.
+     * 
+     * @param webhookUrl the webhook URL
+     * @return the circuit breaker guarding the webhook
+     */
+    public CircuitBreaker circuitBreaker(String webhookUrl) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(webhookUrl);
+        if (circuitBreaker == null) {
+            circuitBreaker = circuitBreakers.computeIfAbsent(webhookUrl, 
+                    url -> new CircuitBreaker(maskWebhookUrl(url), policy));
+        }
+        return circuitBreaker;
+    }
+    
+    /**
+     * Get the circuit breaker of a webhook without creating it.
+     * 
+     * @param webhookUrl the webhook URL
+     * @return the circuit breaker, or null if the webhook has not been called yet
+     */
+    public CircuitBreaker find(String webhookUrl) {
+        return webhookUrl != null ? circuitBreakers.get(webhookUrl) : null;
+    }
+    
+    private static String maskWebhookUrl(String webhookUrl) {
+        try {
+            return java.net.URI.create(webhookUrl).getHost() + "/***";
+        } catch (Exception e) {
+            return "***";
+        }
+    }
+    
+    public Collection<CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableCollection(circuitBreakers.values());
+    }
+    
+    public CircuitBreakerPolicy getPolicy() {
+        return policy;
+    }
+}
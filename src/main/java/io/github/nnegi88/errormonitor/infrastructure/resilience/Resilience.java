@@ -0,0 +1,47 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Shared call guarding logic of the resilient client decorators.
+ */
+final class Resilience {
+    
+    private Resilience() {
+    }
+    
+    static CompletableFuture<NotificationResult> guard(
+            CircuitBreaker circuitBreaker, String serviceName, Supplier<CompletableFuture<NotificationResult>> call) {
+        
+        if (!circuitBreaker.tryAcquirePermission()) {
+            // Retryable so the message is spooled and replayed once the endpoint has recovered
+            return CompletableFuture.completedFuture(NotificationResult.retryableFailure(serviceName,
+                    "Circuit open for " + circuitBreaker.getName() + ", message not sent", 0, 0));
+        }
+        
+        long start = System.nanoTime();
+        CompletableFuture<NotificationResult> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, throwable) ->
+                circuitBreaker.onResult(throwable == null && !isEndpointFailure(value), System.nanoTime() - start));
+    }
+    
+    /**
+     * Decide whether a result says something about the health of the endpoint.
+     * Payload rejections (400, 413) are the caller's fault and do not count as failures.
+     */
+    static boolean isEndpointFailure(NotificationResult result) {
+        if (result == null || result.isSuccessful()) {
+            return result == null;
+        }
+        int statusCode = result.getStatusCode();
+        return statusCode != 400 && statusCode != 413;
+    }
+}
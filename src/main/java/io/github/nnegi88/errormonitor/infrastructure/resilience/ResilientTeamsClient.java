@@ -0,0 +1,81 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * TeamsClient decorator that guards every webhook with its own circuit breaker and retries
+ * transient failures. While a circuit is open, messages are rejected immediately instead of
+ * waiting for socket timeouts, and pending retries stop as well.
+ */
+public class ResilientTeamsClient implements TeamsClient {
+    
+    private static final String SERVICE_NAME = "teams";
+    
+    private final TeamsClient delegate;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RetryScheduler retryScheduler;
+    
+    public ResilientTeamsClient(TeamsClient delegate, CircuitBreakerRegistry circuitBreakers) {
+        this(delegate, circuitBreakers, null);
+    }
+    
+    /**
+     * Create a decorator with any combination of circuit breaking and retries.
+     * 
+     * @param delegate the client performing the HTTP calls
+     * @param circuitBreakers the per-webhook circuit breakers, or null to disable circuit breaking
+     * @param retryScheduler the scheduler retrying transient failures, or null to disable retries
+     */
+    public ResilientTeamsClient(TeamsClient delegate, CircuitBreakerRegistry circuitBreakers, RetryScheduler retryScheduler) {
+        this.delegate = delegate;
+        this.circuitBreakers = circuitBreakers;
+        this.retryScheduler = retryScheduler;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendMessage(TeamsMessage message, String webhookUrl) {
+        return send(webhookUrl, () -> delegate.sendMessage(message, webhookUrl));
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendMessage(TeamsMessage message, Destination destination) {
+        return send(destination.getWebhookUrl(), () -> delegate.sendMessage(message, destination));
+    }
+    
+    private CompletableFuture<NotificationResult> send(String webhookUrl,
+                                                       Supplier<CompletableFuture<NotificationResult>> call) {
+        if (retryScheduler != null) {
+            // An open circuit ends the retries; the retryable result lets the message be spooled
+            return retryScheduler.execute(() -> attempt(webhookUrl, call), () -> isCallPermitted(webhookUrl));
+        }
+        return attempt(webhookUrl, call);
+    }
+    
+    private CompletableFuture<NotificationResult> attempt(String webhookUrl,
+                                                          Supplier<CompletableFuture<NotificationResult>> call) {
+        if (circuitBreakers == null) {
+            return call.get();
+        }
+        return Resilience.guard(circuitBreakers.circuitBreaker(webhookUrl), SERVICE_NAME, call);
+    }
+    
+    private boolean isCallPermitted(String webhookUrl) {
+        return circuitBreakers == null || circuitBreakers.circuitBreaker(webhookUrl).isCallPermitted();
+    }
+    
+    @Override
+    public boolean isAvailable(String webhookUrl) {
+        return isCallPermitted(webhookUrl) && delegate.isAvailable(webhookUrl);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> testConnection(String webhookUrl) {
+        return delegate.testConnection(webhookUrl);
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token budget limiting retries to a fraction of first attempts.
+ * Every first attempt deposits {@code ratio} of a token, every retry withdraws one. The balance is
+ * capped at the reserve, so a long quiet period cannot save up budget for a retry storm.
+ */
+public class RetryBudget {
+    
+    private static final long SCALE = 1000;
+    
+    private final long depositPerAttempt;
+    private final long capacity;
+    private final AtomicLong balance;
+    
+    public RetryBudget(double ratio, int reserve) {
+        this.depositPerAttempt = Math.round(ratio * SCALE);
+        this.capacity = Math.max(1, reserve) * SCALE;
+        this.balance = new AtomicLong(reserve * SCALE);
+    }
+    
+    /**
+     * Record a first attempt, earning budget for later retries.
+     */
+    public void deposit() {
+        while (true) {
+            long current = balance.get();
+            long updated = Math.min(capacity, current + depositPerAttempt);
+            if (current == updated || balance.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Spend one retry.
+     * 
+     * @return false if the budget is exhausted and the retry must not happen
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Get the number of retries currently available.
+     * 
+     * @return the whole retries left in the budget
+     */
+    public long getAvailableRetries() {
+        return balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+/**
+ * Settings of the {@link RetryScheduler}: how often and how far apart failed deliveries are retried,
+ * and how many retries the whole pipeline may spend relative to first attempts.
+ */
+public class RetryPolicy {
+    
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double budgetRatio;
+    private final int budgetReserve;
+    
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = Math.max(1, builder.maxAttempts);
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.budgetRatio = builder.budgetRatio;
+        this.budgetReserve = builder.budgetReserve;
+    }
+    
+    /**
+     * Get the maximum number of attempts per message, including the first one.
+     * 
+     * @return the maximum attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    /**
+     * Get the backoff ceiling of the first retry.
+     * 
+     * @return the initial backoff in milliseconds
+     */
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+    
+    /**
+     * Get the upper bound of the exponential backoff.
+     * 
+     * @return the maximum backoff in milliseconds
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+    
+    /**
+     * Get the number of retries earned by each first attempt, e.g. 0.2 allows one retry per five messages.
+     * 
+     * @return the retry budget ratio
+     */
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+    
+    /**
+     * Get the number of retries available before any first attempt has earned budget.
+     * 
+     * @return the retry budget reserve
+     */
+    public int getBudgetReserve() {
+        return budgetReserve;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    public static class Builder {
+        private int maxAttempts = 3;
+        private long initialBackoffMillis = 500;
+        private long maxBackoffMillis = 30000;
+        private double budgetRatio = 0.2;
+        private int budgetReserve = 10;
+        
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+        
+        public Builder initialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+            return this;
+        }
+        
+        public Builder maxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+        
+        public Builder budgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+            return this;
+        }
+        
+        public Builder budgetReserve(int budgetReserve) {
+            this.budgetReserve = budgetReserve;
+            return this;
+        }
+        
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
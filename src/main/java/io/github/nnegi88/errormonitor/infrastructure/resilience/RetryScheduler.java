@@ -0,0 +1,133 @@
+package io.github.nnegi88.errormonitor.infrastructure.resilience;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Re-sends failed deliveries from a single scheduler thread, so no worker ever sleeps between attempts.
+ * Only results marked {@link NotificationResult#isRetryable() retryable} are retried. The delay is an
+ * exponential backoff with full jitter, or the endpoint's Retry-After hint when it is longer.
+ * All retries draw from a shared {@link RetryBudget}.
+ */
+public class RetryScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RetryScheduler.class);
+    
+    private final ScheduledExecutorService scheduler;
+    private final RetryPolicy policy;
+    private final RetryBudget budget;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    
+    public RetryScheduler(ScheduledExecutorService scheduler, RetryPolicy policy) {
+        this.scheduler = scheduler;
+        this.policy = policy;
+        this.budget = new RetryBudget(policy.getBudgetRatio(), policy.getBudgetReserve());
+    }
+    
+    /**
+     * Run a delivery, retrying it while it fails transiently.
+     * 
+     * @param call starts one delivery attempt
+     * @return a CompletableFuture with the result of the last attempt
+     */
+    public CompletableFuture<NotificationResult> execute(Supplier<CompletableFuture<NotificationResult>> call) {
+        return execute(call, () -> true);
+    }
+    
+    /**
+     * Run a delivery, retrying it while it fails transiently and retries are permitted.
+     * When retries are not permitted, for example while the endpoint's circuit is open,
+     * the last failure is reported as is and stays retryable for later replay.
+     * 
+     * @param call starts one delivery attempt
+     * @param retryPermitted checked before every retry
+     * @return a CompletableFuture with the result of the last attempt
+     */
+    public CompletableFuture<NotificationResult> execute(Supplier<CompletableFuture<NotificationResult>> call,
+                                                         BooleanSupplier retryPermitted) {
+        budget.deposit();
+        CompletableFuture<NotificationResult> outcome = new CompletableFuture<>();
+        attempt(call, retryPermitted, 1, outcome);
+        return outcome;
+    }
+    
+    private void attempt(Supplier<CompletableFuture<NotificationResult>> call, BooleanSupplier retryPermitted,
+                         int attempt, CompletableFuture<NotificationResult> outcome) {
+        CompletableFuture<NotificationResult> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        
+        result.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                outcome.completeExceptionally(throwable);
+            } else if (!value.isRetryable() || attempt >= policy.getMaxAttempts() || !retryPermitted.getAsBoolean()) {
+                outcome.complete(value);
+            } else if (!budget.tryWithdraw()) {
+                budgetExhausted.increment();
+                outcome.complete(value);
+            } else {
+                scheduleRetry(call, retryPermitted, attempt, value, outcome);
+            }
+        });
+    }
+    
+    private void scheduleRetry(Supplier<CompletableFuture<NotificationResult>> call, BooleanSupplier retryPermitted,
+                               int attempt, NotificationResult failed, CompletableFuture<NotificationResult> outcome) {
+        long delay = Math.max(failed.getRetryAfterMillis(), backoffMillis(attempt));
+        logger.debug("Retrying {} delivery in {} ms (attempt {} failed: {})", 
+                failed.getServiceName(), delay, attempt, failed.getErrorMessage());
+        try {
+            scheduler.schedule(() -> attempt(call, retryPermitted, attempt + 1, outcome), delay, TimeUnit.MILLISECONDS);
+            retries.increment();
+        } catch (RejectedExecutionException e) {
+            // Shutting down: report the last failure instead of losing the future
+            outcome.complete(failed);
+        }
+    }
+    
+    private long backoffMillis(int attempt) {
+        long ceiling = policy.getInitialBackoffMillis() << Math.min(attempt - 1, 30);
+        ceiling = Math.min(ceiling, policy.getMaxBackoffMillis());
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+    
+    /**
+     * Get the number of retries scheduled so far.
+     * 
+     * @return the retry count
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+    
+    /**
+     * Get the number of retryable failures given up on because the retry budget was exhausted.
+     * 
+     * @return the number of retries denied by the budget
+     */
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+    
+    public RetryBudget getBudget() {
+        return budget;
+    }
+    
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.nnegi88.errormonitor.infrastructure.spool;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.port.NotificationSpool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * NotificationSpool backed by a {@link MappedSpool}.
+ * A background drainer replays spooled messages in order through their notification service to the
+ * destination they were routed to, both after a restart and once a webhook recovers. Overflowed log events are handed back to
+ * the pipeline through the registered event handler. Replay stops at the first message that still
+ * fails transiently and resumes on the next run, so a dead webhook is not hammered. Messages the
+ * webhook rejects permanently are discarded so they cannot block the records behind them.
+ */
+public class DiskNotificationSpool implements NotificationSpool {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DiskNotificationSpool.class);
+    private static final long DELIVERY_TIMEOUT_SECONDS = 60;
+    
+    private final MappedSpool spool;
+    private final Map<String, NotificationService> servicesByName;
+    private final ScheduledExecutorService scheduler;
+    private volatile Consumer<LogEvent> eventHandler;
+    private final LongAdder replayedNotifications = new LongAdder();
+    private final LongAdder discardedNotifications = new LongAdder();
+    
+    /**
+     * Create a spool and schedule its drainer.
+     * 
+     * @param spool the underlying mapped spool
+     * @param notificationServices the services spooled messages are replayed through
+     * @param scheduler the single-thread scheduler running the drainer, or null to only replay on demand
+     * @param replayIntervalMillis the delay between drain runs
+     */
+    public DiskNotificationSpool(MappedSpool spool, List<NotificationService> notificationServices,
+                                 ScheduledExecutorService scheduler, long replayIntervalMillis) {
+        this.spool = spool;
+        this.servicesByName = notificationServices.stream()
+                .collect(Collectors.toMap(NotificationService::getServiceName, Function.identity(), (a, b) -> a));
+        this.scheduler = scheduler;
+        if (scheduler != null) {
+            scheduler.scheduleWithFixedDelay(this::replaySafely, 
+                    replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public boolean offer(String serviceName, NotificationMessage message, Destination destination) {
+        boolean stored = spool.append(NotificationRecordCodec.encode(serviceName, message, destination));
+        if (!stored) {
+            logger.warn("Notification spool full, {} notification dropped", serviceName);
+        }
+        return stored;
+    }
+    
+    @Override
+    public boolean offerEvent(LogEvent event) {
+        // Offered on the logging thread, so the record is not compressed
+        boolean stored = spool.append(NotificationRecordCodec.encode(event), false);
+        if (!stored) {
+            logger.warn("Notification spool full, overflowed log event dropped");
+        }
+        return stored;
+    }
+    
+    @Override
+    public void replayEventsTo(Consumer<LogEvent> handler) {
+        this.eventHandler = handler;
+    }
+    
+    /**
+     * Deliver spooled messages in order until the spool is empty or a delivery fails transiently.
+     * 
+     * @return the number of messages delivered
+     */
+    public int replay() {
+        int delivered = 0;
+        byte[] record;
+        while ((record = spool.peek()) != null) {
+            NotificationRecordCodec.Record decoded;
+            try {
+                decoded = NotificationRecordCodec.decode(record);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Discarding unreadable spooled notification: {}", e.getMessage());
+                discardedNotifications.increment();
+                spool.ack();
+                continue;
+            }
+            
+            if (decoded.event != null) {
+                Consumer<LogEvent> handler = eventHandler;
+                if (handler == null) {
+                    // Wait until the pipeline has registered itself
+                    break;
+                }
+                handler.accept(decoded.event);
+                spool.ack();
+                replayedNotifications.increment();
+                delivered++;
+                continue;
+            }
+            
+            NotificationService service = servicesByName.get(decoded.serviceName);
+            if (service == null) {
+                logger.warn("Discarding spooled notification for unknown service '{}'", decoded.serviceName);
+                discardedNotifications.increment();
+                spool.ack();
+                continue;
+            }
+            
+            NotificationResult result = deliver(service, decoded.message, decoded.destination);
+            if (!result.isSuccessful()) {
+                if (result.isRetryable()) {
+                    break;
+                }
+                // A permanent rejection would block every later record and never succeed
+                logger.warn("Discarding spooled {} notification rejected permanently: {}",
+                        decoded.serviceName, result.getErrorMessage());
+                discardedNotifications.increment();
+                spool.ack();
+                continue;
+            }
+            spool.ack();
+            replayedNotifications.increment();
+            delivered++;
+        }
+        if (delivered > 0) {
+            logger.info("Replayed {} spooled notification(s), {} pending", delivered, spool.getPendingRecords());
+        }
+        return delivered;
+    }
+    
+    private NotificationResult deliver(NotificationService service, NotificationMessage message, Destination destination) {
+        try {
+            // Records without a destination predate destination encoding and go to the service's default
+            CompletableFuture<NotificationResult> delivery = destination != null
+                    ? service.sendNotification(message, destination) : service.sendNotification(message);
+            return delivery.get(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return transientFailure(service, e);
+        } catch (Exception e) {
+            // Timeouts and unexpected errors say nothing about the message, keep it for the next run
+            return transientFailure(service, e);
+        }
+    }
+    
+    private static NotificationResult transientFailure(NotificationService service, Exception e) {
+        return NotificationResult.retryableFailure(service.getServiceName(), String.valueOf(e.getMessage()), 0, 0);
+    }
+    
+    private void replaySafely() {
+        try {
+            replay();
+        } catch (Exception e) {
+            logger.warn("Spool replay failed: {}", e.getMessage());
+        }
+    }
+    
+    public int getPendingNotifications() {
+        return spool.getPendingRecords();
+    }
+    
+    public long getReplayedNotifications() {
+        return replayedNotifications.sum();
+    }
+    
+    /**
+     * Get the number of spooled notifications dropped because the spool was full.
+     * 
+     * @return the dropped notification count
+     */
+    public long getDroppedNotifications() {
+        return spool.getDroppedRecords();
+    }
+    
+    /**
+     * Get the number of spooled notifications discarded because they were unreadable, had no service
+     * or were rejected permanently on replay.
+     * 
+     * @return the discarded notification count
+     */
+    public long getDiscardedNotifications() {
+        return discardedNotifications.sum();
+    }
+    
+    /**
+     * Stop the drainer and flush the spool to disk; undelivered messages are replayed after restart.
+     */
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        spool.close();
+    }
+}
@@ -0,0 +1,455 @@
+package io.github.nnegi88.errormonitor.infrastructure.spool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segmented, memory-mapped, append-only log of opaque records.
+ * <p>
+ * Each segment is a fixed-size file with a small header holding the acknowledged read position.
+ * A record is written as {@code [length][crc32][flags][payload]}; the length is written last, so a
+ * record only becomes visible once it is complete, and the checksum rejects torn records after an
+ * OS crash. Records larger than {@value #COMPRESSION_THRESHOLD} bytes are deflated when that helps.
+ * <p>
+ * Appends and reads are serialized on the spool; there is a single reader that {@link #peek() peeks}
+ * and {@link #ack() acknowledges} records in order. Segments that have been fully acknowledged are
+ * renamed and reused, and no more than {@code maxSegments} files ever exist, so disk usage is bounded
+ * by {@code maxSegments * segmentSize}. When the spool is full new records are dropped and counted.
+ */
+public class MappedSpool implements Closeable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MappedSpool.class);
+    
+    private static final int MAGIC = 0x4E53504C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ACK_OFFSET = 8;
+    private static final int RECORD_HEADER_SIZE = 9;
+    private static final int END_MARKER_SIZE = 4;
+    private static final byte FLAG_DEFLATED = 1;
+    private static final int COMPRESSION_THRESHOLD = 256;
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final boolean compression;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Deque<Segment> recycled = new ArrayDeque<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private final CRC32 crc = new CRC32();
+    private long nextSegmentId;
+    private int pendingRecords;
+    private long appendedRecords;
+    private long droppedRecords;
+    private boolean closed;
+    
+    private MappedSpool(Path directory, int segmentSize, int maxSegments, boolean compression) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(2, maxSegments);
+        this.compression = compression;
+    }
+    
+    /**
+     * Open the spool in the given directory, recovering every unacknowledged record left by a previous run.
+     * 
+     * @param directory the spool directory, created if missing
+     * @param segmentSize the size of each segment file in bytes
+     * @param maxSegments the maximum number of segment files
+     * @param compression whether large records are deflated
+     * @return the opened spool
+     * @throws IOException if the directory or a segment cannot be opened
+     */
+    public static MappedSpool open(Path directory, int segmentSize, int maxSegments, boolean compression) throws IOException {
+        if (segmentSize < HEADER_SIZE + RECORD_HEADER_SIZE + END_MARKER_SIZE + 1) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        MappedSpool spool = new MappedSpool(directory, segmentSize, maxSegments, compression);
+        spool.recover();
+        return spool;
+    }
+    
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> segmentId(path) >= 0)
+                    .sorted((a, b) -> Long.compare(segmentId(a), segmentId(b)))
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Segment segment = Segment.open(file, segmentId(file), segmentSize);
+            nextSegmentId = segment.id + 1;
+            if (segment.readPosition < segment.writePosition) {
+                segments.add(segment);
+                pendingRecords += segment.countRecords();
+            } else if (segments.size() + recycled.size() < maxSegments) {
+                recycled.add(segment);
+            } else {
+                Files.deleteIfExists(file);
+            }
+        }
+        if (pendingRecords > 0) {
+            logger.info("Recovered {} undelivered notification(s) from spool {}", pendingRecords, directory);
+        }
+    }
+    
+    /**
+     * Append a record to the end of the spool.
+     * 
+     * @param record the record bytes
+     * @return true if the record was stored, false if it was dropped because the spool is full
+     */
+    public boolean append(byte[] record) {
+        return append(record, compression);
+    }
+    
+    /**
+     * Append a record to the end of the spool, deflating it only if requested and compression is enabled.
+     * 
+     * @param record the record bytes
+     * @param compress false to skip compression, for callers on a latency-sensitive thread
+     * @return true if the record was stored, false if it was dropped because the spool is full
+     */
+    public synchronized boolean append(byte[] record, boolean compress) {
+        if (closed) {
+            droppedRecords++;
+            return false;
+        }
+        byte flags = 0;
+        byte[] payload = record;
+        if (compress && compression && record.length >= COMPRESSION_THRESHOLD) {
+            byte[] deflated = deflate(record);
+            if (deflated.length < record.length) {
+                payload = deflated;
+                flags = FLAG_DEFLATED;
+            }
+        }
+        
+        int size = RECORD_HEADER_SIZE + payload.length;
+        Segment tail = segments.peekLast();
+        if (tail == null || !tail.hasRoom(size)) {
+            tail = size + END_MARKER_SIZE <= segmentSize - HEADER_SIZE ? nextSegment() : null;
+            if (tail == null) {
+                droppedRecords++;
+                return false;
+            }
+        }
+        
+        crc.reset();
+        crc.update(payload);
+        tail.write(payload, flags, (int) crc.getValue());
+        pendingRecords++;
+        appendedRecords++;
+        return true;
+    }
+    
+    /**
+     * Get the oldest unacknowledged record without removing it.
+     * 
+     * @return the record bytes, or null if every record has been acknowledged
+     */
+    public synchronized byte[] peek() {
+        while (!closed) {
+            Segment head = segments.peekFirst();
+            if (head == null) {
+                return null;
+            }
+            if (head.readPosition < head.writePosition) {
+                byte[] stored = head.readPayload();
+                if (stored != null) {
+                    return (head.readFlags() & FLAG_DEFLATED) != 0 ? inflate(stored) : stored;
+                }
+                // Corrupt record: nothing after it in this segment can be trusted
+                logger.warn("Skipping corrupt spool segment {}", head.path.getFileName());
+                pendingRecords -= head.countRecords();
+                head.acknowledge(head.writePosition);
+                continue;
+            }
+            if (head == segments.peekLast()) {
+                return null;
+            }
+            segments.pollFirst();
+            recycled.add(head);
+        }
+        return null;
+    }
+    
+    /**
+     * Acknowledge the record returned by the last {@link #peek()}, so it is never returned again.
+     */
+    public synchronized void ack() {
+        if (closed) {
+            return;
+        }
+        Segment head = segments.peekFirst();
+        if (head != null && head.readPosition < head.writePosition) {
+            head.acknowledge(head.readPosition + RECORD_HEADER_SIZE + head.readLength());
+            pendingRecords--;
+        }
+    }
+    
+    private Segment nextSegment() {
+        long id = nextSegmentId++;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        try {
+            Segment segment;
+            if (!recycled.isEmpty()) {
+                Segment reused = recycled.poll();
+                Files.move(reused.path, path, StandardCopyOption.ATOMIC_MOVE);
+                segment = reused.reset(path, id);
+            } else if (segments.size() < maxSegments) {
+                segment = Segment.open(path, id, segmentSize);
+            } else {
+                return null;
+            }
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            logger.warn("Failed to open spool segment {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+    
+    private byte[] deflate(byte[] record) {
+        deflater.reset();
+        deflater.setInput(record);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(record.length / 2 + 16);
+        out.write(record.length >>> 24);
+        out.write(record.length >>> 16);
+        out.write(record.length >>> 8);
+        out.write(record.length);
+        byte[] chunk = new byte[1024];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+    
+    private byte[] inflate(byte[] stored) {
+        int length = ((stored[0] & 0xFF) << 24) | ((stored[1] & 0xFF) << 16) | ((stored[2] & 0xFF) << 8) | (stored[3] & 0xFF);
+        byte[] record = new byte[length];
+        inflater.reset();
+        inflater.setInput(stored, 4, stored.length - 4);
+        try {
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                int n = inflater.inflate(record, offset, length - offset);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed spool record", e);
+        }
+        return record;
+    }
+    
+    private static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    public synchronized int getPendingRecords() {
+        return pendingRecords;
+    }
+    
+    public synchronized long getAppendedRecords() {
+        return appendedRecords;
+    }
+    
+    /**
+     * Get the number of records dropped because the spool was full.
+     * 
+     * @return the dropped record count
+     */
+    public synchronized long getDroppedRecords() {
+        return droppedRecords;
+    }
+    
+    /**
+     * Get the number of segment files on disk, including acknowledged ones kept for reuse.
+     * 
+     * @return the segment file count
+     */
+    public synchronized int getSegmentFiles() {
+        return segments.size() + recycled.size();
+    }
+    
+    /**
+     * Flush all segments to disk and stop accepting records.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<Segment> all = new ArrayList<>(segments);
+        all.addAll(recycled);
+        for (Segment segment : all) {
+            segment.buffer.force();
+        }
+        deflater.end();
+        inflater.end();
+    }
+    
+    /**
+     * One mapped segment file. Positions are byte offsets into the mapping.
+     */
+    private static final class Segment {
+        
+        private Path path;
+        private long id;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+        
+        private Segment(Path path, long id, MappedByteBuffer buffer) {
+            this.path = path;
+            this.id = id;
+            this.buffer = buffer;
+        }
+        
+        static Segment open(Path path, long id, int segmentSize) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, 
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size() >= HEADER_SIZE ? channel.size() : segmentSize;
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            Segment segment = new Segment(path, id, buffer);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return segment.reset(path, id);
+            }
+            segment.readPosition = Math.max(HEADER_SIZE, Math.min(buffer.getInt(ACK_OFFSET), buffer.capacity()));
+            segment.writePosition = segment.scan(segment.readPosition);
+            return segment;
+        }
+        
+        Segment reset(Path path, long id) {
+            this.path = path;
+            this.id = id;
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(ACK_OFFSET, HEADER_SIZE);
+            buffer.putInt(HEADER_SIZE, 0);
+            readPosition = HEADER_SIZE;
+            writePosition = HEADER_SIZE;
+            return this;
+        }
+        
+        private int scan(int position) {
+            CRC32 checksum = new CRC32();
+            int p = position;
+            while (p + RECORD_HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(p);
+                if (length <= 0 || p + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+                byte[] payload = bytesAt(p + RECORD_HEADER_SIZE, length);
+                checksum.reset();
+                checksum.update(payload);
+                if ((int) checksum.getValue() != buffer.getInt(p + 4)) {
+                    break;
+                }
+                p += RECORD_HEADER_SIZE + length;
+            }
+            return p;
+        }
+        
+        int countRecords() {
+            int count = 0;
+            int p = readPosition;
+            while (p < writePosition && buffer.getInt(p) > 0) {
+                p += RECORD_HEADER_SIZE + buffer.getInt(p);
+                count++;
+            }
+            return count;
+        }
+        
+        private byte[] bytesAt(int position, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position);
+            view.get(bytes);
+            return bytes;
+        }
+        
+        boolean hasRoom(int recordSize) {
+            return writePosition + recordSize + END_MARKER_SIZE <= buffer.capacity();
+        }
+        
+        void write(byte[] payload, byte flags, int checksum) {
+            int p = writePosition;
+            ByteBuffer view = buffer.duplicate();
+            view.position(p + RECORD_HEADER_SIZE);
+            view.put(payload);
+            buffer.putInt(p + 4, checksum);
+            buffer.put(p + 8, flags);
+            buffer.putInt(p + RECORD_HEADER_SIZE + payload.length, 0);
+            // Publishing the length last makes the record visible to recovery only once complete
+            buffer.putInt(p, payload.length);
+            writePosition = p + RECORD_HEADER_SIZE + payload.length;
+        }
+        
+        int readLength() {
+            return buffer.getInt(readPosition);
+        }
+        
+        byte readFlags() {
+            return buffer.get(readPosition + 8);
+        }
+        
+        byte[] readPayload() {
+            int length = readLength();
+            if (length <= 0 || readPosition + RECORD_HEADER_SIZE + length > writePosition) {
+                return null;
+            }
+            byte[] payload = bytesAt(readPosition + RECORD_HEADER_SIZE, length);
+            CRC32 checksum = new CRC32();
+            checksum.update(payload);
+            return (int) checksum.getValue() == buffer.getInt(readPosition + 4) ? payload : null;
+        }
+        
+        void acknowledge(int position) {
+            readPosition = position;
+            buffer.putInt(ACK_OFFSET, position);
+        }
+    }
+}
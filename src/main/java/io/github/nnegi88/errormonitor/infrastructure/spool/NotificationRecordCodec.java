@@ -0,0 +1,226 @@
+package io.github.nnegi88.errormonitor.infrastructure.spool;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of spool records: either an undelivered message with its target service name
+ * and destination, or a log event that overflowed the pipeline. Version 1 records carry no destination
+ * and are still read. Strings are length-prefixed UTF-8; metadata values keep their type when they are strings,
+ * booleans, integers or longs, and are stored as text otherwise.
+ */
+final class NotificationRecordCodec {
+    
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_DESTINATION = 1;
+    private static final byte KIND_MESSAGE = 0;
+    private static final byte KIND_EVENT = 1;
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    
+    /**
+     * A decoded spool record; exactly one of message and event is set.
+     */
+    static final class Record {
+        final String serviceName;
+        final NotificationMessage message;
+        final Destination destination;
+        final LogEvent event;
+        
+        Record(String serviceName, NotificationMessage message, Destination destination, LogEvent event) {
+            this.serviceName = serviceName;
+            this.message = message;
+            this.destination = destination;
+            this.event = event;
+        }
+    }
+    
+    private NotificationRecordCodec() {
+    }
+    
+    static byte[] encode(String serviceName, NotificationMessage message, Destination destination) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(KIND_MESSAGE);
+            writeString(out, serviceName);
+            // The delivery policy only shapes live delivery and is not needed for replay
+            out.writeBoolean(destination != null);
+            if (destination != null) {
+                writeString(out, destination.getWebhookUrl());
+                writeString(out, destination.getApplicationName());
+                writeString(out, destination.getEnvironment());
+                out.writeBoolean(destination.isIncludeStackTrace());
+            }
+            writeString(out, message.getTitle());
+            writeString(out, message.getContent());
+            writeString(out, message.getLevel());
+            writeString(out, message.getApplicationName());
+            writeString(out, message.getEnvironment());
+            writeString(out, message.getStackTrace());
+            out.writeLong(message.getTimestamp().getEpochSecond());
+            out.writeInt(message.getTimestamp().getNano());
+            out.writeInt(message.getMetadata().size());
+            for (Map.Entry<String, Object> entry : message.getMetadata().entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    static byte[] encode(LogEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(KIND_EVENT);
+            writeString(out, event.getLevel());
+            writeString(out, event.getMessage());
+            writeString(out, event.getFormattedMessage());
+            writeString(out, event.getLoggerName());
+            writeString(out, event.getThreadName());
+            writeString(out, event.getStackTrace());
+            writeString(out, event.getFingerprint());
+            Instant timestamp = event.getTimestamp() != null ? event.getTimestamp() : Instant.EPOCH;
+            out.writeLong(timestamp.getEpochSecond());
+            out.writeInt(timestamp.getNano());
+            Map<String, String> mdc = event.getMdcProperties() != null ? event.getMdcProperties() : Map.of();
+            out.writeInt(mdc.size());
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    static Record decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte version = in.readByte();
+        if (version != VERSION && version != VERSION_WITHOUT_DESTINATION) {
+            throw new IOException("Unsupported spool record version " + version);
+        }
+        byte kind = in.readByte();
+        if (kind == KIND_EVENT) {
+            return new Record(null, null, null, decodeEvent(in));
+        }
+        String serviceName = readString(in);
+        Destination destination = null;
+        if (version != VERSION_WITHOUT_DESTINATION && in.readBoolean()) {
+            destination = Destination.builder()
+                    .webhookUrl(readString(in))
+                    .applicationName(readString(in))
+                    .environment(readString(in))
+                    .includeStackTrace(in.readBoolean())
+                    .build();
+        }
+        NotificationMessage.Builder builder = NotificationMessage.builder()
+                .title(readString(in))
+                .content(readString(in))
+                .level(readString(in))
+                .applicationName(readString(in))
+                .environment(readString(in))
+                .stackTrace(readString(in));
+        builder.timestamp(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+        int size = in.readInt();
+        Map<String, Object> metadata = new HashMap<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            Object value = readValue(in);
+            if (key != null && value != null) {
+                metadata.put(key, value);
+            }
+        }
+        return new Record(serviceName, builder.metadata(metadata).build(), destination, null);
+    }
+    
+    private static LogEvent decodeEvent(DataInputStream in) throws IOException {
+        LogEvent.Builder builder = LogEvent.builder()
+                .level(readString(in))
+                .message(readString(in))
+                .formattedMessage(readString(in))
+                .loggerName(readString(in))
+                .threadName(readString(in))
+                .stackTrace(readString(in))
+                .fingerprint(readString(in))
+                .timestamp(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+        int size = in.readInt();
+        Map<String, String> mdc = new HashMap<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            String value = readString(in);
+            if (key != null && value != null) {
+                mdc.put(key, value);
+            }
+        }
+        return builder.mdcProperties(mdc).build();
+    }
+    
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeString(out, value != null ? value.toString() : null);
+        }
+    }
+    
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            default:
+                return readString(in);
+        }
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,272 @@
+package io.github.nnegi88.errormonitor.logback;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import io.github.nnegi88.errormonitor.infrastructure.async.NotificationWorkerThread;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Preallocated multi-producer/single-consumer ring buffer for logging events.
+ * Producers claim a slot with a single CAS and copy the event fields into it;
+ * a dedicated consumer thread drains published slots into a handler.
+ * Neither side allocates futures or takes locks.
+ * <p>
+ * The message is formatted and the MDC snapshotted while publishing, so arguments the
+ * application mutates after the log call are never read from the consumer thread.
+ * An idle consumer parks with a growing timeout and is unparked by the next publisher.
+ */
+public class LogEventRingBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogEventRingBuffer.class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final MdcSnapshotter mdcSnapshotter;
+    private final Consumer<Slot> handler;
+
+    private volatile long head;
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private volatile Thread consumerThread;
+
+    public LogEventRingBuffer(int requestedCapacity, Consumer<Slot> handler) {
+        this(requestedCapacity, new MdcSnapshotter(), handler);
+    }
+
+    /**
+     * @param requestedCapacity the capacity, rounded up to the next power of two
+     * @param mdcSnapshotter takes the MDC snapshot stored in a slot while publishing
+     * @param handler receives each published slot on the consumer thread
+     */
+    public LogEventRingBuffer(int requestedCapacity, MdcSnapshotter mdcSnapshotter, Consumer<Slot> handler) {
+        int capacity = nextPowerOfTwo(Math.max(2, requestedCapacity));
+        this.slots = new Slot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.mdcSnapshotter = mdcSnapshotter;
+        this.handler = handler;
+
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claim a slot and copy the event into it. Never blocks; returns false and
+     * counts the event as dropped when the buffer is full.
+     *
+     * @param event the logging event to publish
+     * @return true if the event was published
+     */
+    public boolean publish(ILoggingEvent event) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                droppedEvents.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        slots[index].copyFrom(event, mdcSnapshotter);
+        sequences.lazySet(index, position + 1);
+        if (consumerParked) {
+            LockSupport.unpark(consumerThread);
+        }
+        return true;
+    }
+
+    /**
+     * Start the dedicated consumer thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        consumerThread = new NotificationWorkerThread(this::consumeLoop, "notification-ring-consumer");
+        consumerThread.start();
+    }
+
+    /**
+     * Stop the consumer thread after draining what has already been published.
+     *
+     * @param timeoutMillis how long to wait for the consumer to finish
+     */
+    public synchronized void stop(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumerThread);
+        try {
+            consumerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return the number of published events not yet consumed
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    private void consumeLoop() {
+        int idle = 0;
+        long parkNanos = MIN_PARK_NANOS;
+        while (running) {
+            if (drain() > 0) {
+                idle = 0;
+                parkNanos = MIN_PARK_NANOS;
+            } else if (++idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                consumerParked = true;
+                // Re-check after announcing the park; a wakeup still missed in the race costs at most one park
+                if (drain() == 0 && running) {
+                    LockSupport.parkNanos(this, parkNanos);
+                    parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                } else {
+                    idle = 0;
+                    parkNanos = MIN_PARK_NANOS;
+                }
+                consumerParked = false;
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int drained = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                return drained;
+            }
+
+            Slot slot = slots[index];
+            try {
+                handler.accept(slot);
+            } catch (Exception e) {
+                logger.error("Failed to handle event from ring buffer", e);
+            } finally {
+                slot.clear();
+                sequences.lazySet(index, head + slots.length);
+                head++;
+                drained++;
+            }
+        }
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        int highestBit = Integer.highestOneBit(value);
+        return highestBit == value ? value : highestBit << 1;
+    }
+
+    /**
+     * Preallocated holder for the fields of one logging event.
+     * Only valid inside the consumer handler; cleared once the handler returns.
+     */
+    public static final class Slot {
+        private String level;
+        private String message;
+        private String formattedMessage;
+        private String loggerName;
+        private long timestamp;
+        private String threadName;
+        private IThrowableProxy throwableProxy;
+        private Map<String, String> mdcProperties;
+
+        private void copyFrom(ILoggingEvent event, MdcSnapshotter mdcSnapshotter) {
+            this.level = event.getLevel().toString();
+            this.message = event.getMessage();
+            // Formatted on the logging thread: the consumer must never read the caller's arguments
+            this.formattedMessage = event.getFormattedMessage();
+            this.loggerName = event.getLoggerName();
+            this.timestamp = event.getTimeStamp();
+            this.threadName = event.getThreadName();
+            this.throwableProxy = event.getThrowableProxy();
+            this.mdcProperties = mdcSnapshotter.snapshot(event.getMDCPropertyMap());
+        }
+
+        private void clear() {
+            this.message = null;
+            this.formattedMessage = null;
+            this.threadName = null;
+            this.throwableProxy = null;
+            this.mdcProperties = null;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getFormattedMessage() {
+            return formattedMessage;
+        }
+
+        public String getLoggerName() {
+            return loggerName;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public IThrowableProxy getThrowableProxy() {
+            return throwableProxy;
+        }
+
+        /**
+         * @return the immutable MDC snapshot taken while publishing
+         */
+        public Map<String, String> getMdcProperties() {
+            return mdcProperties;
+        }
+    }
+}
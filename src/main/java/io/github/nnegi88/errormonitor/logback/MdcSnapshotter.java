@@ -0,0 +1,73 @@
+package io.github.nnegi88.errormonitor.logback;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Takes the single immutable MDC snapshot an event carries through the notification pipeline.
+ * Keys are allow-listed or deny-listed while copying, so values that are never rendered are
+ * never copied. The snapshot is shared by reference from then on: {@code Map.copyOf} in
+ * the domain models returns an immutable map as is.
+ */
+public class MdcSnapshotter {
+
+    private final String[] includedKeys;
+    private final Set<String> excludedKeys;
+
+    public MdcSnapshotter() {
+        this(List.of(), List.of());
+    }
+
+    /**
+     * @param includedKeys the only keys captured, or empty to capture every key
+     * @param excludedKeys keys never captured, applied after the included keys
+     */
+    public MdcSnapshotter(Collection<String> includedKeys, Collection<String> excludedKeys) {
+        // Distinct keys only, a snapshot cannot hold the same key twice
+        this.includedKeys = includedKeys != null
+                ? new LinkedHashSet<>(includedKeys).toArray(new String[0]) : new String[0];
+        this.excludedKeys = excludedKeys != null ? Set.copyOf(excludedKeys) : Set.of();
+    }
+
+    /**
+     * Capture the allowed entries of an MDC map. Entries with null values are skipped.
+     *
+     * @param mdc the MDC property map of a logging event, may be null
+     * @return an immutable snapshot, empty if nothing is captured
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Map<String, String> snapshot(Map<String, String> mdc) {
+        if (mdc == null || mdc.isEmpty()) {
+            return Map.of();
+        }
+
+        Map.Entry<String, String>[] entries;
+        int count = 0;
+        if (includedKeys.length > 0) {
+            // Look up the few wanted keys instead of walking a large MDC
+            entries = new Map.Entry[includedKeys.length];
+            for (String key : includedKeys) {
+                String value = mdc.get(key);
+                if (value != null && !excludedKeys.contains(key)) {
+                    entries[count++] = Map.entry(key, value);
+                }
+            }
+        } else {
+            entries = new Map.Entry[mdc.size()];
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (entry.getValue() != null && !excludedKeys.contains(entry.getKey())) {
+                    entries[count++] = Map.entry(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        if (count == 0) {
+            return Map.of();
+        }
+        return Map.ofEntries(count == entries.length ? entries : Arrays.copyOf(entries, count));
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.nnegi88.errormonitor.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.github.nnegi88.errormonitor.domain.port.NotificationMetrics;
+import org.slf4j.Marker;
+
+import java.util.List;
+
+/**
+ * Decision stage attached to the notification appender that rejects events which can never alert
+ * before any conversion happens. The level threshold is precomputed as an int so the common
+ * rejection costs a single comparison on the logging thread; only events at or above the
+ * threshold are counted in the metrics.
+ */
+public class NotificationPreFilter extends Filter<ILoggingEvent> {
+
+    private static final String[] NO_PREFIXES = new String[0];
+
+    private int thresholdLevelInt = Level.ERROR.levelInt;
+    private String[] excludedLoggerPrefixes = NO_PREFIXES;
+    private String[] excludedMarkers = NO_PREFIXES;
+    private NotificationMetrics metrics = NotificationMetrics.NONE;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        // Below-threshold events are the common case and touch no shared counter
+        if (event.getLevel().levelInt < thresholdLevelInt) {
+            return FilterReply.DENY;
+        }
+
+        metrics.eventSeen();
+        if (isExcludedLogger(event.getLoggerName()) || hasExcludedMarker(event.getMarker())) {
+            metrics.eventFiltered();
+            return FilterReply.DENY;
+        }
+
+        return FilterReply.NEUTRAL;
+    }
+
+    private boolean isExcludedLogger(String loggerName) {
+        for (String prefix : excludedLoggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasExcludedMarker(Marker marker) {
+        if (marker == null || excludedMarkers.length == 0) {
+            return false;
+        }
+        for (String excludedMarker : excludedMarkers) {
+            if (marker.contains(excludedMarker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Set the lowest level that can trigger a notification, e.g. "WARN".
+     *
+     * @param minimumLevel the minimum level name; unknown values fall back to ERROR
+     */
+    public void setMinimumLevel(String minimumLevel) {
+        this.thresholdLevelInt = Level.toLevel(minimumLevel, Level.ERROR).levelInt;
+    }
+
+    public void setExcludedLoggerPrefixes(List<String> excludedLoggerPrefixes) {
+        this.excludedLoggerPrefixes = excludedLoggerPrefixes != null
+                ? excludedLoggerPrefixes.toArray(new String[0]) : NO_PREFIXES;
+    }
+
+    public void setExcludedMarkers(List<String> excludedMarkers) {
+        this.excludedMarkers = excludedMarkers != null
+                ? excludedMarkers.toArray(new String[0]) : NO_PREFIXES;
+    }
+
+    public void setMetrics(NotificationMetrics metrics) {
+        this.metrics = metrics != null ? metrics : NotificationMetrics.NONE;
+    }
+
+    public int getThresholdLevelInt() {
+        return thresholdLevelInt;
+    }
+}
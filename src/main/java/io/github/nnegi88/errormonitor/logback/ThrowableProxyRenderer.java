@@ -0,0 +1,56 @@
+package io.github.nnegi88.errormonitor.logback;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import io.github.nnegi88.errormonitor.domain.service.BoundedStackTraceRenderer;
+
+/**
+ * Renders a Logback {@link IThrowableProxy} into a bounded stack trace string.
+ * Rendering stops as soon as the frame or character budget is exhausted, so deep
+ * traces are never fully materialized. Common frames are the ones Logback already
+ * counted when it built the proxy.
+ */
+public class ThrowableProxyRenderer extends BoundedStackTraceRenderer<IThrowableProxy, StackTraceElementProxy> {
+
+    public ThrowableProxyRenderer() {
+        this(DEFAULT_MAX_FRAMES, DEFAULT_MAX_CHARS);
+    }
+
+    public ThrowableProxyRenderer(int maxFrames, int maxChars) {
+        super(maxFrames, maxChars);
+    }
+
+    @Override
+    protected void appendHeader(StringBuilder out, IThrowableProxy proxy) {
+        out.append(proxy.getClassName());
+        if (proxy.getMessage() != null) {
+            out.append(": ").append(proxy.getMessage());
+        }
+    }
+
+    @Override
+    protected StackTraceElementProxy[] frames(IThrowableProxy proxy) {
+        return proxy.getStackTraceElementProxyArray();
+    }
+
+    @Override
+    protected void appendFrame(StringBuilder out, StackTraceElementProxy frame) {
+        out.append(frame.getSTEAsString());
+    }
+
+    @Override
+    protected int commonFrames(IThrowableProxy proxy, StackTraceElementProxy[] frames,
+                               StackTraceElementProxy[] enclosingFrames) {
+        return proxy.getCommonFrames();
+    }
+
+    @Override
+    protected IThrowableProxy cause(IThrowableProxy proxy) {
+        return proxy.getCause();
+    }
+
+    @Override
+    protected IThrowableProxy[] suppressed(IThrowableProxy proxy) {
+        return proxy.getSuppressed();
+    }
+}
@@ -1,48 +1,105 @@
 package io.github.nnegi88.errormonitor.logback;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import io.github.nnegi88.errormonitor.domain.model.LogEvent;
 import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
 import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationSpool;
+import io.github.nnegi88.errormonitor.domain.service.EventFingerprinter;
 import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.async.NotificationWorkerThread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Unified Logback appender that follows SOLID principles.
  * Uses dependency injection and delegates to domain services for notification processing.
+ * Extends the unsynchronized base so concurrent logging threads never contend on the appender itself.
  */
-public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
+public class UnifiedNotificationAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
     
     private static final Logger logger = LoggerFactory.getLogger(UnifiedNotificationAppender.class);
     
+    /**
+     * Events from the starter's own loggers are never turned into notifications,
+     * otherwise a delivery failure would alert about itself and feed a storm.
+     */
+    private static final String SELF_LOGGER_PREFIX = "io.github.nnegi88.errormonitor";
+    
+    /**
+     * Marks a logging thread that is currently running pipeline work synchronously.
+     */
+    private static final ThreadLocal<Boolean> IN_PIPELINE = new ThreadLocal<>();
+    
+    // Spilled events keep the exception header only, they are converted on the logging thread
+    private static final int SPILLED_STACK_TRACE_MAX_CHARS = 512;
+    
     private NotificationOrchestrator orchestrator;
     private AsyncProcessor asyncProcessor;
     private List<NotificationConfig> configurations;
     private boolean async = true;
+    private boolean ringBufferEnabled = false;
+    private int ringBufferSize = 1024;
+    private boolean deferredConversion = false;
+    private int stackTraceMaxFrames = ThrowableProxyRenderer.DEFAULT_MAX_FRAMES;
+    private int stackTraceMaxChars = ThrowableProxyRenderer.DEFAULT_MAX_CHARS;
+    private ThrowableProxyRenderer throwableRenderer = new ThrowableProxyRenderer();
+    private ThrowableProxyRenderer spillRenderer = new ThrowableProxyRenderer(0, SPILLED_STACK_TRACE_MAX_CHARS);
+    private List<String> mdcIncludedKeys = List.of();
+    private List<String> mdcExcludedKeys = List.of();
+    private MdcSnapshotter mdcSnapshotter = new MdcSnapshotter();
+    private final EventFingerprinter fingerprinter = new EventFingerprinter();
+    private LogEventRingBuffer ringBuffer;
+    private int thresholdLevelInt = Level.ALL_INT;
+    private final LongAdder suppressedSelfEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
     
+    /**
+     * Events below the threshold of every configuration return before anything is allocated,
+     * so the appender stays cheap even without a {@link NotificationPreFilter} in front of it.
+     */
     @Override
     protected void append(ILoggingEvent event) {
+        if (event.getLevel().levelInt < thresholdLevelInt) {
+            return;
+        }
+        
         if (orchestrator == null || configurations == null || configurations.isEmpty()) {
             return;
         }
         
+        if (isSelfEvent(event)) {
+            suppressedSelfEvents.increment();
+            return;
+        }
+        
+        // Lock-free path: claim a slot and let the consumer thread do the rest
+        if (ringBuffer != null) {
+            ringBuffer.publish(event);
+            return;
+        }
+        
         try {
-            LogEvent logEvent = convertToLogEvent(event);
-            
-            if (async && asyncProcessor != null && asyncProcessor.canAcceptTasks()) {
-                asyncProcessor.processAsync(() -> processEvent(logEvent))
-                        .exceptionally(throwable -> {
-                            logger.error("Failed to process log event asynchronously", throwable);
-                            return null;
-                        });
+            if (async) {
+                submit(event);
             } else {
-                processEvent(logEvent);
+                IN_PIPELINE.set(Boolean.TRUE);
+                try {
+                    processEvent(convertToLogEvent(event));
+                } finally {
+                    IN_PIPELINE.remove();
+                }
             }
             
         } catch (Exception e) {
@@ -50,6 +107,51 @@ public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
         }
     }
     
+    private void submit(ILoggingEvent event) {
+        if (asyncProcessor == null) {
+            droppedEvents.increment();
+            return;
+        }
+        // A full queue is resolved by the processor's overflow policy, never by running the pipeline here
+        asyncProcessor.processAsync(createTask(event), event.getLevel().levelInt, spillAction(event))
+                .exceptionally(throwable -> {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    if (!(cause instanceof RejectedExecutionException)) {
+                        logger.error("Failed to process log event asynchronously", throwable);
+                    }
+                    return null;
+                });
+    }
+    
+    private BooleanSupplier spillAction(ILoggingEvent event) {
+        NotificationSpool spool = orchestrator.getSpool();
+        if (spool == null) {
+            return null;
+        }
+        // Only invoked on overflow, on the logging thread because the event must outlive it: the
+        // stack trace is reduced to its header so the record stays small and is written uncompressed
+        return () -> spool.offerEvent(convertToLogEvent(event, spillRenderer));
+    }
+    
+    private boolean isSelfEvent(ILoggingEvent event) {
+        return NotificationWorkerThread.isCurrentThreadWorker()
+                || IN_PIPELINE.get() != null
+                || event.getLoggerName().startsWith(SELF_LOGGER_PREFIX);
+    }
+    
+    private Runnable createTask(ILoggingEvent event) {
+        if (deferredConversion) {
+            // Formats the message and captures thread name and MDC here, on the logging thread; only
+            // stack trace rendering, fingerprinting and MDC filtering move to the worker
+            event.prepareForDeferredProcessing();
+            return () -> processEvent(convertToLogEvent(event));
+        }
+        
+        LogEvent logEvent = convertToLogEvent(event);
+        return () -> processEvent(logEvent);
+    }
+    
     private void processEvent(LogEvent logEvent) {
         orchestrator.processEvent(logEvent, configurations)
                 .thenAccept(results -> {
@@ -68,7 +170,29 @@ public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
                 });
     }
     
+    private void processSlot(LogEventRingBuffer.Slot slot) {
+        processEvent(convertToLogEvent(slot));
+    }
+    
+    private LogEvent convertToLogEvent(LogEventRingBuffer.Slot slot) {
+        return LogEvent.builder()
+                .level(slot.getLevel())
+                .message(slot.getMessage())
+                .formattedMessage(slot.getFormattedMessage())
+                .loggerName(slot.getLoggerName())
+                .timestamp(Instant.ofEpochMilli(slot.getTimestamp()))
+                .threadName(slot.getThreadName())
+                .stackTrace(throwableRenderer.render(slot.getThrowableProxy()))
+                .fingerprint(fingerprint(slot.getLoggerName(), slot.getThrowableProxy()))
+                .mdcProperties(slot.getMdcProperties())
+                .build();
+    }
+    
     private LogEvent convertToLogEvent(ILoggingEvent event) {
+        return convertToLogEvent(event, throwableRenderer);
+    }
+    
+    private LogEvent convertToLogEvent(ILoggingEvent event, ThrowableProxyRenderer renderer) {
         return LogEvent.builder()
                 .level(event.getLevel().toString())
                 .message(event.getMessage())
@@ -76,13 +200,25 @@ public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
                 .loggerName(event.getLoggerName())
                 .timestamp(Instant.ofEpochMilli(event.getTimeStamp()))
                 .threadName(event.getThreadName())
-                .throwable(event.getThrowableProxy() != null ? 
-                        new RuntimeException(event.getThrowableProxy().getMessage()) : null)
-                .mdcProperties(event.getMDCPropertyMap() != null ? 
-                        Map.copyOf(event.getMDCPropertyMap()) : Map.of())
+                .stackTrace(renderer.render(event.getThrowableProxy()))
+                .fingerprint(fingerprint(event.getLoggerName(), event.getThrowableProxy()))
+                .mdcProperties(mdcSnapshotter.snapshot(event.getMDCPropertyMap()))
                 .build();
     }
     
+    private String fingerprint(String loggerName, IThrowableProxy proxy) {
+        if (proxy == null) {
+            // The orchestrator fingerprints exception-less events by their message template
+            return null;
+        }
+        StackTraceElementProxy[] proxies = proxy.getStackTraceElementProxyArray();
+        StackTraceElement[] frames = new StackTraceElement[Math.min(proxies.length, fingerprinter.getFrameCount())];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = proxies[i].getStackTraceElement();
+        }
+        return fingerprinter.fingerprint(loggerName, proxy.getClassName(), frames);
+    }
+    
     @Override
     public void start() {
         if (orchestrator == null) {
@@ -95,16 +231,47 @@ public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
             return;
         }
         
-        logger.info("Starting UnifiedNotificationAppender with {} configurations, async: {}", 
-                configurations.size(), async);
+        throwableRenderer = new ThrowableProxyRenderer(stackTraceMaxFrames, stackTraceMaxChars);
+        spillRenderer = new ThrowableProxyRenderer(0, Math.min(stackTraceMaxChars, SPILLED_STACK_TRACE_MAX_CHARS));
+        mdcSnapshotter = new MdcSnapshotter(mdcIncludedKeys, mdcExcludedKeys);
+        thresholdLevelInt = lowestThreshold(configurations);
+        orchestrator.compileRoutes(configurations);
+        
+        if (orchestrator.getSpool() != null) {
+            orchestrator.getSpool().replayEventsTo(this::processEvent);
+        }
+        
+        if (ringBufferEnabled) {
+            ringBuffer = new LogEventRingBuffer(ringBufferSize, mdcSnapshotter, this::processSlot);
+            ringBuffer.start();
+        }
+        
+        logger.info("Starting UnifiedNotificationAppender with {} configurations, async: {}, ring buffer: {}", 
+                configurations.size(), async, ringBuffer != null ? ringBuffer.getCapacity() : "disabled");
         
         super.start();
     }
     
+    private static int lowestThreshold(List<NotificationConfig> configurations) {
+        // With every configuration disabled nothing can alert, OFF rejects all events
+        int threshold = Level.OFF_INT;
+        for (NotificationConfig config : configurations) {
+            if (config.isEnabled()) {
+                threshold = Math.min(threshold, Level.toLevel(config.getMinimumLevel(), Level.ERROR).levelInt);
+            }
+        }
+        return threshold;
+    }
+    
     @Override
     public void stop() {
         logger.info("Stopping UnifiedNotificationAppender");
         
+        if (ringBuffer != null) {
+            ringBuffer.stop(5000);
+            ringBuffer = null;
+        }
+        
         if (asyncProcessor != null) {
             asyncProcessor.shutdown();
         }
@@ -129,6 +296,34 @@ public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
         this.async = async;
     }
     
+    public void setRingBufferEnabled(boolean ringBufferEnabled) {
+        this.ringBufferEnabled = ringBufferEnabled;
+    }
+    
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+    
+    public void setDeferredConversion(boolean deferredConversion) {
+        this.deferredConversion = deferredConversion;
+    }
+    
+    public void setStackTraceMaxFrames(int stackTraceMaxFrames) {
+        this.stackTraceMaxFrames = stackTraceMaxFrames;
+    }
+    
+    public void setStackTraceMaxChars(int stackTraceMaxChars) {
+        this.stackTraceMaxChars = stackTraceMaxChars;
+    }
+    
+    public void setMdcIncludedKeys(List<String> mdcIncludedKeys) {
+        this.mdcIncludedKeys = mdcIncludedKeys != null ? mdcIncludedKeys : List.of();
+    }
+    
+    public void setMdcExcludedKeys(List<String> mdcExcludedKeys) {
+        this.mdcExcludedKeys = mdcExcludedKeys != null ? mdcExcludedKeys : List.of();
+    }
+    
     // Getters for configuration
     public NotificationOrchestrator getOrchestrator() {
         return orchestrator;
@@ -145,4 +340,65 @@ public class UnifiedNotificationAppender extends AppenderBase<ILoggingEvent> {
     public boolean isAsync() {
         return async;
     }
+    
+    public boolean isRingBufferEnabled() {
+        return ringBufferEnabled;
+    }
+    
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+    
+    public boolean isDeferredConversion() {
+        return deferredConversion;
+    }
+    
+    public int getStackTraceMaxFrames() {
+        return stackTraceMaxFrames;
+    }
+    
+    public int getStackTraceMaxChars() {
+        return stackTraceMaxChars;
+    }
+    
+    public List<String> getMdcIncludedKeys() {
+        return mdcIncludedKeys;
+    }
+    
+    public List<String> getMdcExcludedKeys() {
+        return mdcExcludedKeys;
+    }
+    
+    /**
+     * Get the lowest level that can reach a notification, derived from the enabled configurations on start.
+     * 
+     * @return the level threshold as a Logback level int
+     */
+    public int getThresholdLevelInt() {
+        return thresholdLevelInt;
+    }
+    
+    /**
+     * Get the number of events logged by the notification pipeline itself that were
+     * suppressed instead of being turned into new notifications.
+     * 
+     * @return the suppressed self-event count
+     */
+    public long getSuppressedSelfEvents() {
+        return suppressedSelfEvents.sum();
+    }
+    
+    /**
+     * Get the number of events dropped because no async processor was available.
+     * Overflow drops are counted by the processor, see {@link AsyncProcessor#getDroppedTasks()}.
+     * 
+     * @return the dropped event count
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+    
+    public LogEventRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
 }
\ No newline at end of file
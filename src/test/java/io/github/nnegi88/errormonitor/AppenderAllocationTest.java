@@ -0,0 +1,165 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.metrics.MicrometerNotificationMetrics;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackNotificationService;
+import io.github.nnegi88.errormonitor.logback.NotificationPreFilter;
+import io.github.nnegi88.errormonitor.logback.UnifiedNotificationAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the rejection path of the appender against allocations.
+ * Almost no log event ever alerts, so whatever the rejected ones allocate is paid on every log call.
+ * The budget is below one byte per event: the measurement itself allocates a little, while a single
+ * object per event would add at least sixteen bytes each.
+ */
+public class AppenderAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int EVENTS = 100_000;
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Per-thread allocation counters are not available on this JVM");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void testLevelBelowThresholdDoesNotAllocate() {
+        UnifiedNotificationAppender appender = startedAppender(preFilter(), config(true));
+
+        assertAllocationFree(appender, event("com.example.checkout.PaymentService", Level.INFO));
+        // The level rejection touches no counter at all
+        assertEquals(0, registry.get("errormonitor.events.seen").counter().count());
+        assertEquals(0, registry.get("errormonitor.events.filtered").counter().count());
+    }
+
+    @Test
+    public void testLevelBelowThresholdWithoutPreFilterDoesNotAllocate() {
+        UnifiedNotificationAppender appender = startedAppender(null, config(true));
+
+        assertAllocationFree(appender, event("com.example.checkout.PaymentService", Level.WARN));
+    }
+
+    @Test
+    public void testExcludedLoggerDoesNotAllocate() {
+        NotificationPreFilter preFilter = preFilter();
+        preFilter.setExcludedLoggerPrefixes(List.of("org.hibernate", "com.example.noisy"));
+        UnifiedNotificationAppender appender = startedAppender(preFilter, config(true));
+
+        assertAllocationFree(appender, event("com.example.noisy.RetryingClient", Level.ERROR));
+        assertEquals(WARMUP + EVENTS, registry.get("errormonitor.events.filtered").counter().count());
+    }
+
+    @Test
+    public void testExcludedMarkerDoesNotAllocate() {
+        UnifiedNotificationAppender appender = startedAppender(preFilter(), config(true));
+        LoggingEvent event = event("com.example.checkout.PaymentService", Level.ERROR);
+        event.setMarker(MarkerFactory.getMarker("NO_ALERT"));
+
+        assertAllocationFree(appender, event);
+    }
+
+    @Test
+    public void testSelfEventDoesNotAllocate() {
+        UnifiedNotificationAppender appender = startedAppender(preFilter(), config(true));
+
+        assertAllocationFree(appender, event("io.github.nnegi88.errormonitor.domain.service.DeliveryLanes", Level.ERROR));
+        assertEquals(WARMUP + EVENTS, appender.getSuppressedSelfEvents());
+    }
+
+    @Test
+    public void testDisabledAppenderDoesNotAllocate() {
+        UnifiedNotificationAppender disabled = startedAppender(preFilter(), config(false));
+        UnifiedNotificationAppender stopped = startedAppender(preFilter(), config(true));
+        stopped.stop();
+
+        assertAllocationFree(disabled, event("com.example.checkout.PaymentService", Level.ERROR));
+        assertAllocationFree(stopped, event("com.example.checkout.PaymentService", Level.ERROR));
+    }
+
+    private void assertAllocationFree(UnifiedNotificationAppender appender, LoggingEvent event) {
+        // Warm up past one-time work such as logback's first status warnings and JIT compilation
+        for (int i = 0; i < WARMUP; i++) {
+            appender.doAppend(event);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < EVENTS; i++) {
+            appender.doAppend(event);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < EVENTS,
+                "Rejecting " + EVENTS + " events allocated " + allocated + " bytes");
+    }
+
+    private UnifiedNotificationAppender startedAppender(NotificationPreFilter preFilter, NotificationConfig config) {
+        SlackNotificationService service = new SlackNotificationService(
+                (message, webhookUrl) -> CompletableFuture.completedFuture(NotificationResult.success("slack")),
+                new SlackMessageFormatter());
+
+        UnifiedNotificationAppender appender = new UnifiedNotificationAppender();
+        appender.setContext(loggerContext);
+        appender.setOrchestrator(new NotificationOrchestrator(List.of(service)));
+        appender.setConfigurations(List.of(config));
+        if (preFilter != null) {
+            appender.addFilter(preFilter);
+        }
+        appender.start();
+        assertTrue(appender.isStarted());
+        return appender;
+    }
+
+    private NotificationPreFilter preFilter() {
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setContext(loggerContext);
+        preFilter.setMinimumLevel("ERROR");
+        preFilter.setExcludedMarkers(List.of("NO_ALERT"));
+        preFilter.setMetrics(new MicrometerNotificationMetrics(registry));
+        preFilter.start();
+        return preFilter;
+    }
+
+    private NotificationConfig config(boolean enabled) {
+        return SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/services/T000/B000/secret")
+                .applicationName("test-app")
+                .minimumLevel("ERROR")
+                .enabled(enabled)
+                .build();
+    }
+
+    private LoggingEvent event(String loggerName, Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        event.setLoggerName(loggerName);
+        event.setMessage("Card issuer unavailable");
+        return event;
+    }
+}
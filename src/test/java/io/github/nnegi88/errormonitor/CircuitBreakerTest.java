@@ -0,0 +1,156 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.SlackClient;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackNotificationService;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreaker;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerRegistry;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.ResilientSlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.RetryPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.RetryScheduler;
+import io.github.nnegi88.errormonitor.infrastructure.spool.DiskNotificationSpool;
+import io.github.nnegi88.errormonitor.infrastructure.spool.MappedSpool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-webhook circuit breaker.
+ */
+public class CircuitBreakerTest {
+    
+    private static final String WEBHOOK = "https://hooks.slack.com/services/T000/B000/XXXX";
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void testCircuitOpensOnFailuresAndRecoversThroughProbe() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean healthy = new AtomicBoolean(false);
+        SlackClient endpoint = (message, url) -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(healthy.get()
+                    ? NotificationResult.success("slack")
+                    : NotificationResult.failure("slack", "HTTP 503", 503));
+        };
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(CircuitBreakerPolicy.builder()
+                .minimumCalls(4)
+                .windowSize(4)
+                .openDurationMillis(100)
+                .build());
+        SlackClient client = new ResilientSlackClient(endpoint, registry);
+        SlackMessage message = SlackMessage.builder().text("boom").build();
+        
+        for (int i = 0; i < 4; i++) {
+            client.sendMessage(message, WEBHOOK).get(1, TimeUnit.SECONDS);
+        }
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(WEBHOOK);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        
+        // Open circuit: rejected without touching the endpoint
+        NotificationResult rejected = client.sendMessage(message, WEBHOOK).get(1, TimeUnit.SECONDS);
+        assertFalse(rejected.isSuccessful());
+        assertTrue(rejected.isRetryable(), "Open circuit rejections must stay retryable so they are spooled");
+        assertFalse(client.isAvailable(WEBHOOK));
+        assertEquals(4, calls.get());
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+        
+        // After the open duration a single probe is let through and closes the circuit
+        Thread.sleep(150);
+        healthy.set(true);
+        assertTrue(client.isAvailable(WEBHOOK));
+        assertTrue(client.sendMessage(message, WEBHOOK).get(1, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(5, calls.get());
+    }
+    
+    @Test
+    public void testPayloadRejectionsDoNotOpenCircuit() throws Exception {
+        SlackClient endpoint = (message, url) -> CompletableFuture.completedFuture(
+                NotificationResult.failure("slack", "HTTP 400: invalid_blocks", 400));
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(CircuitBreakerPolicy.builder()
+                .minimumCalls(2)
+                .build());
+        SlackClient client = new ResilientSlackClient(endpoint, registry);
+        
+        for (int i = 0; i < 10; i++) {
+            client.sendMessage(SlackMessage.builder().text("bad").build(), WEBHOOK).get(1, TimeUnit.SECONDS);
+        }
+        
+        assertEquals(CircuitBreaker.State.CLOSED, registry.circuitBreaker(WEBHOOK).getState());
+    }
+    
+    @Test
+    public void testCircuitOpeningDuringRetriesSpoolsTheMessage() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        SlackClient endpoint = (message, url) -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(NotificationResult.retryableFailure("slack", "HTTP 503", 503, 0));
+        };
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(CircuitBreakerPolicy.builder()
+                .minimumCalls(2)
+                .windowSize(2)
+                .openDurationMillis(60_000)
+                .build());
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        RetryScheduler retryScheduler = new RetryScheduler(scheduler, RetryPolicy.builder()
+                .maxAttempts(5)
+                .initialBackoffMillis(1)
+                .build());
+        SlackNotificationService service = new SlackNotificationService(
+                new ResilientSlackClient(endpoint, registry, retryScheduler), new SlackMessageFormatter());
+        DiskNotificationSpool spool = new DiskNotificationSpool(
+                MappedSpool.open(directory, 64 * 1024, 2, false), List.of(service), null, 0);
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(service), null, null, null, spool);
+        NotificationConfig config = SlackConfig.builder()
+                .webhookUrl(WEBHOOK)
+                .applicationName("test-app")
+                .build();
+        
+        try {
+            List<NotificationResult> results = orchestrator.processEvent(event(), List.of(config)).get(5, TimeUnit.SECONDS);
+            
+            // Two failures open the circuit, which ends the retries instead of burning the remaining attempts
+            assertEquals(CircuitBreaker.State.OPEN, registry.circuitBreaker(WEBHOOK).getState());
+            assertEquals(2, calls.get());
+            assertTrue(results.get(0).isRetryable());
+            assertEquals(1, spool.getPendingNotifications());
+            
+            // Later alerts are rejected by the open circuit and spooled as well
+            orchestrator.processEvent(event(), List.of(config)).get(5, TimeUnit.SECONDS);
+            assertEquals(2, calls.get());
+            assertEquals(2, spool.getPendingNotifications());
+        } finally {
+            spool.shutdown();
+            scheduler.shutdownNow();
+        }
+    }
+    
+    private LogEvent event() {
+        return LogEvent.builder()
+                .level("ERROR")
+                .message("Payment failed")
+                .loggerName("com.example.PaymentService")
+                .timestamp(Instant.now())
+                .build();
+    }
+}
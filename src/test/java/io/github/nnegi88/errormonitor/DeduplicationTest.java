@@ -0,0 +1,92 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.service.DeduplicationCache;
+import io.github.nnegi88.errormonitor.domain.service.EventFingerprinter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for failure fingerprinting and duplicate suppression.
+ */
+public class DeduplicationTest {
+    
+    private final EventFingerprinter fingerprinter = new EventFingerprinter();
+    
+    @Test
+    public void testFingerprintIgnoresLineNumbersLambdaIndicesAndProxySuffixes() {
+        StackTraceElement[] first = {
+                new StackTraceElement("com.example.OrderService$$EnhancerBySpringCGLIB$$1a2b3c", "place", "OrderService.java", 42),
+                new StackTraceElement("com.example.OrderService", "lambda$place$0", "OrderService.java", 40),
+                new StackTraceElement("com.sun.proxy.$Proxy87", "save", null, -1)
+        };
+        StackTraceElement[] second = {
+                new StackTraceElement("com.example.OrderService$$EnhancerBySpringCGLIB$$9f8e7d", "place", "OrderService.java", 57),
+                new StackTraceElement("com.example.OrderService", "lambda$place$3", "OrderService.java", 55),
+                new StackTraceElement("com.sun.proxy.$Proxy112", "save", null, -1)
+        };
+        StackTraceElement[] otherMethod = {
+                new StackTraceElement("com.example.OrderService", "cancel", "OrderService.java", 42)
+        };
+        
+        String fingerprint = fingerprinter.fingerprint("com.example.OrderService", "java.lang.IllegalStateException", first);
+        
+        assertEquals(fingerprint, 
+                fingerprinter.fingerprint("com.example.OrderService", "java.lang.IllegalStateException", second));
+        assertNotEquals(fingerprint, 
+                fingerprinter.fingerprint("com.example.OrderService", "java.lang.IllegalArgumentException", first));
+        assertNotEquals(fingerprint, 
+                fingerprinter.fingerprint("com.example.OrderService", "java.lang.IllegalStateException", otherMethod));
+    }
+    
+    @Test
+    public void testDuplicatesWithinWindowAreCountedAndReportedOnNextDelivery() {
+        DeduplicationCache cache = new DeduplicationCache(1000, 100);
+        
+        assertEquals(0, cache.check("abc", 0));
+        assertEquals(DeduplicationCache.SUPPRESS, cache.check("abc", 100));
+        assertEquals(DeduplicationCache.SUPPRESS, cache.check("abc", 999));
+        assertEquals(0, cache.check("def", 500));
+        
+        assertEquals(2, cache.check("abc", 1000));
+        assertEquals(DeduplicationCache.SUPPRESS, cache.check("abc", 1500));
+        assertEquals(3, cache.getSuppressedEvents());
+    }
+    
+    @Test
+    public void testFullCacheEvictsExpiredEntriesAndFailsOpen() {
+        DeduplicationCache cache = new DeduplicationCache(1000, 2);
+        
+        cache.check("a", 0);
+        cache.check("b", 0);
+        
+        // No room and nothing expired: the event is delivered untracked
+        assertEquals(0, cache.check("c", 10));
+        assertEquals(0, cache.check("c", 20));
+        assertEquals(2, cache.size());
+        
+        // Once the window has passed, expired entries make room again
+        assertEquals(0, cache.check("c", 1500));
+        assertEquals(DeduplicationCache.SUPPRESS, cache.check("c", 1600));
+    }
+    
+    @Test
+    public void testFullCacheSweepsAtMostOncePerInterval() {
+        // A 1000 ms window sweeps at most every 100 ms
+        DeduplicationCache cache = new DeduplicationCache(1000, 2);
+        cache.check("a", 0);
+        cache.check("b", 50);
+        
+        // The sweep at 1010 evicts "a" only, "b" is not expired yet
+        assertEquals(0, cache.check("c", 1010));
+        assertEquals(DeduplicationCache.SUPPRESS, cache.check("c", 1020));
+        
+        // "b" has expired by now, but the next sweep is not due: delivered untracked
+        assertEquals(0, cache.check("d", 1060));
+        assertEquals(0, cache.check("d", 1070));
+        assertEquals(2, cache.size());
+        
+        assertEquals(0, cache.check("d", 1110));
+        assertEquals(DeduplicationCache.SUPPRESS, cache.check("d", 1120));
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.service.DeliveryLanes;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for per-destination delivery isolation.
+ */
+public class DeliveryLanesTest {
+    
+    private static final int WARN = 3;
+    private static final int ERROR = 4;
+    
+    @Test
+    public void testSlowDestinationDoesNotDelayOthersAndErrorsGoFirst() {
+        DeliveryLanes lanes = new DeliveryLanes();
+        NotificationConfig slow = config(1, 16);
+        NotificationConfig healthy = config(1, 16);
+        List<String> started = new ArrayList<>();
+        CompletableFuture<NotificationResult> stuck = new CompletableFuture<>();
+        
+        lanes.submit(slow, "Slack", ERROR, () -> {
+            started.add("slow-1");
+            return stuck;
+        });
+        lanes.submit(slow, "Slack", WARN, () -> record(started, "slow-warn"));
+        lanes.submit(slow, "Slack", ERROR, () -> record(started, "slow-error"));
+        CompletableFuture<NotificationResult> other = lanes.submit(healthy, "Slack", WARN, () -> record(started, "healthy"));
+        
+        assertTrue(other.isDone());
+        assertEquals(List.of("slow-1", "healthy"), started);
+        assertEquals(2, lanes.getQueuedDeliveries(slow));
+        assertEquals(1, lanes.getInFlightDeliveries(slow));
+        
+        stuck.complete(NotificationResult.success("Slack"));
+        assertEquals(List.of("slow-1", "healthy", "slow-error", "slow-warn"), started);
+        assertEquals(0, lanes.getQueuedDeliveries());
+        assertEquals(0, lanes.getInFlightDeliveries());
+    }
+    
+    @Test
+    public void testFullLaneDropsLeastSevereDelivery() {
+        DeliveryLanes lanes = new DeliveryLanes();
+        NotificationConfig config = config(1, 2);
+        CompletableFuture<NotificationResult> stuck = new CompletableFuture<>();
+        
+        lanes.submit(config, "Teams", ERROR, () -> stuck);
+        CompletableFuture<NotificationResult> warn = lanes.submit(config, "Teams", WARN, () -> stuck);
+        CompletableFuture<NotificationResult> error1 = lanes.submit(config, "Teams", ERROR, () -> stuck);
+        CompletableFuture<NotificationResult> error2 = lanes.submit(config, "Teams", ERROR, () -> stuck);
+        
+        assertTrue(warn.isDone());
+        assertFalse(warn.join().isSuccessful());
+        assertFalse(error1.isDone());
+        assertFalse(error2.isDone());
+        assertEquals(1, lanes.getDroppedDeliveries());
+    }
+    
+    private CompletableFuture<NotificationResult> record(List<String> started, String name) {
+        started.add(name);
+        return CompletableFuture.completedFuture(NotificationResult.success("Slack"));
+    }
+    
+    private NotificationConfig config(int maxInFlight, int queueCapacity) {
+        return SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/test")
+                .applicationName("test-app")
+                .deliveryPolicy(DeliveryPolicy.builder()
+                        .maxInFlight(maxInFlight)
+                        .queueCapacity(queueCapacity)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.service.DeduplicationCache;
+import io.github.nnegi88.errormonitor.domain.service.LatencyWindow;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.actuator.ErrorMonitorEndpoint;
+import io.github.nnegi88.errormonitor.infrastructure.async.AsyncProcessorImpl;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackNotificationService;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the actuator endpoint and the snapshots it reads.
+ */
+public class ErrorMonitorEndpointTest {
+    
+    private static final String WEBHOOK_URL = "https://hooks.slack.com/services/T000/B000/secret";
+    
+    @Test
+    public void testLatencyWindowKeepsMostRecentSamples() {
+        LatencyWindow window = new LatencyWindow(4);
+        assertEquals(0, window.snapshot().percentile(0.99));
+        
+        for (long sample = 1; sample <= 6; sample++) {
+            window.record(sample * 100);
+        }
+        
+        LatencyWindow.Snapshot snapshot = window.snapshot();
+        assertEquals(4, snapshot.getCount());
+        assertEquals(300, snapshot.percentile(0));
+        assertEquals(400, snapshot.percentile(0.5));
+        assertEquals(600, snapshot.percentile(0.99));
+        assertEquals(600, snapshot.getMax());
+    }
+    
+    @Test
+    public void testEndpointReportsDestinationsAndTopErrors() {
+        SlackNotificationService service = new SlackNotificationService(
+                (message, webhookUrl) -> CompletableFuture.completedFuture(NotificationResult.success("slack")),
+                new SlackMessageFormatter());
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(service), null,
+                new DeduplicationCache(60_000, 100), null);
+        NotificationConfig config = SlackConfig.builder()
+                .webhookUrl(WEBHOOK_URL)
+                .applicationName("test-app")
+                .build();
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(CircuitBreakerPolicy.builder().build());
+        circuitBreakers.circuitBreaker(WEBHOOK_URL);
+        AsyncProcessorImpl asyncProcessor = new AsyncProcessorImpl();
+        
+        for (int i = 0; i < 3; i++) {
+            orchestrator.processEvent(logEvent("Payment {} failed"), List.of(config)).join();
+        }
+        orchestrator.processEvent(logEvent("Refund {} failed"), List.of(config)).join();
+        
+        try {
+            ErrorMonitorEndpoint.ErrorMonitorDescriptor state = 
+                    new ErrorMonitorEndpoint(orchestrator, asyncProcessor, null, circuitBreakers).errorMonitor();
+            
+            ErrorMonitorEndpoint.DestinationDescriptor destination = state.getDestinations().get(0);
+            assertEquals("slack", destination.getService());
+            assertEquals("hooks.slack.com/***", destination.getDestination());
+            assertEquals("CLOSED", destination.getCircuitState());
+            assertEquals(0, destination.getInFlight());
+            assertEquals(2, destination.getLatencySamples());
+            
+            List<ErrorMonitorEndpoint.FingerprintDescriptor> topErrors = state.getTopErrors();
+            assertEquals(2, topErrors.size());
+            assertEquals("Payment {} failed", topErrors.get(0).getMessage());
+            assertEquals(3, topErrors.get(0).getOccurrences());
+            assertEquals(2, topErrors.get(0).getPendingSuppressed());
+            assertEquals(1, topErrors.get(1).getOccurrences());
+        } finally {
+            asyncProcessor.shutdownNow();
+        }
+    }
+    
+    private LogEvent logEvent(String message) {
+        return LogEvent.builder()
+                .level("ERROR")
+                .message(message)
+                .loggerName("com.example.Service")
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import io.github.nnegi88.errormonitor.infrastructure.http.RestClientSlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded executor running webhook I/O.
+ */
+public class IoExecutorTest {
+    
+    @Test
+    public void testSaturatedExecutorRejectsDeliveriesWithoutBlocking() throws Exception {
+        IoExecutor ioExecutor = new IoExecutor(1, 1, IoExecutor.SaturationPolicy.REJECT);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        try {
+            ioExecutor.execute(() -> {
+                threadName.set(Thread.currentThread().getName());
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            ioExecutor.execute(() -> { });
+            
+            // Thread busy and queue full: the webhook call fails fast instead of piling up
+            RestClientSlackClient client = new RestClientSlackClient(new RestTemplate(), ioExecutor);
+            NotificationResult result = client.sendMessage(
+                    SlackMessage.builder().text("test").build(), "http://localhost:1/hook")
+                    .get(1, TimeUnit.SECONDS);
+            
+            assertFalse(result.isSuccessful());
+            assertEquals(1, ioExecutor.getRejectedTasks());
+            assertEquals(1, ioExecutor.getQueueSize());
+            assertEquals("notification-io-1", threadName.get());
+        } finally {
+            release.countDown();
+            ioExecutor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testCallerRunsPolicyAndNonRejectingViewNeverDropTasks() throws Exception {
+        IoExecutor ioExecutor = new IoExecutor(1, 1, IoExecutor.SaturationPolicy.CALLER_RUNS);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ioExecutor.execute(() -> awaitQuietly(release));
+            ioExecutor.execute(() -> { });
+            
+            AtomicReference<Thread> ranOn = new AtomicReference<>();
+            ioExecutor.execute(() -> ranOn.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), ranOn.get());
+            
+            assertEquals(1, ioExecutor.getCallerRunsTasks());
+            assertEquals(0, ioExecutor.getRejectedTasks());
+        } finally {
+            release.countDown();
+            ioExecutor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testNonRejectingViewRunsOverflowOffTheCallerAndCountsItOnce() throws Exception {
+        IoExecutor ioExecutor = new IoExecutor(1, 1, IoExecutor.SaturationPolicy.REJECT);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ioExecutor.execute(() -> awaitQuietly(release));
+            ioExecutor.execute(() -> { });
+            
+            // A saturated pool must not run HTTP client callbacks on the selector thread that submits them
+            CountDownLatch ran = new CountDownLatch(1);
+            AtomicReference<Thread> ranOn = new AtomicReference<>();
+            ioExecutor.nonRejecting().execute(() -> {
+                ranOn.set(Thread.currentThread());
+                ran.countDown();
+            });
+            
+            assertTrue(ran.await(1, TimeUnit.SECONDS));
+            assertNotSame(Thread.currentThread(), ranOn.get());
+            assertEquals("notification-io-overflow", ranOn.get().getName());
+            assertEquals(1, ioExecutor.getOverflowTasks());
+            assertEquals(0, ioExecutor.getRejectedTasks());
+            assertEquals(0, ioExecutor.getCallerRunsTasks());
+        } finally {
+            release.countDown();
+            ioExecutor.shutdown();
+        }
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
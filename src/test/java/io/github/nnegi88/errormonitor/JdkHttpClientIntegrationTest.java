@@ -0,0 +1,118 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.SlackClient;
+import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.http.JdkHttpSlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.http.JdkHttpTeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the non-blocking JDK HttpClient notification clients.
+ */
+public class JdkHttpClientIntegrationTest {
+    
+    private MockWebServer mockWebServer;
+    private SlackClient slackClient;
+    private TeamsClient teamsClient;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        slackClient = new JdkHttpSlackClient(httpClient, Duration.ofMillis(500));
+        teamsClient = new JdkHttpTeamsClient(httpClient, Duration.ofMillis(500));
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+    
+    @Test
+    public void testSlackClientSendsJsonAndReusesConnection() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+        String webhookUrl = mockWebServer.url("/slack/webhook").toString();
+        
+        NotificationResult first = slackClient.sendMessage(
+                SlackMessage.builder().text("First").build(), webhookUrl).join();
+        NotificationResult second = slackClient.sendMessage(
+                SlackMessage.builder().text("Second").build(), webhookUrl).join();
+        
+        assertTrue(first.isSuccessful());
+        assertTrue(second.isSuccessful());
+        
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("application/json", request.getHeader("Content-Type"));
+        assertEquals("{\"text\":\"First\"}", request.getBody().readUtf8());
+        
+        // Sequence numbers count requests per connection: the second call reused the first connection
+        assertEquals(1, mockWebServer.takeRequest().getSequenceNumber());
+    }
+    
+    @Test
+    public void testSlackClientRateLimitedIsRetryable() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .setHeader("Retry-After", "3")
+                .setBody("rate_limited"));
+        
+        NotificationResult result = slackClient.sendMessage(
+                SlackMessage.builder().text("Test").build(), mockWebServer.url("/slack").toString()).join();
+        
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isRetryable());
+        assertEquals(429, result.getStatusCode());
+        assertEquals(3000, result.getRetryAfterMillis());
+        assertTrue(result.getErrorMessage().contains("rate_limited"));
+    }
+    
+    @Test
+    public void testTeamsClientDetectsThrottlingInSuccessBody() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("Microsoft Teams endpoint returned HTTP error 429 with ContextId ..."));
+        
+        NotificationResult result = teamsClient.sendMessage(
+                TeamsMessage.builder().summary("Test").text("Test").build(), 
+                mockWebServer.url("/teams").toString()).join();
+        
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isRetryable());
+        assertEquals(429, result.getStatusCode());
+    }
+    
+    @Test
+    public void testReadTimeoutIsAppliedAndRetryable() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeadersDelay(1, TimeUnit.SECONDS));
+        
+        NotificationResult result = slackClient.sendMessage(
+                SlackMessage.builder().text("Slow").build(), mockWebServer.url("/slack").toString()).join();
+        
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isRetryable());
+        assertTrue(result.getErrorMessage().contains("timed out"));
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.logback.LogEventRingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the lock-free ring buffer ingestion path.
+ */
+public class LogEventRingBufferTest {
+    
+    private final LoggerContext loggerContext = new LoggerContext();
+    
+    @Test
+    public void testConcurrentProducersDeliverEveryEvent() throws InterruptedException {
+        int producers = 8;
+        int eventsPerProducer = 2_000;
+        Set<String> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers * eventsPerProducer);
+        
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(64, slot -> {
+            received.add(slot.getMessage());
+            done.countDown();
+        });
+        ringBuffer.start();
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    LoggingEvent event = createEvent(producer + "-" + i);
+                    while (!ringBuffer.publish(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(producers * eventsPerProducer, received.size());
+        ringBuffer.stop(1000);
+    }
+    
+    @Test
+    public void testFullBufferDropsWithoutBlocking() {
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(4, slot -> { });
+        
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.publish(createEvent("event-" + i)));
+        }
+        assertFalse(ringBuffer.publish(createEvent("overflow")));
+        
+        assertEquals(4, ringBuffer.size());
+        assertEquals(1, ringBuffer.getDroppedEvents());
+    }
+    
+    @Test
+    public void testArgumentsAndMdcAreCapturedOnPublish() throws InterruptedException {
+        CountDownLatch consume = new CountDownLatch(1);
+        CountDownLatch consumed = new CountDownLatch(1);
+        List<String> formatted = new ArrayList<>();
+        List<Map<String, String>> mdc = new ArrayList<>();
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(4, slot -> {
+            awaitQuietly(consume);
+            formatted.add(slot.getFormattedMessage());
+            mdc.add(slot.getMdcProperties());
+            consumed.countDown();
+        });
+        ringBuffer.start();
+        
+        StringBuilder cart = new StringBuilder("3 items");
+        Map<String, String> callerMdc = new HashMap<>(Map.of("requestId", "abc-123"));
+        LoggingEvent event = new LoggingEvent(getClass().getName(), loggerContext.getLogger("test"), Level.ERROR,
+                "Checkout failed for {}", null, new Object[] {cart});
+        event.setMDCPropertyMap(callerMdc);
+        assertTrue(ringBuffer.publish(event));
+        
+        // The application keeps using its objects after the log call returns
+        cart.setLength(0);
+        cart.append("emptied");
+        callerMdc.put("requestId", "changed");
+        consume.countDown();
+        
+        assertTrue(consumed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("Checkout failed for 3 items"), formatted);
+        assertEquals(Map.of("requestId", "abc-123"), mdc.get(0));
+        ringBuffer.stop(1000);
+    }
+    
+    @Test
+    public void testParkedConsumerIsWokenByPublish() throws InterruptedException {
+        CountDownLatch consumed = new CountDownLatch(1);
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(4, slot -> consumed.countDown());
+        ringBuffer.start();
+        
+        // Long enough for the idle park to have grown to its maximum
+        Thread.sleep(500);
+        long start = System.nanoTime();
+        assertTrue(ringBuffer.publish(createEvent("after idle")));
+        
+        assertTrue(consumed.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100),
+                "A publish must not wait for the park timeout");
+        ringBuffer.stop(1000);
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private LoggingEvent createEvent(String message) {
+        return new LoggingEvent(getClass().getName(), loggerContext.getLogger("test"), Level.ERROR, message, null, null);
+    }
+}
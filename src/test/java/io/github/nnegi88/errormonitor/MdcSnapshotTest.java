@@ -0,0 +1,142 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.logback.MdcSnapshotter;
+import io.github.nnegi88.errormonitor.logback.UnifiedNotificationAppender;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for capturing the MDC once, with key filtering, and sharing the snapshot through the pipeline.
+ */
+public class MdcSnapshotTest {
+
+    private static final Map<String, String> MDC = Map.of(
+            "requestId", "abc-123",
+            "tenant", "acme",
+            "traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "baggage", "userId=alice,serverNode=DF:28");
+
+    @Test
+    public void testAllKeysAreCapturedByDefault() {
+        Map<String, String> snapshot = new MdcSnapshotter().snapshot(new HashMap<>(MDC));
+
+        assertEquals(MDC, snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put("late", "value"));
+    }
+
+    @Test
+    public void testOnlyIncludedKeysAreCaptured() {
+        MdcSnapshotter snapshotter = new MdcSnapshotter(List.of("requestId", "tenant", "missing", "requestId"), List.of());
+
+        assertEquals(Map.of("requestId", "abc-123", "tenant", "acme"), snapshotter.snapshot(MDC));
+    }
+
+    @Test
+    public void testExcludedKeysAreNeverCaptured() {
+        MdcSnapshotter excluding = new MdcSnapshotter(List.of(), List.of("traceparent", "baggage"));
+        MdcSnapshotter both = new MdcSnapshotter(List.of("requestId", "baggage"), List.of("baggage"));
+
+        assertEquals(Map.of("requestId", "abc-123", "tenant", "acme"), excluding.snapshot(MDC));
+        assertEquals(Map.of("requestId", "abc-123"), both.snapshot(MDC));
+    }
+
+    @Test
+    public void testNullAndEmptyMdcCaptureNothing() {
+        Map<String, String> withNullValue = new HashMap<>();
+        withNullValue.put("requestId", null);
+        MdcSnapshotter snapshotter = new MdcSnapshotter();
+
+        assertTrue(snapshotter.snapshot(null).isEmpty());
+        assertTrue(snapshotter.snapshot(Map.of()).isEmpty());
+        assertTrue(snapshotter.snapshot(withNullValue).isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsSharedByReferenceThroughThePipeline() {
+        List<NotificationMessage> sent = new CopyOnWriteArrayList<>();
+        Map<String, String> snapshot = new MdcSnapshotter().snapshot(MDC);
+        LogEvent event = LogEvent.builder()
+                .level("ERROR")
+                .message("Payment failed")
+                .loggerName("com.example.PaymentService")
+                .timestamp(Instant.now())
+                .mdcProperties(snapshot)
+                .build();
+
+        new NotificationOrchestrator(List.of(capturing(sent))).processEvent(event, List.of(config())).join();
+
+        assertSame(snapshot, event.getMdcProperties());
+        assertEquals(1, sent.size());
+        assertSame(snapshot, sent.get(0).getMetadata());
+    }
+
+    @Test
+    public void testAppenderAppliesConfiguredKeys() {
+        List<NotificationMessage> sent = new CopyOnWriteArrayList<>();
+        UnifiedNotificationAppender appender = new UnifiedNotificationAppender();
+        appender.setContext(new LoggerContext());
+        appender.setOrchestrator(new NotificationOrchestrator(List.of(capturing(sent))));
+        appender.setConfigurations(List.of(config()));
+        appender.setAsync(false);
+        appender.setMdcIncludedKeys(List.of("requestId", "tenant"));
+        appender.setMdcExcludedKeys(List.of("tenant"));
+        appender.start();
+
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(Level.ERROR);
+        event.setLoggerName("com.example.PaymentService");
+        event.setMessage("Payment failed");
+        event.setMDCPropertyMap(MDC);
+        appender.doAppend(event);
+        appender.stop();
+
+        assertEquals(1, sent.size());
+        assertEquals(Map.of("requestId", "abc-123"), sent.get(0).getMetadata());
+    }
+
+    private NotificationService capturing(List<NotificationMessage> sent) {
+        return new NotificationService() {
+            @Override
+            public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+                sent.add(message);
+                return CompletableFuture.completedFuture(NotificationResult.success("capturing"));
+            }
+
+            @Override
+            public boolean supports(NotificationConfig config) {
+                return true;
+            }
+
+            @Override
+            public String getServiceName() {
+                return "capturing";
+            }
+        };
+    }
+
+    private NotificationConfig config() {
+        return SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/services/T000/B000/secret")
+                .applicationName("test-app")
+                .minimumLevel("ERROR")
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.service.DeduplicationCache;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.domain.service.NotificationRateLimiter;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.metrics.MicrometerNotificationMetrics;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackNotificationService;
+import io.github.nnegi88.errormonitor.logback.NotificationPreFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Micrometer instrumentation of the pipeline.
+ */
+public class MicrometerMetricsTest {
+    
+    private static final String WEBHOOK_URL = "https://hooks.slack.com/services/T000/B000/secret";
+    
+    @Test
+    public void testPreFilterCountsSeenAndFilteredEvents() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setMetrics(new MicrometerNotificationMetrics(registry));
+        
+        preFilter.setExcludedLoggerPrefixes(List.of("com.example.noisy"));
+        
+        // Below the threshold: rejected by the level compare alone, never counted
+        preFilter.decide(event(Level.INFO));
+        preFilter.decide(event(Level.WARN));
+        preFilter.decide(event(Level.ERROR));
+        LoggingEvent excluded = event(Level.ERROR);
+        excluded.setLoggerName("com.example.noisy.RetryingClient");
+        preFilter.decide(excluded);
+        
+        assertEquals(2, registry.get("errormonitor.events.seen").counter().count());
+        assertEquals(1, registry.get("errormonitor.events.filtered").counter().count());
+    }
+    
+    @Test
+    public void testDeliveriesAreTaggedByServiceAndDestinationId() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerNotificationMetrics metrics = new MicrometerNotificationMetrics(registry);
+        SlackNotificationService service = new SlackNotificationService(
+                (message, webhookUrl) -> CompletableFuture.completedFuture(NotificationResult.success("slack")),
+                new SlackMessageFormatter(), metrics);
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(service), null,
+                new DeduplicationCache(60_000, 100), new NotificationRateLimiter(), null, metrics);
+        NotificationConfig config = SlackConfig.builder()
+                .webhookUrl(WEBHOOK_URL)
+                .applicationName("test-app")
+                .deliveryPolicy(DeliveryPolicy.builder().maxMessagesPerMinute(1).build())
+                .build();
+        
+        orchestrator.processEvent(logEvent("Payment failed"), List.of(config)).join();
+        orchestrator.processEvent(logEvent("Payment failed"), List.of(config)).join();
+        orchestrator.processEvent(logEvent("Refund failed"), List.of(config)).join();
+        
+        assertEquals(1, registry.get("errormonitor.deliveries")
+                .tags("service", "slack", "destination", MicrometerNotificationMetrics.destinationId(WEBHOOK_URL),
+                        "outcome", "success")
+                .counter().count());
+        assertEquals(1, registry.get("errormonitor.format").tag("service", "slack").timer().count());
+        assertEquals(1, registry.get("errormonitor.events.deduplicated").counter().count());
+        assertEquals(1, registry.get("errormonitor.events.throttled")
+                .tags("service", "slack", "destination", MicrometerNotificationMetrics.destinationId(WEBHOOK_URL))
+                .counter().count());
+        assertEquals(0, registry.get("errormonitor.destination.in.flight").gauge().value());
+        assertTrue(registry.getMeters().stream()
+                .flatMap(meter -> meter.getId().getTags().stream())
+                .noneMatch(tag -> tag.getValue().contains("secret")));
+    }
+    
+    @Test
+    public void testDestinationsOnTheSameHostGetTheirOwnMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerNotificationMetrics metrics = new MicrometerNotificationMetrics(registry);
+        SlackNotificationService service = new SlackNotificationService(
+                (message, webhookUrl) -> CompletableFuture.completedFuture(NotificationResult.success("slack")),
+                new SlackMessageFormatter(), metrics);
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(service), null, null, null, null, metrics);
+        String payments = "https://hooks.slack.com/services/T000/B001/payments-secret";
+        String search = "https://hooks.slack.com/services/T000/B002/search-secret";
+        List<NotificationConfig> configurations = List.of(
+                SlackConfig.builder().webhookUrl(payments).applicationName("test-app").build(),
+                SlackConfig.builder().webhookUrl(search).applicationName("test-app").build());
+        
+        orchestrator.processEvent(logEvent("Payment failed"), configurations).join();
+        orchestrator.processEvent(logEvent("Refund failed"), List.of(configurations.get(0))).join();
+        
+        assertNotEquals(MicrometerNotificationMetrics.destinationId(payments),
+                MicrometerNotificationMetrics.destinationId(search));
+        assertTrue(MicrometerNotificationMetrics.destinationId(payments).startsWith("hooks.slack.com/"));
+        assertEquals(2, registry.get("errormonitor.destination.in.flight").gauges().size());
+        assertEquals(2, registry.get("errormonitor.deliveries")
+                .tags("destination", MicrometerNotificationMetrics.destinationId(payments), "outcome", "success")
+                .counter().count());
+        assertEquals(1, registry.get("errormonitor.deliveries")
+                .tags("destination", MicrometerNotificationMetrics.destinationId(search), "outcome", "success")
+                .counter().count());
+    }
+    
+    private LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        event.setLoggerName("com.example.Service");
+        event.setMessage("message");
+        return event;
+    }
+    
+    private LogEvent logEvent(String message) {
+        return LogEvent.builder()
+                .level("ERROR")
+                .message(message)
+                .loggerName("com.example.Service")
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.application.config.SolidNotificationAutoConfiguration;
+import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
+import io.github.nnegi88.errormonitor.domain.port.SlackClient;
+import io.github.nnegi88.errormonitor.domain.port.TeamsClient;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import io.github.nnegi88.errormonitor.infrastructure.http.RestClientSlackClient;
+import io.github.nnegi88.errormonitor.infrastructure.http.RestClientTeamsClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the beans the notification auto-configuration contributes and lets applications replace.
+ */
+public class NotificationAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SolidNotificationAutoConfiguration.class))
+            .withPropertyValues(
+                    "logback.slack.enabled=true",
+                    "logback.slack.webhook-url=https://hooks.slack.com/services/T000/B000/XXXX");
+
+    @Test
+    public void testApplicationIoExecutorUnderAnyNameReplacesTheDefault() {
+        IoExecutor custom = new IoExecutor(2, 16, IoExecutor.SaturationPolicy.CALLER_RUNS);
+
+        contextRunner.withBean("customIoExecutor", IoExecutor.class, () -> custom).run(context -> {
+            assertNull(context.getStartupFailure());
+            assertSame(custom, context.getBean(IoExecutor.class));
+            assertFalse(context.containsBean("notificationIoExecutor"));
+            assertNotNull(context.getBean(AsyncProcessor.class));
+            // The async processor is shut down before the executor its deliveries run on
+            assertTrue(List.of(context.getBeanFactory().getDependenciesForBean("asyncProcessor"))
+                    .contains("customIoExecutor"));
+        });
+    }
+
+    @Test
+    public void testApplicationNotificationRestTemplateSelectsTheRestTemplateTransport() {
+        RestTemplate custom = new RestTemplate();
+
+        contextRunner.withPropertyValues(
+                        "logback.notification.circuit-breaker.enabled=false",
+                        "logback.notification.retry.enabled=false")
+                .withBean("notificationRestTemplate", RestTemplate.class, () -> custom).run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertSame(custom, context.getBean(RestTemplate.class));
+                    assertTrue(context.getBean(SlackClient.class) instanceof RestClientSlackClient);
+                    assertTrue(context.getBean(TeamsClient.class) instanceof RestClientTeamsClient);
+                });
+    }
+}
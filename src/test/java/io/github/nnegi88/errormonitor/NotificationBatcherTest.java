@@ -0,0 +1,165 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.model.NotificationDigest;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.service.NotificationBatcher;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for collecting alerts into per-destination digest messages.
+ */
+public class NotificationBatcherTest {
+    
+    @Test
+    public void testFullBatchIsSentAsOneDigest() throws Exception {
+        RecordingService service = new RecordingService();
+        NotificationBatcher batcher = new NotificationBatcher(Executors.newSingleThreadScheduledExecutor());
+        NotificationConfig config = config(60_000, 3);
+        
+        batcher.submit(service, config, config.toDestination(), message("Database down", Instant.ofEpochSecond(100)));
+        batcher.submit(service, config, config.toDestination(), message("Database down", Instant.ofEpochSecond(160)));
+        CompletableFuture<NotificationResult> result =
+                batcher.submit(service, config, config.toDestination(), message("Cache miss storm", Instant.ofEpochSecond(130)));
+        
+        assertTrue(result.get(5, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(1, service.digests.size());
+        assertTrue(service.messages.isEmpty());
+        
+        NotificationDigest digest = service.digests.get(0);
+        assertEquals(3, digest.getTotalEvents());
+        assertEquals(2, digest.getEntries().size());
+        assertEquals(Instant.ofEpochSecond(100), digest.getFirstOccurrence());
+        assertEquals(Instant.ofEpochSecond(160), digest.getLastOccurrence());
+        
+        NotificationDigest.Entry repeated = digest.getEntries().get(0);
+        assertEquals(2, repeated.getCount());
+        assertEquals(Instant.ofEpochSecond(160), repeated.getLastOccurrence());
+        
+        SlackMessage formatted = new SlackMessageFormatter().formatDigest(digest, config.toDestination());
+        assertTrue(formatted.getText().contains("3 events"));
+        
+        batcher.shutdown();
+    }
+    
+    @Test
+    public void testWindowFlushSendsSingleMessageUnbatched() throws Exception {
+        RecordingService service = new RecordingService();
+        NotificationBatcher batcher = new NotificationBatcher(Executors.newSingleThreadScheduledExecutor());
+        
+        NotificationConfig config = config(50, 10);
+        
+        CompletableFuture<NotificationResult> result =
+                batcher.submit(service, config, config.toDestination(), message("Lonely error", Instant.now()));
+        
+        assertTrue(result.get(5, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(1, service.messages.size());
+        assertTrue(service.digests.isEmpty());
+        
+        batcher.shutdown();
+    }
+    
+    @Test
+    public void testSubmittingDoesNotWaitForAFlushInProgress() throws Exception {
+        RecordingService service = new RecordingService();
+        service.sendGate = new CountDownLatch(1);
+        NotificationBatcher batcher = new NotificationBatcher(Executors.newSingleThreadScheduledExecutor());
+        NotificationConfig config = config(60_000, 2);
+        
+        // The second message fills the batch; its flush blocks inside the service
+        batcher.submit(service, config, config.toDestination(), message("Database down", Instant.now()));
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(() ->
+                batcher.submit(service, config, config.toDestination(), message("Database down", Instant.now())));
+        assertTrue(service.sending.await(5, TimeUnit.SECONDS));
+        
+        CompletableFuture<CompletableFuture<NotificationResult>> next = CompletableFuture.supplyAsync(() ->
+                batcher.submit(service, config, config.toDestination(), message("Cache miss storm", Instant.now())));
+        CompletableFuture<NotificationResult> nextResult = next.get(5, TimeUnit.SECONDS);
+        assertFalse(nextResult.isDone());
+        
+        service.sendGate.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        assertEquals(1, service.digests.size());
+        
+        batcher.shutdown();
+        assertTrue(nextResult.get(5, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(1, service.messages.size());
+    }
+    
+    private NotificationConfig config(long windowMillis, int maxEvents) {
+        return SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/test")
+                .applicationName("test-app")
+                .environment("test")
+                .deliveryPolicy(DeliveryPolicy.builder()
+                        .batchWindowMillis(windowMillis)
+                        .batchMaxEvents(maxEvents)
+                        .build())
+                .build();
+    }
+    
+    private NotificationMessage message(String content, Instant timestamp) {
+        return NotificationMessage.builder()
+                .title("com.example.Service")
+                .content(content)
+                .level("ERROR")
+                .applicationName("test-app")
+                .environment("test")
+                .timestamp(timestamp)
+                .build();
+    }
+    
+    private static class RecordingService implements NotificationService {
+        private final List<NotificationMessage> messages = new CopyOnWriteArrayList<>();
+        private final List<NotificationDigest> digests = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch sendGate;
+        
+        @Override
+        public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+            messages.add(message);
+            return CompletableFuture.completedFuture(NotificationResult.success("recording"));
+        }
+        
+        @Override
+        public CompletableFuture<NotificationResult> sendDigest(NotificationDigest digest) {
+            sending.countDown();
+            if (sendGate != null) {
+                // A synchronous client delivering on the flushing thread
+                try {
+                    sendGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            digests.add(digest);
+            return CompletableFuture.completedFuture(NotificationResult.success("recording"));
+        }
+        
+        @Override
+        public boolean supports(NotificationConfig config) {
+            return true;
+        }
+        
+        @Override
+        public String getServiceName() {
+            return "recording";
+        }
+    }
+}
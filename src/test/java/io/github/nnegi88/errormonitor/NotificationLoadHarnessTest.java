@@ -0,0 +1,303 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.application.config.LogbackAppenderConfiguration;
+import io.github.nnegi88.errormonitor.application.config.SolidNotificationAutoConfiguration;
+import io.github.nnegi88.errormonitor.domain.port.AsyncProcessor;
+import io.github.nnegi88.errormonitor.domain.service.DeliveryLanes;
+import io.github.nnegi88.errormonitor.domain.service.LatencyWindow;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.async.IoExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load and fault-injection harness for the whole starter.
+ * Boots the auto-configuration against a local stub webhook, drives an error storm through SLF4J
+ * from several application threads and reports application-thread overhead, end-to-end alert
+ * latency, drops and executor saturation. The defaults keep it fast enough for every build;
+ * size a release with larger storms, e.g.
+ * {@code mvn test -Dtest=NotificationLoadHarnessTest -Dharness.events=5000 -Dharness.threads=16}.
+ */
+public class NotificationLoadHarnessTest {
+
+    private static final Logger report = LoggerFactory.getLogger(NotificationLoadHarnessTest.class);
+
+    // Must not be a starter logger, those are never sent
+    private static final Logger application = LoggerFactory.getLogger("com.example.checkout.PaymentService");
+
+    private static final Pattern ALERT_ID = Pattern.compile("Storm alert #(\\d+)");
+
+    private static final int EVENTS = Integer.getInteger("harness.events", 120);
+    private static final int THREADS = Integer.getInteger("harness.threads", 4);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("harness.max-in-flight", 4);
+    private static final long DRAIN_TIMEOUT_MILLIS = Long.getLong("harness.drain-timeout", 30_000);
+
+    private MockWebServer webhook;
+    private StubWebhook stub;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        webhook = new MockWebServer();
+        stub = new StubWebhook();
+        webhook.setDispatcher(stub);
+        webhook.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        webhook.shutdown();
+    }
+
+    @Test
+    public void testSlowWebhookDoesNotSlowDownApplicationThreads() {
+        stub.latencyMillis = Long.getLong("harness.latency-ms", 50);
+
+        contextRunner().run(context -> {
+            StormReport result = storm(context);
+
+            long webhookBoundMillis = EVENTS * stub.latencyMillis / MAX_IN_FLIGHT;
+            assertTrue(result.stormMillis < webhookBoundMillis,
+                    "Logging took " + result.stormMillis + "ms, as long as the webhook itself (" + webhookBoundMillis + "ms)");
+            assertTrue(result.overheadSnapshot.percentile(0.5) < TimeUnit.MILLISECONDS.toNanos(stub.latencyMillis) / 10,
+                    "Median logging call waited on the webhook");
+            assertTrue(stub.delivered.get() > 0, "No alert reached the webhook");
+            assertTrue(result.endToEnd.percentile(0.5) >= TimeUnit.MILLISECONDS.toNanos(stub.latencyMillis),
+                    "End-to-end latency must include the webhook's own latency");
+            assertAccountedFor(result);
+        });
+    }
+
+    @Test
+    public void testFailingWebhookIsContainedAndEveryAlertAccountedFor() {
+        stub.latencyMillis = Long.getLong("harness.latency-ms", 10);
+        // Three faults in every eight requests keep the failure rate just below the circuit breaker's threshold
+        stub.faults = new Fault[] {Fault.NONE, Fault.NONE, Fault.THROTTLE, Fault.NONE,
+                Fault.SERVER_ERROR, Fault.NONE, Fault.RESET, Fault.NONE};
+
+        // Judge the fault rate over a full window rather than the first few calls
+        contextRunner().withPropertyValues("logback.notification.circuit-breaker.minimum-calls=20").run(context -> {
+            StormReport result = storm(context);
+
+            assertTrue(stub.throttled.get() > 0 && stub.serverErrors.get() > 0 && stub.resets.get() > 0,
+                    "Every fault must have been injected");
+            assertTrue(stub.delivered.get() > 0, "Retries must get some alerts through");
+            assertAccountedFor(result);
+        });
+    }
+
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(
+                        SolidNotificationAutoConfiguration.class, LogbackAppenderConfiguration.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues(
+                        "logback.slack.enabled=true",
+                        // The path makes the stub pass the Slack service's webhook URL check
+                        "logback.slack.webhook-url=" + webhook.url("/hooks.slack.com/services/T000/B000/harness"),
+                        "logback.slack.application-name=harness",
+                        "logback.slack.rate-limit-enabled=false",
+                        "logback.slack.read-timeout=2000",
+                        "logback.slack.max-in-flight=" + MAX_IN_FLIGHT,
+                        "logback.notification.deduplication-window=0",
+                        "logback.notification.retry.initial-backoff=20",
+                        "logback.notification.retry.max-backoff=200",
+                        "logback.notification.circuit-breaker.open-duration=200");
+    }
+
+    private StormReport storm(ConfigurableApplicationContext context) throws InterruptedException {
+        AsyncProcessor asyncProcessor = context.getBean(AsyncProcessor.class);
+        IoExecutor ioExecutor = context.getBean(IoExecutor.class);
+        DeliveryLanes lanes = context.getBean(NotificationOrchestrator.class).getDeliveryLanes();
+
+        StormReport result = new StormReport();
+        AtomicInteger nextId = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                int id;
+                while ((id = nextId.getAndIncrement()) < EVENTS) {
+                    IllegalStateException failure = new IllegalStateException("Card issuer unavailable");
+                    long begin = System.nanoTime();
+                    stub.sentNanos.put(id, begin);
+                    application.error("Storm alert #{} for order {}", id, "ORD-" + id, failure);
+                    result.overhead.record(System.nanoTime() - begin);
+                    result.sampleSaturation(asyncProcessor, ioExecutor);
+                }
+            }, "storm-" + t);
+            thread.start();
+            threads.add(thread);
+        }
+
+        long stormStart = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        result.stormMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stormStart);
+
+        // Drained once every accepted event has a delivery outcome and nothing is queued or in flight
+        MeterRegistry meters = context.getBean(MeterRegistry.class);
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline
+                && (outcomes(meters) + asyncProcessor.getDroppedTasks() < EVENTS
+                        || asyncProcessor.getQueueSize() > 0 || lanes.getQueuedDeliveries() > 0
+                        || lanes.getInFlightDeliveries() > 0)) {
+            result.sampleSaturation(asyncProcessor, ioExecutor);
+            Thread.sleep(10);
+        }
+        result.drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stormStart);
+
+        result.successes = deliveries(meters, "success");
+        result.failures = deliveries(meters, "failure");
+        result.droppedEvents = asyncProcessor.getDroppedTasks();
+        result.droppedDeliveries = lanes.getDroppedDeliveries();
+        result.ioRejected = ioExecutor.getRejectedTasks();
+        result.endToEnd = stub.endToEnd.snapshot();
+        result.overheadSnapshot = result.overhead.snapshot();
+        result.log(stub);
+        return result;
+    }
+
+    private void assertAccountedFor(StormReport result) {
+        assertEquals(EVENTS, result.successes + result.failures + result.droppedEvents,
+                "Every event must end as a delivery, a failed delivery or a counted drop");
+        assertTrue(result.failures >= result.droppedDeliveries, "Lane drops are reported as failed deliveries");
+        assertEquals(result.successes, stub.delivered.get(), "Every success must have reached the webhook once");
+    }
+
+    private static long outcomes(MeterRegistry meters) {
+        return deliveries(meters, "success") + deliveries(meters, "failure");
+    }
+
+    private static long deliveries(MeterRegistry meters, String outcome) {
+        return (long) meters.find("errormonitor.deliveries").tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private enum Fault {
+        NONE, THROTTLE, SERVER_ERROR, RESET
+    }
+
+    /**
+     * Stub webhook answering after a fixed latency and cycling through a fault pattern.
+     * Records the end-to-end latency of the first successful delivery of every alert.
+     */
+    private static final class StubWebhook extends Dispatcher {
+        private final ConcurrentHashMap<Integer, Long> sentNanos = new ConcurrentHashMap<>();
+        private final LatencyWindow endToEnd = new LatencyWindow(Math.max(EVENTS, 2));
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicInteger throttled = new AtomicInteger();
+        private final AtomicInteger serverErrors = new AtomicInteger();
+        private final AtomicInteger resets = new AtomicInteger();
+        private volatile long latencyMillis;
+        private volatile Fault[] faults = {Fault.NONE};
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            Thread.sleep(latencyMillis);
+            Fault fault = faults[(int) (requests.getAndIncrement() % faults.length)];
+            switch (fault) {
+                case THROTTLE:
+                    throttled.incrementAndGet();
+                    return new MockResponse().setResponseCode(429).setHeader("Retry-After", "0");
+                case SERVER_ERROR:
+                    serverErrors.incrementAndGet();
+                    return new MockResponse().setResponseCode(503).setBody("unavailable");
+                case RESET:
+                    resets.incrementAndGet();
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                default:
+                    Matcher matcher = ALERT_ID.matcher(request.getBody().readUtf8());
+                    if (matcher.find()) {
+                        Long sent = sentNanos.remove(Integer.parseInt(matcher.group(1)));
+                        if (sent != null) {
+                            delivered.incrementAndGet();
+                            endToEnd.record(System.nanoTime() - sent);
+                        }
+                    }
+                    return new MockResponse().setResponseCode(200).setBody("ok");
+            }
+        }
+    }
+
+    private static final class StormReport {
+        private final LatencyWindow overhead = new LatencyWindow(Math.max(EVENTS, 2));
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private final AtomicInteger maxIoActive = new AtomicInteger();
+        private final AtomicInteger maxIoQueueDepth = new AtomicInteger();
+        private LatencyWindow.Snapshot overheadSnapshot;
+        private LatencyWindow.Snapshot endToEnd;
+        private long stormMillis;
+        private long drainMillis;
+        private long successes;
+        private long failures;
+        private long droppedEvents;
+        private long droppedDeliveries;
+        private long ioRejected;
+
+        void sampleSaturation(AsyncProcessor asyncProcessor, IoExecutor ioExecutor) {
+            maxQueueDepth.accumulateAndGet(asyncProcessor.getQueueSize(), Math::max);
+            maxIoActive.accumulateAndGet(ioExecutor.getActiveCount(), Math::max);
+            maxIoQueueDepth.accumulateAndGet(ioExecutor.getQueueSize(), Math::max);
+        }
+
+        long percentileMicros(LatencyWindow.Snapshot snapshot, double percentile) {
+            return TimeUnit.NANOSECONDS.toMicros(snapshot.percentile(percentile));
+        }
+
+        void log(StubWebhook stub) {
+            report.info("Storm of {} events on {} threads, webhook latency {}ms: logged in {}ms, drained in {}ms",
+                    EVENTS, THREADS, stub.latencyMillis, stormMillis, drainMillis);
+            report.info("  application-thread overhead (us): p50={} p90={} p99={} max={}",
+                    percentileMicros(overheadSnapshot, 0.5), percentileMicros(overheadSnapshot, 0.9),
+                    percentileMicros(overheadSnapshot, 0.99), TimeUnit.NANOSECONDS.toMicros(overheadSnapshot.getMax()));
+            report.info("  end-to-end alert latency (ms): p50={} p90={} p99={} max={}",
+                    percentileMicros(endToEnd, 0.5) / 1000, percentileMicros(endToEnd, 0.9) / 1000,
+                    percentileMicros(endToEnd, 0.99) / 1000, TimeUnit.NANOSECONDS.toMillis(endToEnd.getMax()));
+            report.info("  outcomes: delivered={} failed={} dropped events={} dropped deliveries={}",
+                    successes, failures, droppedEvents, droppedDeliveries);
+            report.info("  webhook: requests={} throttled={} server errors={} resets={}",
+                    stub.requests.get(), stub.throttled.get(), stub.serverErrors.get(), stub.resets.get());
+            report.info("  saturation: max pipeline queue={} max io active={} max io queue={} io rejected={}",
+                    maxQueueDepth.get(), maxIoActive.get(), maxIoQueueDepth.get(), ioRejected);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import io.github.nnegi88.errormonitor.config.LogbackNotificationProperties;
+import io.github.nnegi88.errormonitor.logback.NotificationPreFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the decisions of the pre-filter in front of the notification appender.
+ */
+public class NotificationPreFilterTest {
+
+    @Test
+    public void testEventsBelowTheMinimumLevelAreDenied() {
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setMinimumLevel("WARN");
+
+        assertEquals(FilterReply.DENY, preFilter.decide(event("com.example.Service", Level.DEBUG)));
+        assertEquals(FilterReply.DENY, preFilter.decide(event("com.example.Service", Level.INFO)));
+        assertEquals(FilterReply.NEUTRAL, preFilter.decide(event("com.example.Service", Level.WARN)));
+        assertEquals(FilterReply.NEUTRAL, preFilter.decide(event("com.example.Service", Level.ERROR)));
+    }
+
+    @Test
+    public void testUnknownOrMissingMinimumLevelFallsBackToError() {
+        NotificationPreFilter defaults = new NotificationPreFilter();
+        NotificationPreFilter unknown = new NotificationPreFilter();
+        unknown.setMinimumLevel("LOUD");
+
+        assertEquals(Level.ERROR_INT, defaults.getThresholdLevelInt());
+        assertEquals(Level.ERROR_INT, unknown.getThresholdLevelInt());
+        assertEquals(FilterReply.DENY, unknown.decide(event("com.example.Service", Level.WARN)));
+        assertEquals(FilterReply.NEUTRAL, unknown.decide(event("com.example.Service", Level.ERROR)));
+    }
+
+    @Test
+    public void testExcludedLoggerPrefixesAreDenied() {
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setExcludedLoggerPrefixes(List.of("org.hibernate", "com.example.noisy"));
+
+        assertEquals(FilterReply.DENY, preFilter.decide(event("org.hibernate.engine.jdbc.spi.SqlExceptionHelper", Level.ERROR)));
+        assertEquals(FilterReply.DENY, preFilter.decide(event("com.example.noisy.RetryingClient", Level.ERROR)));
+        assertEquals(FilterReply.NEUTRAL, preFilter.decide(event("com.example.checkout.PaymentService", Level.ERROR)));
+    }
+
+    @Test
+    public void testDefaultExcludedMarkerSuppressesTheEvent() {
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        preFilter.setExcludedMarkers(new LogbackNotificationProperties().getExcludedMarkers());
+
+        LoggingEvent marked = event("com.example.Service", Level.ERROR);
+        marked.setMarker(MarkerFactory.getMarker("NO_ALERT"));
+        Marker parent = MarkerFactory.getDetachedMarker("AUDIT");
+        parent.add(MarkerFactory.getMarker("NO_ALERT"));
+        LoggingEvent nested = event("com.example.Service", Level.ERROR);
+        nested.setMarker(parent);
+        LoggingEvent other = event("com.example.Service", Level.ERROR);
+        other.setMarker(MarkerFactory.getMarker("SECURITY"));
+
+        assertEquals(List.of("NO_ALERT"), new LogbackNotificationProperties().getExcludedMarkers());
+        assertEquals(FilterReply.DENY, preFilter.decide(marked));
+        assertEquals(FilterReply.DENY, preFilter.decide(nested));
+        assertEquals(FilterReply.NEUTRAL, preFilter.decide(other));
+        assertEquals(FilterReply.NEUTRAL, preFilter.decide(event("com.example.Service", Level.ERROR)));
+    }
+
+    @Test
+    public void testMarkersAreIgnoredWithoutExcludedMarkers() {
+        NotificationPreFilter preFilter = new NotificationPreFilter();
+        LoggingEvent marked = event("com.example.Service", Level.ERROR);
+        marked.setMarker(MarkerFactory.getMarker("NO_ALERT"));
+
+        assertEquals(FilterReply.NEUTRAL, preFilter.decide(marked));
+    }
+
+    private LoggingEvent event(String loggerName, Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        event.setLoggerName(loggerName);
+        event.setMessage("message");
+        return event;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.DeliveryPolicy;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.service.NotificationRateLimiter;
+import io.github.nnegi88.errormonitor.domain.service.TokenBucket;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for per-destination admission control.
+ */
+public class NotificationRateLimiterTest {
+    
+    @Test
+    public void testTokenBucketAllowsBurstThenRefills() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(10, 1, TimeUnit.MINUTES, start);
+        
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire(start));
+        }
+        assertFalse(bucket.tryAcquire(start));
+        
+        // One token comes back every six seconds
+        assertFalse(bucket.tryAcquire(start + TimeUnit.SECONDS.toNanos(5)));
+        assertTrue(bucket.tryAcquire(start + TimeUnit.SECONDS.toNanos(6)));
+        assertFalse(bucket.tryAcquire(start + TimeUnit.SECONDS.toNanos(6)));
+    }
+    
+    @Test
+    public void testThrottledEventsAreCountedPerDestination() {
+        NotificationRateLimiter limiter = new NotificationRateLimiter();
+        NotificationConfig limited = config(2);
+        NotificationConfig unlimited = config(0);
+        
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(limited);
+            assertTrue(limiter.tryAcquire(unlimited));
+        }
+        
+        assertEquals(3, limiter.getThrottledEvents());
+        assertEquals(3, limiter.getThrottledEvents(limited));
+        assertEquals(0, limiter.getThrottledEvents(unlimited));
+        
+        assertEquals(Map.of(limited, 3L), limiter.drainThrottledCounts());
+        assertTrue(limiter.drainThrottledCounts().isEmpty());
+    }
+    
+    private NotificationConfig config(int maxMessagesPerMinute) {
+        return SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/test")
+                .applicationName("test-app")
+                .deliveryPolicy(DeliveryPolicy.builder()
+                        .maxMessagesPerMinute(maxMessagesPerMinute)
+                        .build())
+                .build();
+    }
+}
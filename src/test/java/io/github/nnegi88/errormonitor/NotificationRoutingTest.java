@@ -0,0 +1,173 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackNotificationService;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for routing events to configurations and services through the precompiled routing table,
+ * and for delivering them to the destination each route is bound to.
+ */
+public class NotificationRoutingTest {
+
+    @Test
+    public void testEventsAreRoutedByPrecomputedLevelThresholds() {
+        CountingService slack = new CountingService("slack", "hooks.slack.com");
+        NotificationConfig errors = config("https://hooks.slack.com/services/errors", "ERROR", true);
+        NotificationConfig warnings = config("https://hooks.slack.com/services/warnings", "warn", true);
+        NotificationConfig disabled = config("https://hooks.slack.com/services/disabled", "TRACE", false);
+        List<NotificationConfig> configurations = List.of(errors, warnings, disabled);
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(slack));
+
+        assertEquals(2, orchestrator.processEvent(event("ERROR"), configurations).join().size());
+        assertEquals(1, orchestrator.processEvent(event("WARN"), configurations).join().size());
+        assertEquals(0, orchestrator.processEvent(event("INFO"), configurations).join().size());
+        assertEquals(1, orchestrator.processEvent(event("warn"), configurations).join().size());
+        assertEquals(2, orchestrator.processEvent(event("FATAL"), configurations).join().size());
+        assertEquals(6, slack.sent.get());
+    }
+
+    @Test
+    public void testServiceSupportIsResolvedOncePerConfigurationList() {
+        CountingService slack = new CountingService("slack", "hooks.slack.com");
+        CountingService teams = new CountingService("teams", "office365.com");
+        List<NotificationConfig> configurations = List.of(
+                config("https://hooks.slack.com/services/errors", "ERROR", true),
+                config("https://example.office365.com/webhook", null, true));
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(slack, teams));
+        orchestrator.compileRoutes(configurations);
+
+        for (int i = 0; i < 10; i++) {
+            orchestrator.processEvent(event("ERROR"), configurations).join();
+        }
+        orchestrator.processEvent(event("DEBUG"), configurations).join();
+
+        assertEquals(10, slack.sent.get());
+        assertEquals(11, teams.sent.get());
+        assertEquals(2, slack.supportChecks.get());
+        assertEquals(2, teams.supportChecks.get());
+    }
+
+    @Test
+    public void testRoutesAreKeptPerConfigurationList() {
+        CountingService slack = new CountingService("slack", "hooks.slack.com");
+        NotificationConfig payments = config("https://hooks.slack.com/services/payments", "ERROR", true);
+        NotificationConfig search = config("https://hooks.slack.com/services/search", "ERROR", true);
+        List<NotificationConfig> first = List.of(payments);
+        List<NotificationConfig> second = List.of(search);
+        NotificationOrchestrator orchestrator = new NotificationOrchestrator(List.of(slack));
+        orchestrator.compileRoutes(first);
+        orchestrator.compileRoutes(second);
+
+        // Two appenders sharing the orchestrator, then a caller building a fresh list per event
+        for (int i = 0; i < 10; i++) {
+            orchestrator.processEvent(event("ERROR"), first).join();
+            orchestrator.processEvent(event("ERROR"), second).join();
+            orchestrator.processEvent(event("ERROR"), List.of(payments)).join();
+        }
+        assertEquals(30, slack.sent.get());
+        assertEquals(2, slack.supportChecks.get());
+
+        // Summaries reach destinations of every compiled list, once each
+        orchestrator.publishThrottledSummaries(Map.of(payments, 3L, search, 4L));
+        assertEquals(32, slack.sent.get());
+    }
+
+    @Test
+    public void testDeliveryRendersTheDestinationProfileNotConfigurationMetadata() {
+        List<SlackMessage> sent = new CopyOnWriteArrayList<>();
+        SlackNotificationService slack = new SlackNotificationService((message, webhookUrl) -> {
+            sent.add(message);
+            return CompletableFuture.completedFuture(NotificationResult.success("slack"));
+        }, new SlackMessageFormatter());
+        NotificationConfig config = SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/services/T000/B000/secret")
+                .applicationName("checkout")
+                .environment("production")
+                .additionalProperties(Map.of("includeStackTrace", false))
+                .build();
+        LogEvent event = LogEvent.builder()
+                .level("ERROR")
+                .message("Payment failed")
+                .loggerName("com.example.PaymentService")
+                .timestamp(Instant.now())
+                .stackTrace("java.lang.IllegalStateException: boom")
+                .mdcProperties(Map.of("requestId", "abc-123"))
+                .build();
+
+        new NotificationOrchestrator(List.of(slack)).processEvent(event, List.of(config)).join();
+
+        assertEquals(1, sent.size());
+        String json = new String(sent.get(0).toJson(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("checkout") && json.contains("production"));
+        assertTrue(json.contains("abc-123"));
+        assertFalse(json.contains("secret"), "The webhook URL must not be rendered");
+        assertFalse(json.contains("Include Stack Trace"), "Configuration flags must not be rendered as context");
+        assertFalse(json.contains("IllegalStateException"), "The destination excludes stack traces");
+    }
+
+    private NotificationConfig config(String webhookUrl, String minimumLevel, boolean enabled) {
+        return SlackConfig.builder()
+                .webhookUrl(webhookUrl)
+                .applicationName("test-app")
+                .minimumLevel(minimumLevel)
+                .enabled(enabled)
+                .build();
+    }
+
+    private LogEvent event(String level) {
+        return LogEvent.builder()
+                .level(level)
+                .message("Payment failed")
+                .loggerName("com.example.PaymentService")
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    private static final class CountingService implements NotificationService {
+        private final String name;
+        private final String host;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger supportChecks = new AtomicInteger();
+
+        private CountingService(String name, String host) {
+            this.name = name;
+            this.host = host;
+        }
+
+        @Override
+        public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+            sent.incrementAndGet();
+            return CompletableFuture.completedFuture(NotificationResult.success(name));
+        }
+
+        @Override
+        public boolean supports(NotificationConfig config) {
+            supportChecks.incrementAndGet();
+            return config.getWebhookUrl().contains(host);
+        }
+
+        @Override
+        public String getServiceName() {
+            return name;
+        }
+    }
+}
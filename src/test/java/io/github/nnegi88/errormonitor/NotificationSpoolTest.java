@@ -0,0 +1,222 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.Destination;
+import io.github.nnegi88.errormonitor.domain.model.LogEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.infrastructure.spool.DiskNotificationSpool;
+import io.github.nnegi88.errormonitor.infrastructure.spool.MappedSpool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped spool of undelivered notifications.
+ */
+public class NotificationSpoolTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void testSpooledNotificationsSurviveRestartAndReplayInOrder() throws Exception {
+        MappedSpool spool = MappedSpool.open(directory, 64 * 1024, 4, true);
+        DiskNotificationSpool notificationSpool = new DiskNotificationSpool(spool, List.of(), null, 0);
+        String stackTrace = "java.lang.IllegalStateException: boom\n" + "\tat com.example.Service.pay(Service.java:42)\n".repeat(50);
+        assertTrue(notificationSpool.offer("recording", message("first", stackTrace)));
+        assertTrue(notificationSpool.offer("recording", message("second", null)));
+        notificationSpool.shutdown();
+        
+        // A new process finds both messages; the first delivery fails so nothing is acknowledged
+        RecordingService service = new RecordingService(false);
+        notificationSpool = new DiskNotificationSpool(MappedSpool.open(directory, 64 * 1024, 4, true), List.of(service), null, 0);
+        assertEquals(2, notificationSpool.getPendingNotifications());
+        assertEquals(0, notificationSpool.replay());
+        
+        service.available = true;
+        assertEquals(2, notificationSpool.replay());
+        assertEquals(0, notificationSpool.getPendingNotifications());
+        
+        NotificationMessage first = service.delivered.get(0);
+        assertEquals("first", first.getContent());
+        assertEquals(stackTrace, first.getStackTrace());
+        assertEquals(Boolean.TRUE, first.getMetadata().get("includeStackTrace"));
+        assertEquals("abc-123", first.getMetadata().get("requestId"));
+        assertEquals("second", service.delivered.get(1).getContent());
+        
+        // Overflowed log events wait for the pipeline to register, then go back through it
+        assertTrue(notificationSpool.offerEvent(LogEvent.builder()
+                .level("ERROR")
+                .message("Payment {} failed")
+                .formattedMessage("Payment 42 failed")
+                .loggerName("com.example.Service")
+                .timestamp(Instant.ofEpochMilli(1_700_000_000_123L))
+                .mdcProperties(Map.of("requestId", "abc-123"))
+                .build()));
+        assertEquals(0, notificationSpool.replay());
+        List<LogEvent> replayedEvents = new ArrayList<>();
+        notificationSpool.replayEventsTo(replayedEvents::add);
+        assertEquals(1, notificationSpool.replay());
+        assertEquals("Payment 42 failed", replayedEvents.get(0).getFormattedMessage());
+        assertEquals(Instant.ofEpochMilli(1_700_000_000_123L), replayedEvents.get(0).getTimestamp());
+        assertEquals("abc-123", replayedEvents.get(0).getMdcProperties().get("requestId"));
+        notificationSpool.shutdown();
+        
+        // Acknowledgements are persisted too
+        MappedSpool reopened = MappedSpool.open(directory, 64 * 1024, 4, true);
+        assertEquals(0, reopened.getPendingRecords());
+        reopened.close();
+    }
+    
+    @Test
+    public void testPermanentlyRejectedNotificationsDoNotBlockTheSpool() throws Exception {
+        DiskNotificationSpool notificationSpool = new DiskNotificationSpool(
+                MappedSpool.open(directory, 64 * 1024, 4, true), List.of(), null, 0);
+        assertTrue(notificationSpool.offer("recording", message("rejected", null)));
+        assertTrue(notificationSpool.offer("recording", message("next", null)));
+        notificationSpool.shutdown();
+        
+        RecordingService service = new RecordingService(true);
+        service.rejected = "rejected";
+        notificationSpool = new DiskNotificationSpool(MappedSpool.open(directory, 64 * 1024, 4, true), List.of(service), null, 0);
+        
+        assertEquals(1, notificationSpool.replay());
+        assertEquals(0, notificationSpool.getPendingNotifications());
+        assertEquals(1, notificationSpool.getDiscardedNotifications());
+        assertEquals("next", service.delivered.get(0).getContent());
+        notificationSpool.shutdown();
+    }
+    
+    @Test
+    public void testNotificationsAreReplayedToTheDestinationTheyWereRoutedTo() throws Exception {
+        DiskNotificationSpool notificationSpool = new DiskNotificationSpool(
+                MappedSpool.open(directory, 64 * 1024, 4, true), List.of(), null, 0);
+        assertTrue(notificationSpool.offer("recording", message("payments", null), destination("payments", false)));
+        assertTrue(notificationSpool.offer("recording", message("search", null), destination("search", true)));
+        notificationSpool.shutdown();
+        
+        RecordingService service = new RecordingService(true);
+        notificationSpool = new DiskNotificationSpool(MappedSpool.open(directory, 64 * 1024, 4, true), List.of(service), null, 0);
+        
+        assertEquals(2, notificationSpool.replay());
+        assertEquals("https://hooks.slack.com/services/payments", service.destinations.get(0).getWebhookUrl());
+        assertEquals("payments-app", service.destinations.get(0).getApplicationName());
+        assertFalse(service.destinations.get(0).isIncludeStackTrace());
+        assertEquals("https://hooks.slack.com/services/search", service.destinations.get(1).getWebhookUrl());
+        assertTrue(service.destinations.get(1).isIncludeStackTrace());
+        notificationSpool.shutdown();
+    }
+    
+    @Test
+    public void testAcknowledgedSegmentsAreRecycledAndDiskUsageStaysBounded() throws Exception {
+        MappedSpool spool = MappedSpool.open(directory, 1024, 3, false);
+        byte[] record = "x".repeat(200).getBytes(StandardCharsets.UTF_8);
+        
+        int stored = 0;
+        while (spool.append(record)) {
+            stored++;
+        }
+        // Three segments of four records each, then newer records are dropped
+        assertEquals(12, stored);
+        assertEquals(1, spool.getDroppedRecords());
+        assertEquals(3, spool.getSegmentFiles());
+        
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(record, spool.peek());
+            spool.ack();
+        }
+        assertEquals(2, spool.getPendingRecords());
+        
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(spool.append(record));
+                assertNotNull(spool.peek());
+                spool.ack();
+            }
+        }
+        assertEquals(3, spool.getSegmentFiles());
+        assertEquals(3, directory.toFile().list().length);
+        spool.close();
+    }
+    
+    private NotificationMessage message(String content, String stackTrace) {
+        return NotificationMessage.builder()
+                .title("Service")
+                .content(content)
+                .level("ERROR")
+                .applicationName("test-app")
+                .environment("test")
+                .stackTrace(stackTrace)
+                .metadata(Map.of("requestId", "abc-123", "includeStackTrace", true))
+                .build();
+    }
+    
+    private Destination destination(String channel, boolean includeStackTrace) {
+        return Destination.builder()
+                .webhookUrl("https://hooks.slack.com/services/" + channel)
+                .applicationName(channel + "-app")
+                .environment("test")
+                .includeStackTrace(includeStackTrace)
+                .build();
+    }
+    
+    private static class RecordingService implements NotificationService {
+        
+        private final List<NotificationMessage> delivered = new ArrayList<>();
+        private final List<Destination> destinations = new ArrayList<>();
+        private volatile boolean available;
+        private volatile String rejected;
+        
+        RecordingService(boolean available) {
+            this.available = available;
+        }
+        
+        @Override
+        public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+            if (!available) {
+                return CompletableFuture.completedFuture(NotificationResult.retryableFailure("recording", "down", 503, 0));
+            }
+            if (message.getContent().equals(rejected)) {
+                return CompletableFuture.completedFuture(NotificationResult.failure("recording", "HTTP 404: no_service", 404));
+            }
+            delivered.add(message);
+            return CompletableFuture.completedFuture(NotificationResult.success("recording"));
+        }
+        
+        @Override
+        public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message, Destination destination) {
+            destinations.add(destination);
+            return sendNotification(message);
+        }
+        
+        @Override
+        public boolean supports(NotificationConfig config) {
+            return true;
+        }
+        
+        @Override
+        public String getServiceName() {
+            return "recording";
+        }
+        
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+        
+        @Override
+        public void shutdown() {
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.OverflowPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.async.AsyncProcessorImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the overflow policies of the async processor.
+ */
+public class OverflowPolicyTest {
+    
+    private static final int INFO = 20000;
+    private static final int WARN = 30000;
+    private static final int ERROR = 40000;
+    
+    @Test
+    public void testDropPoliciesCompleteTheVictimsFutureAndCountDrops() throws Exception {
+        AsyncProcessorImpl lowestSeverity = new AsyncProcessorImpl(2, 1, 1, OverflowPolicy.DROP_LOWEST_SEVERITY, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            lowestSeverity.processAsync(() -> awaitQuietly(release));
+            waitUntilRunning(lowestSeverity);
+            CompletableFuture<Void> warn = lowestSeverity.processAsync(() -> { }, WARN, null);
+            CompletableFuture<Void> info = lowestSeverity.processAsync(() -> { }, INFO, null);
+            CompletableFuture<Void> error = lowestSeverity.processAsync(() -> { }, ERROR, null);
+            
+            assertDropped(info);
+            assertEquals(1, lowestSeverity.getDroppedTasks());
+            
+            // A new event less severe than everything queued is the one dropped
+            assertDropped(lowestSeverity.processAsync(() -> { }, INFO, null));
+            assertEquals(2, lowestSeverity.getDroppedTasks());
+            
+            release.countDown();
+            warn.get(5, TimeUnit.SECONDS);
+            error.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            lowestSeverity.shutdown();
+        }
+        
+        AsyncProcessorImpl dropOldest = new AsyncProcessorImpl(1, 1, 1, OverflowPolicy.DROP_OLDEST, 0);
+        CountDownLatch releaseOldest = new CountDownLatch(1);
+        try {
+            dropOldest.processAsync(() -> awaitQuietly(releaseOldest));
+            waitUntilRunning(dropOldest);
+            CompletableFuture<Void> oldest = dropOldest.processAsync(() -> { }, ERROR, null);
+            CompletableFuture<Void> newest = dropOldest.processAsync(() -> { }, ERROR, null);
+            
+            // Previously the discarded task's future never completed
+            assertDropped(oldest);
+            releaseOldest.countDown();
+            newest.get(5, TimeUnit.SECONDS);
+            assertEquals(1, dropOldest.getDroppedTasks());
+        } finally {
+            releaseOldest.countDown();
+            dropOldest.shutdown();
+        }
+    }
+    
+    @Test
+    public void testBlockAndSpillPoliciesNeverRunTasksOnTheCaller() throws Exception {
+        AsyncProcessorImpl spilling = new AsyncProcessorImpl(1, 1, 1, OverflowPolicy.SPILL_TO_DISK, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger spilled = new AtomicInteger();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        try {
+            spilling.processAsync(() -> awaitQuietly(release));
+            waitUntilRunning(spilling);
+            spilling.processAsync(() -> { }, ERROR, () -> true);
+            
+            CompletableFuture<Void> overflowed = spilling.processAsync(() -> {
+                if (Thread.currentThread() == caller) {
+                    ranOnCaller.incrementAndGet();
+                }
+            }, ERROR, () -> spilled.incrementAndGet() > 0);
+            
+            overflowed.get(1, TimeUnit.SECONDS);
+            assertEquals(1, spilled.get());
+            assertEquals(1, spilling.getSpilledTasks());
+            assertEquals(0, spilling.getDroppedTasks());
+        } finally {
+            release.countDown();
+            spilling.shutdown();
+        }
+        
+        AsyncProcessorImpl blocking = new AsyncProcessorImpl(1, 1, 1, OverflowPolicy.BLOCK, 50);
+        CountDownLatch releaseBlocking = new CountDownLatch(1);
+        try {
+            blocking.processAsync(() -> awaitQuietly(releaseBlocking));
+            waitUntilRunning(blocking);
+            blocking.processAsync(() -> { }, ERROR, null);
+            
+            long start = System.nanoTime();
+            CompletableFuture<Void> timedOut = blocking.processAsync(() -> ranOnCaller.incrementAndGet(), ERROR, null);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+            assertDropped(timedOut);
+            assertEquals(1, blocking.getDroppedTasks());
+        } finally {
+            releaseBlocking.countDown();
+            blocking.shutdown();
+        }
+        assertEquals(0, ranOnCaller.get());
+    }
+    
+    @Test
+    public void testDropsForTheSameReasonShareOneStacklessRejection() throws Exception {
+        AsyncProcessorImpl dropNewest = new AsyncProcessorImpl(1, 1, 1, OverflowPolicy.DROP_NEWEST, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            dropNewest.processAsync(() -> awaitQuietly(release));
+            waitUntilRunning(dropNewest);
+            dropNewest.processAsync(() -> { }, ERROR, null);
+            
+            Throwable first = rejection(dropNewest.processAsync(() -> { }, ERROR, null));
+            Throwable second = rejection(dropNewest.processAsync(() -> { }, ERROR, null));
+            
+            assertSame(first, second);
+            assertEquals(0, first.getStackTrace().length);
+            assertEquals(2, dropNewest.getDroppedTasks());
+        } finally {
+            release.countDown();
+            dropNewest.shutdown();
+        }
+    }
+    
+    private static Throwable rejection(CompletableFuture<Void> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        return e.getCause();
+    }
+    
+    private static void assertDropped(CompletableFuture<Void> future) throws Exception {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+    
+    private static void waitUntilRunning(AsyncProcessorImpl processor) throws InterruptedException {
+        // The blocking task has been taken off the queue once the queue is empty again
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (processor.getQueueSize() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.nnegi88.errormonitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.infrastructure.config.TeamsConfig;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.slack.SlackMessageFormatter;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessage;
+import io.github.nnegi88.errormonitor.infrastructure.notification.teams.TeamsMessageFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the streaming payload writers produce the same JSON as Jackson data binding.
+ */
+public class PayloadSerializationTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    public void testSlackPayloadMatchesDataBinding() throws Exception {
+        NotificationConfig config = SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/test")
+                .applicationName("test-app")
+                .environment("test")
+                .additionalProperties(Map.of("includeStackTrace", true))
+                .build();
+        SlackMessage message = new SlackMessageFormatter().formatMessage(message(), config.toDestination());
+        
+        byte[] json = message.toJson();
+        
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(message)), objectMapper.readTree(json));
+        // Retries and further webhooks reuse the serialized bytes
+        assertSame(json, message.toJson());
+        message.setText("changed");
+        assertNotSame(json, message.toJson());
+    }
+    
+    @Test
+    public void testTeamsPayloadMatchesDataBinding() throws Exception {
+        NotificationConfig config = TeamsConfig.builder()
+                .webhookUrl("https://example.webhook.office.com/test")
+                .applicationName("test-app")
+                .environment("test")
+                .additionalProperties(Map.of("includeStackTrace", true))
+                .build();
+        TeamsMessage message = new TeamsMessageFormatter().formatMessage(message(), config.toDestination());
+        
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(message)), 
+                objectMapper.readTree(message.toJson()));
+    }
+    
+    private NotificationMessage message() {
+        return NotificationMessage.builder()
+                .title("com.example.Service")
+                .content("Payment \"failed\" for order <42> – über \n retry")
+                .level("ERROR")
+                .applicationName("test-app")
+                .environment("test")
+                .metadata(Map.of("thread", "main", "requestId", "abc-123"))
+                .stackTrace("java.lang.IllegalStateException: boom\n\tat com.example.Service.pay(Service.java:42)")
+                .build();
+    }
+}
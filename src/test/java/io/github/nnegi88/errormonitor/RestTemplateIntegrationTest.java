@@ -123,6 +123,51 @@ public class RestTemplateIntegrationTest {
         assertTrue(result.getErrorMessage().contains("500"));
     }
     
+    @Test
+    public void testSlackClientRateLimitedIsRetryable() {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .setHeader("Retry-After", "7")
+                .setBody("rate_limited"));
+        
+        String webhookUrl = mockWebServer.url("/slack/webhook").toString();
+        
+        // When
+        NotificationResult result = slackClient.sendMessage(
+                SlackMessage.builder().text("Test message").build(), webhookUrl).join();
+        
+        // Then
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isRetryable());
+        assertEquals(429, result.getStatusCode());
+        assertEquals(7000, result.getRetryAfterMillis());
+    }
+    
+    @Test
+    public void testTeamsClientThrottledWithSuccessStatus() {
+        // Given - Teams connectors report throttling in the body of a 200 response
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("Microsoft Teams endpoint returned HTTP error 429 with ContextId ..."));
+        
+        TeamsMessage message = TeamsMessage.builder()
+                .summary("Test")
+                .title("Test")
+                .text("Test message")
+                .build();
+        
+        String webhookUrl = mockWebServer.url("/teams/webhook").toString();
+        
+        // When
+        NotificationResult result = teamsClient.sendMessage(message, webhookUrl).join();
+        
+        // Then
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isRetryable());
+        assertEquals(429, result.getStatusCode());
+    }
+    
     @Test
     public void testTeamsClientSuccessfulSend() throws InterruptedException {
         // Given
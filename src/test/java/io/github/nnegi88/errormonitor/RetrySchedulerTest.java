@@ -0,0 +1,77 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.RetryPolicy;
+import io.github.nnegi88.errormonitor.infrastructure.resilience.RetryScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for scheduled retries of transient delivery failures.
+ */
+public class RetrySchedulerTest {
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+    
+    @Test
+    public void testTransientFailuresAreRetriedHonoringRetryAfter() throws Exception {
+        RetryScheduler retryScheduler = new RetryScheduler(scheduler, RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoffMillis(1)
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        
+        long start = System.nanoTime();
+        NotificationResult result = retryScheduler.execute(() -> CompletableFuture.completedFuture(
+                attempts.incrementAndGet() < 3
+                        ? NotificationResult.retryableFailure("slack", "HTTP 429", 429, 100)
+                        : NotificationResult.success("slack")))
+                .get(5, TimeUnit.SECONDS);
+        
+        assertTrue(result.isSuccessful());
+        assertEquals(3, attempts.get());
+        assertEquals(2, retryScheduler.getRetries());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+    }
+    
+    @Test
+    public void testPermanentFailuresAndExhaustedBudgetAreNotRetried() throws Exception {
+        RetryScheduler retryScheduler = new RetryScheduler(scheduler, RetryPolicy.builder()
+                .maxAttempts(5)
+                .initialBackoffMillis(1)
+                .budgetRatio(0)
+                .budgetReserve(1)
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        
+        NotificationResult badRequest = retryScheduler.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(NotificationResult.failure("slack", "HTTP 400", 400));
+        }).get(5, TimeUnit.SECONDS);
+        assertFalse(badRequest.isSuccessful());
+        assertEquals(1, attempts.get());
+        
+        // The reserve allows a single retry, after that the budget is exhausted
+        attempts.set(0);
+        NotificationResult unavailable = retryScheduler.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(NotificationResult.retryableFailure("slack", "HTTP 503", 503, 0));
+        }).get(5, TimeUnit.SECONDS);
+        assertFalse(unavailable.isSuccessful());
+        assertEquals(2, attempts.get());
+        assertEquals(1, retryScheduler.getBudgetExhausted());
+    }
+}
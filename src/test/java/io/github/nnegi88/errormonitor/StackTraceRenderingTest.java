@@ -0,0 +1,101 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import io.github.nnegi88.errormonitor.domain.service.StackTraceRenderer;
+import io.github.nnegi88.errormonitor.logback.ThrowableProxyRenderer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for bounded stack trace rendering from throwables and Logback throwable proxies.
+ */
+public class StackTraceRenderingTest {
+    
+    @Test
+    public void testProxyRendererKeepsRealTraceAndCompressesCauses() {
+        Exception exception = new IllegalStateException("outer", new IllegalArgumentException("inner"));
+        
+        String rendered = new ThrowableProxyRenderer(1000, 100_000).render(new ThrowableProxy(exception));
+        
+        assertTrue(rendered.startsWith("java.lang.IllegalStateException: outer\n"));
+        assertTrue(rendered.contains("\tat io.github.nnegi88.errormonitor.StackTraceRenderingTest."));
+        assertTrue(rendered.contains("Caused by: java.lang.IllegalArgumentException: inner"));
+        assertTrue(rendered.contains("common frames omitted"));
+    }
+    
+    @Test
+    public void testProxyRendererStopsAtFrameBudget() {
+        Exception exception = deepException(200);
+        
+        String rendered = new ThrowableProxyRenderer(10, 100_000).render(new ThrowableProxy(exception));
+        
+        assertEquals(10, rendered.split("\n\tat ", -1).length - 1);
+        assertTrue(rendered.contains(" more frames"));
+    }
+    
+    @Test
+    public void testRenderersStopAtCharacterBudget() {
+        Exception exception = deepException(500);
+        
+        String fromProxy = new ThrowableProxyRenderer(1000, 500).render(new ThrowableProxy(exception));
+        String fromThrowable = new StackTraceRenderer(1000, 500).render(exception);
+        
+        assertTrue(fromProxy.length() <= 500 + "... (truncated)".length());
+        assertTrue(fromProxy.endsWith("... (truncated)"));
+        assertTrue(fromThrowable.length() <= 500 + "... (truncated)".length());
+        assertTrue(fromThrowable.endsWith("... (truncated)"));
+    }
+    
+    @Test
+    public void testThrowableRendererCompressesCauses() {
+        Exception exception = new IllegalStateException("outer", new IllegalArgumentException("inner"));
+        
+        String rendered = new StackTraceRenderer(1000, 100_000).render(exception);
+        
+        assertTrue(rendered.startsWith("java.lang.IllegalStateException: outer\n"));
+        assertTrue(rendered.contains("Caused by: java.lang.IllegalArgumentException: inner"));
+        assertTrue(rendered.contains("common frames omitted"));
+        assertNull(new StackTraceRenderer().render(null));
+    }
+    
+    @Test
+    public void testRenderersIncludeSuppressedExceptions() {
+        Exception exception = new IllegalStateException("outer", new IllegalArgumentException("inner"));
+        exception.addSuppressed(new UnsupportedOperationException("close failed"));
+        
+        String fromProxy = new ThrowableProxyRenderer(1000, 100_000).render(new ThrowableProxy(exception));
+        String fromThrowable = new StackTraceRenderer(1000, 100_000).render(exception);
+        
+        for (String rendered : new String[] {fromProxy, fromThrowable}) {
+            int suppressed = rendered.indexOf("\n\tSuppressed: java.lang.UnsupportedOperationException: close failed\n");
+            assertTrue(suppressed > 0, rendered);
+            assertTrue(rendered.indexOf("\n\t\tat ", suppressed) > 0);
+            assertTrue(rendered.indexOf("\n\t\t... ", suppressed) > 0);
+            assertTrue(rendered.indexOf("Caused by: java.lang.IllegalArgumentException: inner") > suppressed);
+        }
+    }
+    
+    @Test
+    public void testSuppressedExceptionsShareTheBudgets() {
+        Exception exception = deepException(50);
+        for (int i = 0; i < 20; i++) {
+            exception.addSuppressed(deepException(50));
+        }
+        
+        String byFrames = new StackTraceRenderer(60, 100_000).render(exception);
+        String byChars = new ThrowableProxyRenderer(1000, 2000).render(new ThrowableProxy(exception));
+        
+        assertEquals(60, byFrames.split("\n\t+at ", -1).length - 1);
+        assertTrue(byFrames.endsWith("... (truncated)"));
+        assertTrue(byChars.length() <= 2000 + "... (truncated)".length());
+        assertTrue(byChars.endsWith("... (truncated)"));
+    }
+    
+    private Exception deepException(int depth) {
+        if (depth == 0) {
+            return new RuntimeException("deep");
+        }
+        return deepException(depth - 1);
+    }
+}
@@ -0,0 +1,224 @@
+package io.github.nnegi88.errormonitor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.nnegi88.errormonitor.domain.model.NotificationMessage;
+import io.github.nnegi88.errormonitor.domain.model.NotificationResult;
+import io.github.nnegi88.errormonitor.domain.port.NotificationConfig;
+import io.github.nnegi88.errormonitor.domain.port.NotificationService;
+import io.github.nnegi88.errormonitor.domain.service.NotificationOrchestrator;
+import io.github.nnegi88.errormonitor.infrastructure.async.AsyncProcessorImpl;
+import io.github.nnegi88.errormonitor.infrastructure.async.NotificationWorkerThread;
+import io.github.nnegi88.errormonitor.infrastructure.config.SlackConfig;
+import io.github.nnegi88.errormonitor.logback.UnifiedNotificationAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for how the appender turns Logback events into pipeline work, and for the guard
+ * keeping the pipeline from alerting about itself.
+ */
+public class UnifiedNotificationAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final BlockingQueue<NotificationMessage> sent = new LinkedBlockingQueue<>();
+    private AsyncProcessorImpl asyncProcessor;
+    private volatile Runnable onSend = () -> { };
+
+    @AfterEach
+    public void tearDown() {
+        MDC.clear();
+        if (asyncProcessor != null) {
+            asyncProcessor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeferredConversionRunsOnTheWorkerWithTheCallersMdc() throws Exception {
+        asyncProcessor = new AsyncProcessorImpl(16, 1, 1);
+        UnifiedNotificationAppender deferred = appender(true);
+        UnifiedNotificationAppender eager = appender(false);
+        eager.setAsync(false);
+        // Built at one call site so both carry the same stack trace
+        ConversionTrackingEvent[] events = new ConversionTrackingEvent[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = event("Payment {} failed", 42);
+        }
+
+        MDC.put("requestId", "abc-123");
+        eager.doAppend(events[0]);
+        NotificationMessage expected = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(expected);
+
+        // Hold the only worker so conversion cannot happen before the caller moves on
+        CountDownLatch release = new CountDownLatch(1);
+        asyncProcessor.processAsync(() -> awaitQuietly(release));
+        ConversionTrackingEvent event = events[1];
+        deferred.doAppend(event);
+        MDC.put("requestId", "changed-afterwards");
+        assertNull(event.convertedOn, "Deferred conversion must not run on the logging thread");
+        release.countDown();
+
+        NotificationMessage actual = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(actual);
+        assertTrue(event.convertedOnWorker);
+        assertNotEquals(Thread.currentThread(), event.convertedOn);
+        assertEquals(expected.getContent(), actual.getContent());
+        assertEquals("Payment 42 failed", actual.getContent());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getLevel(), actual.getLevel());
+        assertEquals(expected.getStackTrace(), actual.getStackTrace());
+        assertEquals(expected.getMetadata(), actual.getMetadata());
+        assertEquals("abc-123", actual.getMetadata().get("requestId"));
+    }
+
+    @Test
+    public void testEagerConversionRunsOnTheLoggingThread() throws Exception {
+        asyncProcessor = new AsyncProcessorImpl(16, 1, 1);
+        UnifiedNotificationAppender appender = appender(false);
+        ConversionTrackingEvent event = event("Payment {} failed", 42);
+
+        appender.doAppend(event);
+
+        assertNotNull(sent.poll(5, TimeUnit.SECONDS));
+        assertSame(Thread.currentThread(), event.convertedOn);
+    }
+
+    @Test
+    public void testEventsFromNotificationWorkersAreSuppressed() throws Exception {
+        UnifiedNotificationAppender appender = appender(false);
+        appender.setAsync(false);
+
+        Thread worker = new NotificationWorkerThread(() -> appender.doAppend(event("Delivery failed")), "notification-test");
+        worker.start();
+        worker.join(5000);
+        Thread marked = new Thread(NotificationWorkerThread.markedAsWorker(() -> appender.doAppend(event("Delivery failed"))));
+        marked.start();
+        marked.join(5000);
+
+        assertTrue(sent.isEmpty());
+        assertEquals(2, appender.getSuppressedSelfEvents());
+    }
+
+    @Test
+    public void testEventsLoggedInsideTheSynchronousPipelineAreSuppressed() {
+        UnifiedNotificationAppender appender = appender(false);
+        appender.setAsync(false);
+        // Logback's own guard already stops re-entry into the same appender, so log through a second one
+        UnifiedNotificationAppender other = appender(false);
+        other.setAsync(false);
+        onSend = () -> other.doAppend(event("Webhook returned HTTP 500"));
+
+        appender.doAppend(event("Payment failed"));
+
+        assertEquals(1, sent.size());
+        assertEquals("Payment failed", sent.peek().getContent());
+        assertEquals(1, other.getSuppressedSelfEvents());
+
+        // The guard is released after the pipeline returns
+        onSend = () -> { };
+        other.doAppend(event("Refund failed"));
+        assertEquals(2, sent.size());
+        assertEquals(1, other.getSuppressedSelfEvents());
+        assertEquals(0, appender.getSuppressedSelfEvents());
+    }
+
+    @Test
+    public void testEventsFromStarterLoggersAreSuppressed() {
+        UnifiedNotificationAppender appender = appender(false);
+        appender.setAsync(false);
+        LoggingEvent event = new LoggingEvent(getClass().getName(),
+                loggerContext.getLogger("io.github.nnegi88.errormonitor.domain.service.DeliveryLanes"),
+                Level.ERROR, "Delivery to Slack failed", null, null);
+
+        appender.doAppend(event);
+        appender.doAppend(event("Payment failed"));
+
+        assertEquals(1, sent.size());
+        assertEquals(1, appender.getSuppressedSelfEvents());
+    }
+
+    private UnifiedNotificationAppender appender(boolean deferredConversion) {
+        UnifiedNotificationAppender appender = new UnifiedNotificationAppender();
+        appender.setContext(loggerContext);
+        appender.setOrchestrator(new NotificationOrchestrator(List.of(new CapturingService())));
+        appender.setAsyncProcessor(asyncProcessor);
+        appender.setConfigurations(List.of(config()));
+        appender.setDeferredConversion(deferredConversion);
+        appender.start();
+        assertTrue(appender.isStarted());
+        return appender;
+    }
+
+    private NotificationConfig config() {
+        return SlackConfig.builder()
+                .webhookUrl("https://hooks.slack.com/services/T000/B000/secret")
+                .applicationName("test-app")
+                .minimumLevel("ERROR")
+                .build();
+    }
+
+    private ConversionTrackingEvent event(String message, Object... arguments) {
+        return new ConversionTrackingEvent(loggerContext, message, arguments);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records the thread building the LogEvent. The timestamp is only read by the conversion itself,
+     * not by {@link LoggingEvent#prepareForDeferredProcessing()}.
+     */
+    private static final class ConversionTrackingEvent extends LoggingEvent {
+        private volatile Thread convertedOn;
+        private volatile boolean convertedOnWorker;
+
+        private ConversionTrackingEvent(LoggerContext loggerContext, String message, Object[] arguments) {
+            super(UnifiedNotificationAppenderTest.class.getName(),
+                    loggerContext.getLogger("com.example.checkout.PaymentService"), Level.ERROR, message,
+                    new IllegalStateException("Card issuer unavailable"), arguments);
+        }
+
+        @Override
+        public long getTimeStamp() {
+            convertedOn = Thread.currentThread();
+            convertedOnWorker = NotificationWorkerThread.isCurrentThreadWorker();
+            return super.getTimeStamp();
+        }
+    }
+
+    private final class CapturingService implements NotificationService {
+        @Override
+        public CompletableFuture<NotificationResult> sendNotification(NotificationMessage message) {
+            onSend.run();
+            sent.add(message);
+            return CompletableFuture.completedFuture(NotificationResult.success("capturing"));
+        }
+
+        @Override
+        public boolean supports(NotificationConfig config) {
+            return true;
+        }
+
+        @Override
+        public String getServiceName() {
+            return "capturing";
+        }
+    }
+}
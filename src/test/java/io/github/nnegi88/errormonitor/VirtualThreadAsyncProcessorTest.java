@@ -0,0 +1,138 @@
+package io.github.nnegi88.errormonitor;
+
+import io.github.nnegi88.errormonitor.infrastructure.async.VirtualThreadAsyncProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the per-destination permits and pending-task cap of the virtual-thread processor.
+ * Skipped on JVMs without virtual threads.
+ */
+public class VirtualThreadAsyncProcessorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private VirtualThreadAsyncProcessor processor;
+
+    @BeforeEach
+    public void requireVirtualThreads() {
+        assumeTrue(VirtualThreadAsyncProcessor.isSupported(), "Virtual threads require Java 21 or later");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (processor != null) {
+            processor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrencyIsBoundedPerDestination() throws Exception {
+        processor = new VirtualThreadAsyncProcessor(2, 64);
+        AtomicInteger runningA = new AtomicInteger();
+        AtomicInteger peakA = new AtomicInteger();
+        CountDownLatch startedB = new CountDownLatch(1);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(processor.processAsync("https://hooks.example.com/a", () -> {
+                peakA.accumulateAndGet(runningA.incrementAndGet(), Math::max);
+                awaitQuietly(release);
+                return runningA.decrementAndGet();
+            }));
+        }
+        // Another destination is not held back by the saturated one
+        CompletableFuture<Integer> other = processor.processAsync("https://hooks.example.com/b", () -> {
+            startedB.countDown();
+            return 0;
+        });
+
+        assertTrue(startedB.await(5, TimeUnit.SECONDS));
+        other.get(5, TimeUnit.SECONDS);
+        waitUntil(() -> runningA.get() == 2);
+        Thread.sleep(100);
+        assertEquals(2, runningA.get());
+
+        release.countDown();
+        for (CompletableFuture<Integer> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, peakA.get());
+    }
+
+    @Test
+    public void testPipelineTasksDoNotTakeDestinationPermits() throws Exception {
+        processor = new VirtualThreadAsyncProcessor(1, 64);
+        CountDownLatch running = new CountDownLatch(3);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(processor.processAsync(() -> {
+                running.countDown();
+                awaitQuietly(release);
+            }));
+        }
+
+        // With a single permit per destination these could only run one at a time
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        for (CompletableFuture<Void> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testTasksBeyondThePendingCapAreRejected() throws Exception {
+        processor = new VirtualThreadAsyncProcessor(4, 2);
+        CompletableFuture<Void> first = processor.processAsync(() -> awaitQuietly(release));
+        CompletableFuture<Integer> second = processor.processAsync("https://hooks.example.com/a", () -> {
+            awaitQuietly(release);
+            return 1;
+        });
+
+        assertEquals(2, processor.getQueueSize());
+        assertFalse(processor.canAcceptTasks());
+        CompletableFuture<Void> rejected = processor.processAsync(() -> { });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, processor.getDroppedTasks());
+
+        // Finished tasks hand their pending permit back
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        waitUntil(() -> processor.getQueueSize() == 0);
+        processor.processAsync(() -> { }).get(5, TimeUnit.SECONDS);
+        assertEquals(1, processor.getDroppedTasks());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}